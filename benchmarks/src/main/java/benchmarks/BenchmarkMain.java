@@ -0,0 +1,97 @@
+package benchmarks;
+
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Punto de entrada que ejecuta los benchmarks con el perfilador de GC de JMH y
+ * resume los resultados por palabra.
+ * <p>
+ * Para cada benchmark que reporta el contador {@link Palabras} imprime:
+ * <ul>
+ *     <li>palabras/s, tal como lo mide JMH;</li>
+ *     <li>ns/palabra, su inverso;</li>
+ *     <li>bytes asignados por palabra, a partir de {@code gc.alloc.rate.norm};</li>
+ *     <li>la tasa de asignación en MB/s ({@code gc.alloc.rate}).</li>
+ * </ul>
+ * Para los benchmarks que reportan {@link TablasBenchmark.LatenciaPut} imprime
+ * además el {@code put} más lento y el percentil 99,99 por iteración (JMH suma
+ * esos contadores entre iteraciones, así que se dividen por su cantidad).
+ * </p>
+ * <p>
+ * Uso, desde la raíz del repositorio:
+ * {@code java -cp benchmarks/target/benchmarks.jar benchmarks.BenchmarkMain [regex]}
+ * </p>
+ */
+public final class BenchmarkMain {
+
+    private BenchmarkMain() {
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opciones = new OptionsBuilder()
+                .include(args.length > 0 ? args[0] : "benchmarks\\..*")
+                .addProfiler(GCProfiler.class)
+                .build();
+
+        Collection<RunResult> resultados = new Runner(opciones).run();
+
+        System.out.printf("%n%-72s %14s %12s %12s %12s%n",
+                "Benchmark", "palabras/s", "ns/palabra", "B/palabra", "MB/s asig.");
+        for (RunResult resultado : resultados) {
+            Map<String, Result> secundarios = resultado.getSecondaryResults();
+            Result palabras = secundarios.get("palabras");
+            if (palabras == null) continue;
+
+            double palabrasPorSegundo = palabras.getScore();
+            double invocacionesPorSegundo = resultado.getPrimaryResult().getScore();
+            double palabrasPorInvocacion = palabrasPorSegundo / invocacionesPorSegundo;
+
+            Result norma = secundarios.get("gc.alloc.rate.norm");
+            Result tasa = secundarios.get("gc.alloc.rate");
+
+            System.out.printf("%-72s %14.0f %12.2f %12.2f %12.1f%n",
+                    nombre(resultado.getParams()),
+                    palabrasPorSegundo,
+                    1e9 / palabrasPorSegundo,
+                    norma == null ? Double.NaN : norma.getScore() / palabrasPorInvocacion,
+                    tasa == null ? Double.NaN : tasa.getScore());
+        }
+
+        boolean encabezado = false;
+        for (RunResult resultado : resultados) {
+            Map<String, Result> secundarios = resultado.getSecondaryResults();
+            Result peor = secundarios.get("peorPutNs");
+            Result p9999 = secundarios.get("p9999PutNs");
+            if (peor == null || p9999 == null) continue;
+
+            if (!encabezado) {
+                System.out.printf("%n%-72s %14s %14s%n", "Benchmark", "peor put (ms)", "p99,99 (µs)");
+                encabezado = true;
+            }
+            long iteraciones = peor.getStatistics().getN();
+            System.out.printf("%-72s %14.2f %14.2f%n",
+                    nombre(resultado.getParams()),
+                    peor.getScore() / iteraciones / 1e6,
+                    p9999.getScore() / iteraciones / 1e3);
+        }
+    }
+
+    private static String nombre(BenchmarkParams params) {
+        String benchmark = params.getBenchmark();
+        StringBuilder sb = new StringBuilder(benchmark.substring(benchmark.lastIndexOf('.', benchmark.lastIndexOf('.') - 1) + 1));
+        for (String clave : params.getParamsKeys()) {
+            sb.append(' ').append(clave).append('=').append(params.getParam(clave));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,168 @@
+package benchmarks;
+
+import datastructures.queue.MpmcRingQueue;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks de transferencia entre hilos: {@link MpmcRingQueue} contra
+ * {@link ArrayBlockingQueue}, con la misma capacidad.
+ * <p>
+ * Cada grupo tiene dos productores y dos consumidores que llaman a las
+ * operaciones que no bloquean ({@code offer}/{@code poll} y sus variantes por
+ * lotes). Si la cola está llena o vacía el intento falla y se cuenta como una
+ * invocación más, así que la métrica que importa es el contador auxiliar
+ * {@code transferidos} de {@link Transferencias}: elementos realmente encolados
+ * (en los productores) o desencolados (en los consumidores) por segundo.
+ * </p>
+ * <p>
+ * Las variantes por lotes mueven hasta {@link #LOTE} elementos por llamada:
+ * {@code offerAll}/{@code pollAll} en la cola sin bloqueos, y {@code offer} en
+ * bucle con {@code drainTo} en {@link ArrayBlockingQueue}, que no tiene
+ * inserción por lotes.
+ * </p>
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ColasBenchmark {
+
+    /**
+     * Elementos por operación en las variantes por lotes.
+     */
+    private static final int LOTE = 64;
+
+    /**
+     * Elemento que se transfiere (siempre el mismo, para no medir asignaciones).
+     */
+    private static final Integer ELEMENTO = 42;
+
+    @Param({"1024"})
+    public int capacidad;
+
+    private MpmcRingQueue<Integer> mpmc;
+
+    private ArrayBlockingQueue<Integer> bloqueante;
+
+    @Setup(Level.Iteration)
+    public void preparar() {
+        mpmc = new MpmcRingQueue<>(capacidad);
+        bloqueante = new ArrayBlockingQueue<>(capacidad);
+    }
+
+    /**
+     * Contador de elementos transferidos por cada hilo.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Transferencias {
+
+        public long transferidos;
+
+        final Integer[] lote = new Integer[LOTE];
+
+        final List<Integer> destino = new ArrayList<>(LOTE);
+
+        @Setup(Level.Iteration)
+        public void reiniciar() {
+            transferidos = 0;
+            Arrays.fill(lote, ELEMENTO);
+        }
+    }
+
+    @Benchmark
+    @Group("mpmc")
+    @GroupThreads(2)
+    public boolean mpmcOffer(Transferencias t) {
+        boolean ok = mpmc.offer(ELEMENTO);
+        if (ok) t.transferidos++;
+        return ok;
+    }
+
+    @Benchmark
+    @Group("mpmc")
+    @GroupThreads(2)
+    public Integer mpmcPoll(Transferencias t) {
+        Integer item = mpmc.poll();
+        if (item != null) t.transferidos++;
+        return item;
+    }
+
+    @Benchmark
+    @Group("bloqueante")
+    @GroupThreads(2)
+    public boolean bloqueanteOffer(Transferencias t) {
+        boolean ok = bloqueante.offer(ELEMENTO);
+        if (ok) t.transferidos++;
+        return ok;
+    }
+
+    @Benchmark
+    @Group("bloqueante")
+    @GroupThreads(2)
+    public Integer bloqueantePoll(Transferencias t) {
+        Integer item = bloqueante.poll();
+        if (item != null) t.transferidos++;
+        return item;
+    }
+
+    @Benchmark
+    @Group("mpmcLotes")
+    @GroupThreads(2)
+    public int mpmcOfferAll(Transferencias t) {
+        int n = mpmc.offerAll(t.lote, 0, LOTE);
+        t.transferidos += n;
+        return n;
+    }
+
+    @Benchmark
+    @Group("mpmcLotes")
+    @GroupThreads(2)
+    public int mpmcPollAll(Transferencias t) {
+        int n = mpmc.pollAll(t.lote, 0, LOTE);
+        t.transferidos += n;
+        return n;
+    }
+
+    @Benchmark
+    @Group("bloqueanteLotes")
+    @GroupThreads(2)
+    public int bloqueanteOfferLote(Transferencias t) {
+        int n = 0;
+        while (n < LOTE && bloqueante.offer(t.lote[n])) n++;
+        t.transferidos += n;
+        return n;
+    }
+
+    @Benchmark
+    @Group("bloqueanteLotes")
+    @GroupThreads(2)
+    public int bloqueanteDrainTo(Transferencias t) {
+        t.destino.clear();
+        int n = bloqueante.drainTo(t.destino, LOTE);
+        t.transferidos += n;
+        return n;
+    }
+}
@@ -0,0 +1,79 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import text.MetricasConteo;
+import text.WordCounter;
+
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks de extremo a extremo de {@link WordCounter} sobre los libros de {@code books/}.
+ * <p>
+ * Cada invocación cuenta un libro completo desde disco (con la caché de páginas del
+ * sistema operativo ya caliente después del calentamiento).
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConteoBenchmark {
+
+    /**
+     * Libro a procesar, relativo a la raíz del repositorio.
+     */
+    @Param({"books/alice-adventures-in-wonderland.txt", "books/moby-dick.txt"})
+    public String libro;
+
+    @Benchmark
+    public WordCounter procesarArchivo(Palabras contador) {
+        WordCounter analizador = new WordCounter();
+        analizador.procesarArchivo(Path.of(libro));
+        contador.palabras += analizador.totalPalabras();
+        return analizador;
+    }
+
+    @Benchmark
+    public WordCounter procesarArchivoConMetricas(Palabras contador) {
+        WordCounter analizador = new WordCounter();
+        analizador.procesarArchivo(Path.of(libro), new MetricasConteo());
+        contador.palabras += analizador.totalPalabras();
+        return analizador;
+    }
+
+    @Benchmark
+    public WordCounter procesarArchivoMapeado(Palabras contador) {
+        WordCounter analizador = new WordCounter();
+        analizador.procesarArchivoMapeado(Path.of(libro));
+        contador.palabras += analizador.totalPalabras();
+        return analizador;
+    }
+
+    @Benchmark
+    public WordCounter procesarArchivoParalelo(Palabras contador) {
+        WordCounter analizador = new WordCounter();
+        analizador.procesarArchivoParalelo(Path.of(libro));
+        contador.palabras += analizador.totalPalabras();
+        return analizador;
+    }
+
+    @Benchmark
+    public WordCounter procesarArchivoConcurrente(Palabras contador) {
+        WordCounter analizador = new WordCounter();
+        analizador.procesarArchivoConcurrente(Path.of(libro), Runtime.getRuntime().availableProcessors());
+        contador.palabras += analizador.totalPalabras();
+        return analizador;
+    }
+}
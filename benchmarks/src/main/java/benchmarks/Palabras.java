@@ -0,0 +1,33 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Contador auxiliar de palabras procesadas por los benchmarks.
+ * <p>
+ * JMH lo normaliza igual que la métrica principal: en modo throughput con
+ * segundos como unidad, la columna {@code palabras} se reporta en palabras/s.
+ * {@link BenchmarkMain} la usa para derivar ns/palabra y bytes asignados por palabra.
+ * </p>
+ */
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.OPERATIONS)
+public class Palabras {
+
+    /**
+     * Palabras procesadas en la iteración actual.
+     */
+    public long palabras;
+
+    /**
+     * Reinicia el contador al comienzo de cada iteración.
+     */
+    @Setup(Level.Iteration)
+    public void reiniciar() {
+        palabras = 0;
+    }
+}
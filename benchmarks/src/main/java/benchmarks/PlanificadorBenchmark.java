@@ -0,0 +1,134 @@
+package benchmarks;
+
+import datastructures.queue.WorkStealingScheduler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import text.WordCounter;
+
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks de {@link WorkStealingScheduler} contra {@link ForkJoinPool}, ambos
+ * con tantos hilos como procesadores.
+ * <p>
+ * {@code contar*} cuenta un libro completo con los mismos fragmentos en los dos
+ * planificadores. {@code tareas*} ejecuta {@link #TAREAS} tareas casi vacías,
+ * repartidas en ambos casos por división binaria perezosa, para medir el costo
+ * propio de cada planificador por tarea.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PlanificadorBenchmark {
+
+    /**
+     * Tareas por invocación en {@code tareas*}.
+     */
+    private static final int TAREAS = 1024;
+
+    private WorkStealingScheduler planificador;
+
+    private ForkJoinPool pool;
+
+    private final int[] destino = new int[TAREAS];
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        int hilos = Runtime.getRuntime().availableProcessors();
+        planificador = new WorkStealingScheduler(hilos);
+        pool = new ForkJoinPool(hilos);
+    }
+
+    @TearDown(Level.Trial)
+    public void cerrar() {
+        planificador.close();
+        pool.close();
+    }
+
+    /**
+     * Libro a procesar en {@code contar*}, relativo a la raíz del repositorio.
+     */
+    @State(Scope.Benchmark)
+    public static class Libro {
+
+        @Param({"books/alice-adventures-in-wonderland.txt", "books/moby-dick.txt"})
+        public String ruta;
+    }
+
+    @Benchmark
+    public WordCounter contarPlanificador(Libro libro, Palabras contador) {
+        WordCounter analizador = new WordCounter();
+        analizador.procesarArchivoParalelo(Path.of(libro.ruta), planificador);
+        contador.palabras += analizador.totalPalabras();
+        return analizador;
+    }
+
+    @Benchmark
+    public WordCounter contarForkJoin(Libro libro, Palabras contador) {
+        WordCounter analizador = new WordCounter();
+        analizador.procesarArchivoParalelo(Path.of(libro.ruta), pool);
+        contador.palabras += analizador.totalPalabras();
+        return analizador;
+    }
+
+    @Benchmark
+    public int[] tareasPlanificador() {
+        int[] d = destino;
+        planificador.forEach(TAREAS, i -> d[i]++);
+        return d;
+    }
+
+    @Benchmark
+    public int[] tareasForkJoin() {
+        pool.invoke(new ParaCada(destino, 0, TAREAS));
+        return destino;
+    }
+
+    /**
+     * Equivalente en fork-join de {@link WorkStealingScheduler#forEach}: parte el
+     * rango por la mitad, bifurca la mitad superior y sigue con la inferior.
+     */
+    private static final class ParaCada extends RecursiveAction {
+
+        private final int[] destino;
+        private final int desde;
+        private final int hasta;
+
+        ParaCada(int[] destino, int desde, int hasta) {
+            this.destino = destino;
+            this.desde = desde;
+            this.hasta = hasta;
+        }
+
+        @Override
+        protected void compute() {
+            if (hasta - desde == 1) {
+                destino[desde]++;
+                return;
+            }
+            int medio = (desde + hasta) >>> 1;
+            ParaCada superior = new ParaCada(destino, medio, hasta);
+            superior.fork();
+            new ParaCada(destino, desde, medio).compute();
+            superior.join();
+        }
+    }
+}
@@ -0,0 +1,316 @@
+package benchmarks;
+
+import datastructures.TableSymbolsOrder;
+import datastructures.hashtables.IncrementalLinearProbingHashST;
+import datastructures.hashtables.LinearProbingHashST;
+import datastructures.hashtables.RobinHoodHashST;
+import datastructures.hashtables.WordCountHashST;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks de las tablas de símbolos sobre vocabularios sintéticos.
+ * <p>
+ * Se genera un vocabulario de {@link #vocabulario} palabras distintas y un flujo de
+ * {@link #TOKENS} apariciones con distribución sesgada (pocas palabras muy
+ * frecuentes y una cola larga), parecido al de un libro. Las variantes {@code put}
+ * construyen la tabla desde cero contando el flujo, como lo haría el contador de
+ * palabras; las variantes {@code get} consultan una tabla ya construida.
+ * </p>
+ * <p>
+ * {@link LinearProbingHashST} y {@link RobinHoodHashST} se comparan con el mismo
+ * flujo y el mismo patrón de uso ({@code get} seguido de {@code put} con el valor
+ * en un {@link Integer}), de modo que la diferencia se debe solo a la organización
+ * de la tabla. La variante {@code robinHoodMissGet} mide búsquedas fallidas, donde
+ * la terminación temprana de Robin Hood es más visible.
+ * </p>
+ * <p>
+ * Las variantes {@code putCrecimiento} llenan una tabla desde vacía hasta
+ * {@link Crecimiento#entradas} claves, midiendo cada {@code put}, y reportan el
+ * más lento y el percentil 99,99 ({@link LatenciaPut}); la métrica principal es
+ * el tiempo total. Comparan {@link LinearProbingHashST}, que reubica todas las
+ * claves de una vez al duplicarse, con {@link IncrementalLinearProbingHashST},
+ * que reparte la migración entre las operaciones siguientes. No se usa el modo
+ * {@link Mode#SampleTime} porque solo mide algunas invocaciones y casi nunca
+ * captura las pocas que redimensionan. Se ejecutan con el recolector Epsilon, que
+ * no recolecta, y el montón ya reservado, para que las pausas del recolector no
+ * se confundan con las de la tabla (cada invocación asigna unos 130 MB, dentro de
+ * los 3 GB del montón). Conviene ejecutarlas con un solo valor de
+ * {@link #vocabulario}, que no usan (por ejemplo, {@code -p vocabulario=1000}).
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TablasBenchmark {
+
+    /**
+     * Longitud del flujo de palabras de cada invocación.
+     */
+    private static final int TOKENS = 200_000;
+
+    /**
+     * Número de palabras distintas del vocabulario sintético.
+     */
+    @Param({"1000", "20000", "100000"})
+    public int vocabulario;
+
+    private String[] flujo;
+
+    private TableSymbolsOrder<String, Integer> ordenada;
+
+    private LinearProbingHashST<String, Integer> lineal;
+
+    private RobinHoodHashST<String, Integer> robinHood;
+
+    private WordCountHashST conteo;
+
+    private String[] ausentes;
+
+    /**
+     * Estado de las variantes {@code putCrecimiento}: claves enteras distintas y
+     * espacio para el tiempo de cada {@code put}.
+     */
+    @State(Scope.Thread)
+    public static class Crecimiento {
+
+        /**
+         * Claves que recibe la tabla en cada invocación, partiendo de vacía.
+         */
+        @Param({"4194304"})
+        public int entradas;
+
+        private Integer[] claves;
+
+        private long[] tiempos;
+
+        @Setup(Level.Trial)
+        public void preparar() {
+            claves = new Integer[entradas];
+            for (int i = 0; i < entradas; i++) claves[i] = i * 0x9E3779B9;
+            tiempos = new long[entradas];
+        }
+    }
+
+    /**
+     * Latencias de la última invocación de una variante {@code putCrecimiento}, en
+     * nanosegundos. Cada iteración tiene una sola invocación; JMH suma los valores
+     * de todas las iteraciones y {@link BenchmarkMain} los divide por su cantidad.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class LatenciaPut {
+
+        /**
+         * El {@code put} más lento.
+         */
+        public long peorPutNs;
+
+        /**
+         * Percentil 99,99 de los {@code put}.
+         */
+        public long p9999PutNs;
+
+        @Setup(Level.Iteration)
+        public void reiniciar() {
+            peorPutNs = 0;
+            p9999PutNs = 0;
+        }
+
+        private void registrar(long[] tiempos) {
+            Arrays.sort(tiempos);
+            peorPutNs = tiempos[tiempos.length - 1];
+            p9999PutNs = tiempos[(int) (tiempos.length * 0.9999)];
+        }
+    }
+
+    @Setup
+    public void preparar() {
+        Random random = new Random(42);
+        Set<String> vistas = new HashSet<>();
+        String[] palabras = new String[vocabulario];
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < vocabulario; ) {
+            sb.setLength(0);
+            int longitud = 2 + random.nextInt(10);
+            for (int j = 0; j < longitud; j++) sb.append((char) ('a' + random.nextInt(26)));
+            String palabra = sb.toString();
+            if (vistas.add(palabra)) palabras[i++] = palabra;
+        }
+
+        flujo = new String[Math.max(TOKENS, vocabulario)];
+        for (int i = 0; i < flujo.length; i++) {
+            flujo[i] = i < vocabulario ? palabras[i] : palabras[(int) (Math.pow(random.nextDouble(), 3) * vocabulario)];
+        }
+        for (int i = flujo.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            String t = flujo[i];
+            flujo[i] = flujo[j];
+            flujo[j] = t;
+        }
+
+        ausentes = new String[flujo.length];
+        for (int i = 0; i < ausentes.length; i++) ausentes[i] = flujo[i] + '#';
+
+        ordenada = contarOrdenada();
+        lineal = contarLineal();
+        robinHood = contarRobinHood();
+        conteo = contarHash();
+    }
+
+    private TableSymbolsOrder<String, Integer> contarOrdenada() {
+        TableSymbolsOrder<String, Integer> tabla = new TableSymbolsOrder<>();
+        for (String palabra : flujo) {
+            Integer f = tabla.get(palabra);
+            tabla.put(palabra, f == null ? 1 : f + 1);
+        }
+        return tabla;
+    }
+
+    private LinearProbingHashST<String, Integer> contarLineal() {
+        LinearProbingHashST<String, Integer> tabla = new LinearProbingHashST<>();
+        for (String palabra : flujo) {
+            Integer f = tabla.get(palabra);
+            tabla.put(palabra, f == null ? 1 : f + 1);
+        }
+        return tabla;
+    }
+
+    private RobinHoodHashST<String, Integer> contarRobinHood() {
+        RobinHoodHashST<String, Integer> tabla = new RobinHoodHashST<>();
+        for (String palabra : flujo) {
+            Integer f = tabla.get(palabra);
+            tabla.put(palabra, f == null ? 1 : f + 1);
+        }
+        return tabla;
+    }
+
+    private WordCountHashST contarHash() {
+        WordCountHashST tabla = new WordCountHashST();
+        for (String palabra : flujo) {
+            tabla.increment(palabra);
+        }
+        return tabla;
+    }
+
+    @Benchmark
+    public Object tableSymbolsOrderPut(Palabras contador) {
+        contador.palabras += flujo.length;
+        return contarOrdenada();
+    }
+
+    @Benchmark
+    public void tableSymbolsOrderGet(Palabras contador, Blackhole bh) {
+        for (String palabra : flujo) bh.consume(ordenada.get(palabra));
+        contador.palabras += flujo.length;
+    }
+
+    @Benchmark
+    public Object linearProbingPut(Palabras contador) {
+        contador.palabras += flujo.length;
+        return contarLineal();
+    }
+
+    @Benchmark
+    public void linearProbingGet(Palabras contador, Blackhole bh) {
+        for (String palabra : flujo) bh.consume(lineal.get(palabra));
+        contador.palabras += flujo.length;
+    }
+
+    @Benchmark
+    public void linearProbingMissGet(Palabras contador, Blackhole bh) {
+        for (String palabra : ausentes) bh.consume(lineal.get(palabra));
+        contador.palabras += ausentes.length;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 3)
+    @Measurement(iterations = 10)
+    @Fork(value = 1, jvmArgsAppend = {"-XX:+UnlockExperimentalVMOptions", "-XX:+UseEpsilonGC",
+            "-Xms3g", "-Xmx3g", "-XX:+AlwaysPreTouch"})
+    public Object linearProbingPutCrecimiento(Crecimiento c, LatenciaPut latencia) {
+        LinearProbingHashST<Integer, Integer> tabla = new LinearProbingHashST<>();
+        Integer[] claves = c.claves;
+        long[] tiempos = c.tiempos;
+        for (int i = 0; i < claves.length; i++) {
+            long t0 = System.nanoTime();
+            tabla.put(claves[i], claves[i]);
+            tiempos[i] = System.nanoTime() - t0;
+        }
+        latencia.registrar(tiempos);
+        return tabla;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 3)
+    @Measurement(iterations = 10)
+    @Fork(value = 1, jvmArgsAppend = {"-XX:+UnlockExperimentalVMOptions", "-XX:+UseEpsilonGC",
+            "-Xms3g", "-Xmx3g", "-XX:+AlwaysPreTouch"})
+    public Object incrementalPutCrecimiento(Crecimiento c, LatenciaPut latencia) {
+        IncrementalLinearProbingHashST<Integer, Integer> tabla = new IncrementalLinearProbingHashST<>();
+        Integer[] claves = c.claves;
+        long[] tiempos = c.tiempos;
+        for (int i = 0; i < claves.length; i++) {
+            long t0 = System.nanoTime();
+            tabla.put(claves[i], claves[i]);
+            tiempos[i] = System.nanoTime() - t0;
+        }
+        latencia.registrar(tiempos);
+        return tabla;
+    }
+
+    @Benchmark
+    public Object robinHoodPut(Palabras contador) {
+        contador.palabras += flujo.length;
+        return contarRobinHood();
+    }
+
+    @Benchmark
+    public void robinHoodGet(Palabras contador, Blackhole bh) {
+        for (String palabra : flujo) bh.consume(robinHood.get(palabra));
+        contador.palabras += flujo.length;
+    }
+
+    @Benchmark
+    public void robinHoodMissGet(Palabras contador, Blackhole bh) {
+        for (String palabra : ausentes) bh.consume(robinHood.get(palabra));
+        contador.palabras += ausentes.length;
+    }
+
+    @Benchmark
+    public Object wordCountHashIncrement(Palabras contador) {
+        contador.palabras += flujo.length;
+        return contarHash();
+    }
+
+    @Benchmark
+    public void wordCountHashGet(Palabras contador, Blackhole bh) {
+        for (String palabra : flujo) bh.consume(conteo.get(palabra));
+        contador.palabras += flujo.length;
+    }
+}
@@ -0,0 +1,73 @@
+package benchmarks;
+
+import datastructures.list.List;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import utils.TextNormalizer;
+import utils.WordTokenizer;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks de normalización y separación de palabras, sin E/S.
+ * <p>
+ * El libro se carga en memoria durante la preparación, tanto por líneas (para
+ * {@link TextNormalizer#obtenerPalabras(String)}) como completo (para
+ * {@link WordTokenizer}).
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TokenizerBenchmark {
+
+    /**
+     * Libro a procesar, relativo a la raíz del repositorio.
+     */
+    @Param({"books/alice-adventures-in-wonderland.txt", "books/moby-dick.txt"})
+    public String libro;
+
+    private String[] lineas;
+
+    private String texto;
+
+    @Setup
+    public void cargar() throws IOException {
+        texto = Files.readString(Path.of(libro));
+        lineas = texto.split("\n");
+    }
+
+    @Benchmark
+    public void obtenerPalabras(Palabras contador, Blackhole bh) {
+        for (String linea : lineas) {
+            List<String> palabras = TextNormalizer.obtenerPalabras(linea);
+            contador.palabras += palabras.size();
+            bh.consume(palabras);
+        }
+    }
+
+    @Benchmark
+    public void wordTokenizer(Palabras contador, Blackhole bh) {
+        WordTokenizer tokenizador = new WordTokenizer();
+        tokenizador.tokenizar(texto, palabra -> {
+            contador.palabras++;
+            bh.consume(palabra);
+        });
+    }
+}
@@ -1,7 +1,19 @@
+import datastructures.list.List;
+import text.ApproximateWordCounter;
+import text.CacheConteo;
+import text.CoordinadorTrabajadores;
 import text.WordCounter;
 
+import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Scanner;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Stream;
 
 
 /**
@@ -15,6 +27,12 @@ import java.util.Scanner;
  * Los libros disponibles están definidos en un arreglo constante de registros {@link Libro},
  * cada uno con un nombre descriptivo y la ruta al archivo de texto correspondiente.
  * </p>
+ * <p>
+ * Si se pasan rutas como argumentos, la aplicación trabaja en modo lote: procesa
+ * cada archivo (o cada {@code .txt} de cada directorio) en un hilo virtual, con un
+ * límite de archivos simultáneos, y muestra las estadísticas de cada libro junto
+ * con un resumen del corpus completo.
+ * </p>
  */
 
 public class Main {
@@ -24,22 +42,90 @@ public class Main {
             new Libro("Moby Dick", Path.of("books", "moby-dick.txt"))
     };
 
+    /**
+     * Caché en disco de los resultados, para no recontar libros que no han cambiado.
+     */
+    private static final CacheConteo CACHE = new CacheConteo(Path.of(".wordcounter-cache"));
+
+    /**
+     * Opción de línea de comandos para fijar el número máximo de archivos
+     * procesados a la vez en modo lote.
+     */
+    private static final String OPCION_CONCURRENCIA = "-j";
+
+    /**
+     * Opción de línea de comandos para repartir el modo lote entre varios
+     * procesos trabajadores.
+     */
+    private static final String OPCION_PROCESOS = "-p";
+
+    /**
+     * Argumento que indica que el texto se lee de la entrada estándar.
+     */
+    private static final String ENTRADA_ESTANDAR = "-";
+
+    /**
+     * Opción de línea de comandos que, antes de {@code -}, cuenta la entrada
+     * estándar de forma aproximada con memoria fija.
+     */
+    private static final String OPCION_APROXIMADO = "-a";
+
+    /**
+     * Memoria de los resúmenes en el modo aproximado.
+     */
+    private static final long MEMORIA_APROXIMADA = 1024 * 1024;
+
+    /**
+     * Número de palabras entre instantáneas al leer de la entrada estándar.
+     */
+    private static final int PALABRAS_POR_INSTANTANEA = 1_000_000;
+
+    /**
+     * Milisegundos entre instantáneas al leer de la entrada estándar.
+     */
+    private static final long MILLIS_POR_INSTANTANEA = 1_000;
+
     /**
      * Punto de entrada de la aplicación.
      * <p>
      * Presenta al usuario un menú con los libros disponibles, solicita la selección
      * de uno de ellos, y procesa el archivo para generar estadísticas de palabras
-     * utilizando la clase {@link WordCounter}.
+     * utilizando la clase {@link WordCounter}. Si el libro no ha cambiado desde la
+     * última ejecución, las estadísticas se cargan de la {@link CacheConteo}.
      * </p>
      * <p>
      * Si el usuario ingresa una opción inválida, el programa termina con un mensaje
      * de error.
      * </p>
+     * <p>
+     * Si se reciben argumentos, se omite el menú y se procesan en modo lote
+     * (ver {@link #procesarLote(String[])}). Con el único argumento {@code -} se
+     * cuenta la entrada estándar (ver {@link #procesarEntradaEstandar()}); con
+     * {@code -a -}, de forma aproximada (ver {@link #procesarEntradaAproximada()}).
+     * </p>
      *
-     * @param args argumentos de la línea de comandos (no se utilizan)
+     * @param args rutas de archivos o directorios a procesar en modo lote,
+     *             opcionalmente precedidas por {@code -j N} o {@code -p N}; {@code -} para leer la
+     *             entrada estándar, precedido de {@code -a} para el modo aproximado;
+     *             si está vacío se usa el menú
      */
 
     public static void main(String[] args) {
+        if (args.length == 1 && args[0].equals(ENTRADA_ESTANDAR)) {
+            procesarEntradaEstandar();
+            return;
+        }
+
+        if (args.length == 2 && args[0].equals(OPCION_APROXIMADO) && args[1].equals(ENTRADA_ESTANDAR)) {
+            procesarEntradaAproximada();
+            return;
+        }
+
+        if (args.length > 0) {
+            procesarLote(args);
+            return;
+        }
+
         Scanner sc = new Scanner(System.in);
 
         System.out.println("========================================");
@@ -67,11 +153,235 @@ public class Main {
         System.out.println("\nAnalizando: " + seleccionado.nombre());
         System.out.println("Procesando archivo...");
 
+        try {
+            CACHE.contar(seleccionado.ruta()).mostrarEstadisticas();
+        } catch (IOException e) {
+            System.out.println("No se pudo leer el archivo: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Cuenta las palabras de la entrada estándar hasta que se agota.
+     * <p>
+     * Mientras se lee, se imprime en la salida de error una línea de progreso con
+     * cada instantánea publicada por
+     * {@link WordCounter#procesarFlujo(java.io.InputStream, int, long, java.util.function.Consumer)};
+     * al terminar se muestran las estadísticas completas.
+     * </p>
+     */
+
+    private static void procesarEntradaEstandar() {
         WordCounter analizador = new WordCounter();
-        analizador.procesarArchivo(seleccionado.ruta());
+        analizador.procesarFlujo(System.in, PALABRAS_POR_INSTANTANEA, MILLIS_POR_INSTANTANEA,
+                instantanea -> System.err.printf("[instantánea] palabras: %d, diferentes: %d%n",
+                        instantanea.totalPalabras(), instantanea.palabrasDiferentes()));
+        analizador.mostrarEstadisticas();
+    }
+
+    /**
+     * Cuenta las palabras de la entrada estándar con un {@link ApproximateWordCounter}
+     * de {@link #MEMORIA_APROXIMADA} bytes, de modo que la memoria no crece con el
+     * vocabulario, y muestra las estadísticas con sus cotas de error.
+     */
+
+    private static void procesarEntradaAproximada() {
+        ApproximateWordCounter analizador = new ApproximateWordCounter(MEMORIA_APROXIMADA);
+        analizador.procesarFlujo(System.in);
         analizador.mostrarEstadisticas();
     }
 
+    /**
+     * Procesa varios libros de forma concurrente.
+     * <p>
+     * Cada argumento puede ser un archivo o un directorio; de los directorios se toman
+     * los archivos {@code .txt} en orden alfabético. Cada archivo se cuenta con su propio
+     * {@link WordCounter} (o se carga de la {@link CacheConteo}) en un hilo virtual, y un {@link Semaphore} limita cuántos se
+     * procesan a la vez (por defecto, el número de procesadores; se cambia con
+     * {@code -j N}). Así el tiempo total queda acotado por el archivo más grande y no
+     * por la suma de todos.
+     * </p>
+     * <p>
+     * Con {@code -p N} los libros se reparten en porciones contiguas entre {@code N}
+     * procesos trabajadores de la JVM (ver {@link CoordinadorTrabajadores}), que
+     * devuelven sus resultados parciales serializados. En este modo no se usa la caché.
+     * </p>
+     * <p>
+     * Al terminar se muestran las estadísticas de cada libro en el orden recibido y,
+     * después, las del corpus completo, obtenidas combinando los contadores con
+     * {@link WordCounter#merge(WordCounter)} en ese mismo orden.
+     * </p>
+     *
+     * @param args rutas de archivos o directorios, opcionalmente precedidas por
+     *             {@code -j N} o {@code -p N}
+     */
+
+    private static void procesarLote(String[] args) {
+        int concurrencia = Runtime.getRuntime().availableProcessors();
+        int procesos = 0;
+        int inicio = 0;
+
+        while (inicio < args.length
+                && (args[inicio].equals(OPCION_CONCURRENCIA) || args[inicio].equals(OPCION_PROCESOS))) {
+            String opcion = args[inicio];
+            if (inicio + 1 >= args.length) {
+                System.out.println("Falta el valor de " + opcion + ". Finalizando programa.");
+                return;
+            }
+            int valor;
+            try {
+                valor = Integer.parseInt(args[inicio + 1]);
+            } catch (NumberFormatException e) {
+                valor = 0;
+            }
+            if (valor < 1) {
+                System.out.println("Valor de " + opcion + " no válido: " + args[inicio + 1] + ". Finalizando programa.");
+                return;
+            }
+            if (opcion.equals(OPCION_CONCURRENCIA)) {
+                concurrencia = valor;
+            } else {
+                procesos = valor;
+            }
+            inicio += 2;
+        }
+
+        List<Path> rutas = new List<>();
+        for (int i = inicio; i < args.length; i++) {
+            Path ruta = Path.of(args[i]);
+            if (Files.isDirectory(ruta)) {
+                try (Stream<Path> contenido = Files.list(ruta)) {
+                    contenido.filter(Files::isRegularFile)
+                            .filter(p -> p.getFileName().toString().endsWith(".txt"))
+                            .sorted()
+                            .forEach(rutas::addLast);
+                } catch (IOException e) {
+                    System.out.println("No se pudo leer el directorio: " + e.getMessage());
+                }
+            } else {
+                rutas.addLast(ruta);
+            }
+        }
+
+        if (rutas.isEmpty()) {
+            System.out.println("No se encontraron libros para procesar.");
+            return;
+        }
+
+        long inicioLote = System.nanoTime();
+        List<ResultadoLibro> resultados;
+        if (procesos > 0) {
+            System.out.println("Procesando " + rutas.size() + " libro(s) en hasta "
+                    + procesos + " proceso(s)...");
+            resultados = contarConProcesos(rutas, procesos);
+        } else {
+            System.out.println("Procesando " + rutas.size() + " libro(s) con hasta "
+                    + concurrencia + " en paralelo...");
+            resultados = contarConHilos(rutas, concurrencia);
+        }
+        if (resultados == null) return;
+
+        long duracionLote = System.nanoTime() - inicioLote;
+        WordCounter corpus = new WordCounter();
+
+        for (ResultadoLibro resultado : resultados) {
+            System.out.printf("%nLibro: %s (%.1f ms)%n", resultado.ruta(), resultado.nanos() / 1e6);
+            resultado.analizador().mostrarEstadisticas();
+            corpus.merge(resultado.analizador());
+        }
+
+        System.out.println("\n========================================");
+        System.out.println("          RESUMEN DEL CORPUS");
+        System.out.println("========================================");
+        System.out.println("Libros procesados: " + resultados.size() + " de " + rutas.size());
+        System.out.printf("Tiempo total: %.1f ms%n", duracionLote / 1e6);
+        corpus.mostrarEstadisticas();
+    }
+
+    /**
+     * Cuenta los libros en hilos virtuales, con a lo sumo {@code concurrencia} a la vez.
+     * Los libros que no se pueden leer se informan y se omiten del resultado.
+     *
+     * @param rutas        rutas de los libros
+     * @param concurrencia número máximo de libros procesados a la vez
+     * @return los resultados de los libros contados, en el orden de {@code rutas},
+     *         o {@code null} si se interrumpe
+     */
+
+    private static List<ResultadoLibro> contarConHilos(List<Path> rutas, int concurrencia) {
+        Semaphore permisos = new Semaphore(concurrencia);
+        List<Future<ResultadoLibro>> pendientes = new List<>();
+
+        try (ExecutorService ejecutor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Path ruta : rutas) {
+                pendientes.addLast(ejecutor.submit(() -> {
+                    permisos.acquire();
+                    try {
+                        long t0 = System.nanoTime();
+                        WordCounter analizador = CACHE.contar(ruta);
+                        return new ResultadoLibro(ruta, analizador, System.nanoTime() - t0);
+                    } catch (IOException e) {
+                        System.out.println("\nNo se pudo leer " + ruta + ": " + e.getMessage());
+                        return null;
+                    } finally {
+                        permisos.release();
+                    }
+                }));
+            }
+        }
+
+        List<ResultadoLibro> resultados = new List<>();
+        for (Future<ResultadoLibro> pendiente : pendientes) {
+            try {
+                ResultadoLibro resultado = pendiente.get();
+                if (resultado != null) resultados.addLast(resultado);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            } catch (ExecutionException e) {
+                System.out.println("\nError al procesar un libro: " + e.getCause());
+            }
+        }
+        return resultados;
+    }
+
+    /**
+     * Cuenta los libros en procesos trabajadores. Los libros que no se pueden leer
+     * se informan y se omiten del resultado, igual que en {@link #contarConHilos}.
+     *
+     * @param rutas    rutas de los libros
+     * @param procesos número máximo de procesos
+     * @return los resultados de los libros contados, en el orden de {@code rutas},
+     *         o {@code null} si falla algún trabajador
+     */
+
+    private static List<ResultadoLibro> contarConProcesos(List<Path> rutas, int procesos) {
+        List<ResultadoLibro> resultados = new List<>();
+        try {
+            for (CoordinadorTrabajadores.ConteoArchivo conteo : new CoordinadorTrabajadores(procesos).contar(rutas)) {
+                if (conteo.error() != null) {
+                    System.out.println("\nNo se pudo leer " + conteo.ruta() + ": " + conteo.error());
+                    continue;
+                }
+                resultados.addLast(new ResultadoLibro(conteo.ruta(), conteo.contador(), conteo.nanos()));
+            }
+        } catch (IOException e) {
+            System.out.println("Error en los procesos trabajadores: " + e.getMessage() + ". Finalizando programa.");
+            return null;
+        }
+        return resultados;
+    }
+
+    /**
+     * Resultado del procesamiento de un libro en modo lote.
+     *
+     * @param ruta        la ruta del archivo procesado
+     * @param analizador  el contador con las estadísticas del libro
+     * @param nanos       el tiempo de procesamiento en nanosegundos
+     */
+
+    private record ResultadoLibro(Path ruta, WordCounter analizador, long nanos) {
+    }
+
     /**
      * Registro que representa un libro con su nombre y ruta al archivo.
      *
@@ -0,0 +1,649 @@
+package datastructures;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Variante de {@link TableSymbolsOrder} con valores {@code int} primitivos.
+ * <p>
+ * Ofrece la misma API ordenada ({@code rank}, {@code select}, {@code floor},
+ * {@code ceiling}, recorridos por rango y cargas masivas), pero guarda los valores
+ * en un {@code int[]} en lugar de un {@code Object[]} de {@link Integer}: cada
+ * entrada ocupa 4 bytes de valor en vez de una referencia más un objeto de unos
+ * 16 bytes, y actualizar un conteo con {@link #increment(Comparable)} o
+ * {@link #addTo(Comparable, int)} no crea objetos.
+ * </p>
+ * <p>
+ * Los recorridos ({@link #keys()}, {@link #keys(Comparable, Comparable)} y
+ * {@link #cursor(Comparable, Comparable)}) son vistas perezosas sobre los arreglos
+ * internos: no copian las claves y fallan con
+ * {@link ConcurrentModificationException} si se agrega o elimina una clave
+ * mientras están en uso.
+ * </p>
+ * <p>
+ * Cada {@link #put(Comparable, int)} de una clave nueva desplaza la cola de los
+ * arreglos, así que cargar {@code N} claves desordenadas una a una cuesta O(N²).
+ * Para cargas masivas están el constructor
+ * {@link #IntTableSymbolsOrder(Comparable[], int[])}, que ordena el lote una sola
+ * vez, y {@link #putAll(Comparable[], int[])}, que combina un lote ya ordenado
+ * con las claves existentes en una sola pasada.
+ * </p>
+ *
+ * @param <Key> tipo de clave (debe poder compararse)
+ */
+public class IntTableSymbolsOrder<Key extends Comparable<Key>> {
+    /**
+     * Tamaño inicial del arreglo donde se almacenan claves y valores.
+     */
+    private static final int CAPACIDAD_INICIAL = 1000;
+
+    /**
+     * Arreglo que guarda todas las claves en orden ascendente.
+     */
+    private Key[] keys;
+    /**
+     * Arreglo que guarda los valores asociados a cada clave.
+     * El índice coincide con el de la clave correspondiente.
+     */
+    private int[] vals;
+    /**
+     * Cantidad actual de pares clave–valor almacenados.
+     */
+    private int n;
+    /**
+     * Número de inserciones y eliminaciones de claves, para detectar
+     * modificaciones durante un recorrido.
+     */
+    private int modificaciones;
+
+    /**
+     * Crea una tabla de símbolos vacía con una capacidad inicial fija.
+     */
+    @SuppressWarnings("unchecked")
+    public IntTableSymbolsOrder() {
+        keys = (Key[]) new Comparable[CAPACIDAD_INICIAL];
+        vals = new int[CAPACIDAD_INICIAL];
+        n = 0;
+    }
+
+    /**
+     * Crea una tabla con los pares clave–valor de un lote en cualquier orden.
+     * <p>
+     * El lote se copia y se ordena una sola vez con un ordenamiento por mezcla
+     * estable, en O(N log N). Si una clave aparece varias veces, se conserva el
+     * último valor, igual que con llamadas sucesivas a {@link #put(Comparable, int)}.
+     * Los arreglos recibidos no se modifican.
+     * </p>
+     *
+     * @param keys claves del lote (no nulas)
+     * @param vals valores del lote; {@code vals[i]} corresponde a {@code keys[i]}
+     * @throws IllegalArgumentException si los arreglos tienen distinta longitud o
+     *                                  alguna clave es nula
+     */
+    @SuppressWarnings("unchecked")
+    public IntTableSymbolsOrder(Key[] keys, int[] vals) {
+        if (keys.length != vals.length) throw new IllegalArgumentException("Las claves y los valores deben tener la misma longitud");
+
+        int m = keys.length;
+        Key[] k = (Key[]) new Comparable[m];
+        int[] v = new int[m];
+        for (int i = 0; i < m; i++) {
+            if (keys[i] == null) throw new IllegalArgumentException("Key null");
+            k[i] = keys[i];
+            v[i] = vals[i];
+        }
+        ordenar(k, v);
+
+        this.keys = (Key[]) new Comparable[Math.max(CAPACIDAD_INICIAL, m)];
+        this.vals = new int[Math.max(CAPACIDAD_INICIAL, m)];
+        mezclar(k, v);
+    }
+
+    /**
+     * Devuelve la cantidad de elementos almacenados.
+     *
+     * @return número de claves guardadas
+     */
+    public int size() {
+        return n;
+    }
+
+    /**
+     * Cambia el tamaño interno de los arreglos cuando se llenan
+     * o cuando es necesario reducir espacio.
+     *
+     * @param capacidad nuevo tamaño de los arreglos
+     */
+    @SuppressWarnings("unchecked")
+    private void resize(int capacidad) {
+        Key[] keys2 = (Key[]) new Comparable[capacidad];
+        int[] vals2 = new int[capacidad];
+
+        System.arraycopy(keys, 0, keys2, 0, n);
+        System.arraycopy(vals, 0, vals2, 0, n);
+
+        keys = keys2;
+        vals = vals2;
+    }
+
+    /**
+     * Realiza una búsqueda binaria para encontrar la posición de una clave.
+     * Si la clave existe, devuelve su índice.
+     * Si no existe, devuelve el lugar donde debería insertarse.
+     *
+     * @param key clave buscada
+     * @return índice de la clave
+     */
+    public int rank(Key key) {
+        int lo = 0, hi = n - 1;
+
+        while (lo <= hi) {
+            int mid = (lo + hi) / 2;
+            int cmp = key.compareTo(keys[mid]);
+
+            if (cmp < 0) hi = mid - 1;
+            else if (cmp > 0) lo = mid + 1;
+            else return mid;
+        }
+        return lo;
+    }
+
+    /**
+     * Inserta una nueva clave con su valor.
+     * Si la clave ya existe, reemplaza el valor anterior.
+     *
+     * @param key clave a insertar o actualizar
+     * @param val valor asociado
+     */
+    public void put(Key key, int val) {
+        int i = rank(key);
+
+        if (i < n && keys[i].compareTo(key) == 0) {
+            vals[i] = val;
+            return;
+        }
+
+        insertar(i, key, val);
+    }
+
+    /**
+     * Inserta una clave nueva en la posición {@code i}, desplazando la cola de
+     * los arreglos una posición.
+     *
+     * @param i   posición de inserción (resultado de {@link #rank(Comparable)})
+     * @param key clave nueva
+     * @param val valor asociado
+     */
+    private void insertar(int i, Key key, int val) {
+        if (n == keys.length) resize(2 * keys.length);
+
+        System.arraycopy(keys, i, keys, i + 1, n - i);
+        System.arraycopy(vals, i, vals, i + 1, n - i);
+
+        keys[i] = key;
+        vals[i] = val;
+        n++;
+        modificaciones++;
+    }
+
+    /**
+     * Inserta un lote de pares clave–valor ordenado por clave.
+     * <p>
+     * El lote se combina con las claves existentes recorriendo ambos desde el
+     * final, directamente sobre los arreglos internos (que crecen una sola vez si
+     * hace falta), así que el costo es O(n + m) en lugar de los O(n · m)
+     * desplazamientos de insertar cada par por separado. Si una clave ya existe o
+     * aparece varias veces en el lote, queda el último valor del lote.
+     * </p>
+     *
+     * @param keys claves del lote en orden ascendente (no nulas; se admiten repetidas)
+     * @param vals valores del lote; {@code vals[i]} corresponde a {@code keys[i]}
+     * @throws IllegalArgumentException si los arreglos tienen distinta longitud, si
+     *                                  alguna clave es nula o si el lote no está ordenado
+     */
+    public void putAll(Key[] keys, int[] vals) {
+        if (keys.length != vals.length) throw new IllegalArgumentException("Las claves y los valores deben tener la misma longitud");
+        int m = keys.length;
+        for (int j = 0; j < m; j++) {
+            if (keys[j] == null) throw new IllegalArgumentException("Key null");
+            if (j > 0 && keys[j - 1].compareTo(keys[j]) > 0) {
+                throw new IllegalArgumentException("El lote no está ordenado en la posición " + j);
+            }
+        }
+        mezclar(keys, vals);
+    }
+
+    /**
+     * Combina un lote ya validado y ordenado con las claves existentes, desde el
+     * final. Lo usan {@link #putAll} y el constructor por lotes, que así no llama
+     * a un método que una subclase podría sobrescribir.
+     *
+     * @param keys claves del lote en orden ascendente
+     * @param vals valores del lote
+     */
+    private void mezclar(Key[] keys, int[] vals) {
+        int m = keys.length;
+        if (m == 0) return;
+
+        if (n + m > this.keys.length) resize(Math.max(2 * this.keys.length, n + m));
+
+        int i = n - 1;
+        int j = m - 1;
+        int k = n + m - 1;
+        Key ultima = null;
+        while (j >= 0) {
+            if (ultima != null && keys[j].compareTo(ultima) == 0) {
+                j--;
+                continue;
+            }
+
+            int cmp = i >= 0 ? this.keys[i].compareTo(keys[j]) : -1;
+            if (cmp > 0) {
+                this.keys[k] = this.keys[i];
+                this.vals[k] = this.vals[i];
+                i--;
+            } else {
+                if (cmp == 0) i--;
+                this.keys[k] = keys[j];
+                this.vals[k] = vals[j];
+                ultima = keys[j];
+                j--;
+            }
+            k--;
+        }
+
+        int huecos = k - i;
+        if (huecos > 0) {
+            System.arraycopy(this.keys, k + 1, this.keys, i + 1, n + m - 1 - k);
+            System.arraycopy(this.vals, k + 1, this.vals, i + 1, n + m - 1 - k);
+            Arrays.fill(this.keys, n + m - huecos, n + m, null);
+            Arrays.fill(this.vals, n + m - huecos, n + m, 0);
+        }
+        n = n + m - huecos;
+        modificaciones++;
+    }
+
+    /**
+     * Obtiene el valor asociado a una clave.
+     *
+     * @param key clave a buscar
+     * @return valor asociado o {@code 0} si no se encuentra
+     */
+    public int get(Key key) {
+        return getOrDefault(key, 0);
+    }
+
+    /**
+     * Obtiene el valor asociado a una clave, o un valor por defecto si no existe.
+     *
+     * @param key          clave a buscar
+     * @param defaultValue valor devuelto si la clave no está
+     * @return valor asociado o {@code defaultValue}
+     */
+    public int getOrDefault(Key key, int defaultValue) {
+        if (n == 0) return defaultValue;
+
+        int i = rank(key);
+        if (i < n && keys[i].compareTo(key) == 0) return vals[i];
+        return defaultValue;
+    }
+
+    /**
+     * Indica si la clave está en la tabla.
+     *
+     * @param key clave a buscar
+     * @return {@code true} si tiene un valor asociado
+     */
+    public boolean contains(Key key) {
+        if (n == 0) return false;
+
+        int i = rank(key);
+        return i < n && keys[i].compareTo(key) == 0;
+    }
+
+    /**
+     * Suma uno al valor de la clave, insertándola con valor 1 si no existía.
+     *
+     * @param key clave a contar
+     * @return el nuevo valor de la clave
+     */
+    public int increment(Key key) {
+        return addTo(key, 1);
+    }
+
+    /**
+     * Suma {@code delta} al valor de la clave, insertándola con valor
+     * {@code delta} si no existía.
+     * <p>
+     * Si la clave existe cuesta una búsqueda binaria; si es nueva, además se
+     * desplaza la cola de los arreglos como en {@link #put(Comparable, int)}.
+     * </p>
+     *
+     * @param key   clave a actualizar
+     * @param delta cantidad a sumar
+     * @return el nuevo valor de la clave
+     */
+    public int addTo(Key key, int delta) {
+        int i = rank(key);
+
+        if (i < n && keys[i].compareTo(key) == 0) {
+            vals[i] += delta;
+            return vals[i];
+        }
+
+        insertar(i, key, delta);
+        return delta;
+    }
+
+    /**
+     * Devuelve la clave más pequeña almacenada.
+     *
+     * @return menor clave o null si está vacío
+     */
+    public Key min() {
+        if (n == 0) return null;
+        return keys[0];
+    }
+
+    /**
+     * Devuelve la clave más grande almacenada.
+     *
+     * @return mayor clave o null si está vacío
+     */
+    public Key max() {
+        if (n == 0) return null;
+        return keys[n - 1];
+    }
+
+    /**
+     * Devuelve la clave que está en la posición indicada.
+     *
+     * @param k índice dentro de las claves ordenadas
+     * @return clave en la posición o null si está fuera de rango
+     */
+    public Key select(int k) {
+        if (k < 0 || k >= n) return null;
+        return keys[k];
+    }
+
+    /**
+     * Devuelve la mayor clave que sea menor o igual que la clave dada.
+     *
+     * @param key clave usada como referencia
+     * @return clave piso o null si no existe una menor o igual
+     */
+    public Key floor(Key key) {
+        int i = rank(key);
+        if (i < n && keys[i].compareTo(key) == 0) return keys[i];
+        if (i == 0) return null;
+        return keys[i - 1];
+    }
+
+    /**
+     * Devuelve la menor clave que sea mayor o igual que la clave dada.
+     *
+     * @param key clave usada como referencia
+     * @return clave techo o null si no existe una mayor o igual
+     */
+    public Key ceiling(Key key) {
+        int i = rank(key);
+        if (i == n) return null;
+        return keys[i];
+    }
+
+    /**
+     * Elimina una clave y su valor asociado.
+     * Si la clave no existe, no hace nada.
+     *
+     * @param key clave a eliminar
+     */
+    public void delete(Key key) {
+        if (n == 0) return;
+
+        int i = rank(key);
+        if (i >= n || keys[i].compareTo(key) != 0) return;
+
+        for (int j = i; j < n - 1; j++) {
+            keys[j] = keys[j + 1];
+            vals[j] = vals[j + 1];
+        }
+
+        keys[n - 1] = null;
+        vals[n - 1] = 0;
+        n--;
+        modificaciones++;
+
+        if (n > 0 && n == keys.length / 4)
+            resize(keys.length / 2);
+    }
+
+    /**
+     * Elimina la clave más pequeña de la tabla.
+     * Si está vacía, no hace nada.
+     */
+    public void deleteMin() {
+        if (n == 0) return;
+        delete(min());
+    }
+
+    /**
+     * Elimina la clave más grande de la tabla.
+     * Si está vacía, no hace nada.
+     */
+    public void deleteMax() {
+        if (n == 0) return;
+        delete(max());
+    }
+
+    /**
+     * Devuelve todas las claves en orden ascendente.
+     * <p>
+     * Es una vista sobre el arreglo interno: no copia nada.
+     * </p>
+     *
+     * @return Iterable con todas las claves ordenadas
+     */
+    public Iterable<Key> keys() {
+        return () -> new Recorrido(0, n);
+    }
+
+    /**
+     * Devuelve todas las claves comprendidas entre dos valores,
+     * incluyendo ambos límites si existen.
+     * <p>
+     * Es una vista sobre el arreglo interno: al iterar, los límites se ubican con
+     * dos búsquedas binarias y después no se copia nada.
+     * </p>
+     *
+     * @param lo clave mínima
+     * @param hi clave máxima
+     * @return Iterable con las claves dentro del rango dado
+     */
+    public Iterable<Key> keys(Key lo, Key hi) {
+        return () -> new Recorrido(inicioRango(lo, hi), finRango(lo, hi));
+    }
+
+    /**
+     * Devuelve un cursor que recorre todos los pares clave–valor en orden ascendente.
+     *
+     * @return cursor posicionado antes del primer par
+     * @see #cursor(Comparable, Comparable)
+     */
+    public Cursor cursor() {
+        return new Cursor(0, n);
+    }
+
+    /**
+     * Devuelve un cursor que recorre, en orden ascendente, los pares cuya clave está
+     * entre {@code lo} y {@code hi}, incluyendo ambos límites si existen.
+     * <p>
+     * El cursor da acceso a la clave y al valor de cada posición sin volver a
+     * buscarlos y sin crear objetos intermedios, así que un recorrido completo
+     * hace una sola pasada por los arreglos:
+     * </p>
+     * <pre>{@code
+     * IntTableSymbolsOrder<String>.Cursor c = tabla.cursor("a", "m");
+     * while (c.next()) {
+     *     System.out.println(c.key() + ": " + c.value());
+     * }
+     * }</pre>
+     *
+     * @param lo clave mínima
+     * @param hi clave máxima
+     * @return cursor posicionado antes del primer par del rango
+     */
+    public Cursor cursor(Key lo, Key hi) {
+        return new Cursor(inicioRango(lo, hi), finRango(lo, hi));
+    }
+
+    /**
+     * Ordena de forma estable dos arreglos paralelos según las claves, con un
+     * ordenamiento por mezcla ascendente (bottom-up).
+     *
+     * @param k claves
+     * @param v valores, que se mueven junto con su clave
+     */
+    @SuppressWarnings("unchecked")
+    private static <Key extends Comparable<Key>> void ordenar(Key[] k, int[] v) {
+        int m = k.length;
+        Key[] auxK = (Key[]) new Comparable[m];
+        int[] auxV = new int[m];
+        for (int ancho = 1; ancho < m; ancho *= 2) {
+            for (int lo = 0; lo < m - ancho; lo += 2 * ancho) {
+                int mid = lo + ancho - 1;
+                int hi = Math.min(lo + 2 * ancho - 1, m - 1);
+                if (k[mid].compareTo(k[mid + 1]) <= 0) continue;
+
+                System.arraycopy(k, lo, auxK, lo, hi - lo + 1);
+                System.arraycopy(v, lo, auxV, lo, hi - lo + 1);
+                int a = lo, b = mid + 1;
+                for (int x = lo; x <= hi; x++) {
+                    if (a > mid || (b <= hi && auxK[b].compareTo(auxK[a]) < 0)) {
+                        k[x] = auxK[b];
+                        v[x] = auxV[b++];
+                    } else {
+                        k[x] = auxK[a];
+                        v[x] = auxV[a++];
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Devuelve la posición de la primera clave del rango {@code [lo, hi]}.
+     */
+    private int inicioRango(Key lo, Key hi) {
+        if (lo == null || hi == null || lo.compareTo(hi) > 0) return 0;
+        return rank(lo);
+    }
+
+    /**
+     * Devuelve la posición siguiente a la última clave del rango {@code [lo, hi]}.
+     */
+    private int finRango(Key lo, Key hi) {
+        if (lo == null || hi == null || lo.compareTo(hi) > 0) return 0;
+        int end = rank(hi);
+        if (end < n && keys[end].compareTo(hi) == 0) end++;
+        return end;
+    }
+
+    /**
+     * Cursor sobre un rango de posiciones de la tabla.
+     * <p>
+     * Empieza antes del primer par; cada llamada a {@link #next()} avanza una
+     * posición, y {@link #key()} y {@link #value()} leen directamente los arreglos
+     * de la tabla en la posición actual.
+     * </p>
+     */
+    public final class Cursor {
+
+        /**
+         * Posición siguiente a la última del rango.
+         */
+        private final int fin;
+
+        /**
+         * Valor de {@code modificaciones} al crear el cursor.
+         */
+        private final int esperadas = modificaciones;
+
+        /**
+         * Posición actual.
+         */
+        private int i;
+
+        private Cursor(int inicio, int fin) {
+            this.i = inicio - 1;
+            this.fin = fin;
+        }
+
+        /**
+         * Avanza al siguiente par del rango.
+         *
+         * @return {@code true} si hay un par en la nueva posición
+         * @throws ConcurrentModificationException si la tabla cambió desde que se creó el cursor
+         */
+        public boolean next() {
+            if (modificaciones != esperadas) throw new ConcurrentModificationException();
+            if (i < fin) i++;
+            return i < fin;
+        }
+
+        /**
+         * Devuelve la clave de la posición actual.
+         *
+         * @return la clave
+         * @throws NoSuchElementException si el cursor no está sobre un par
+         */
+        public Key key() {
+            verificarPosicion();
+            return keys[i];
+        }
+
+        /**
+         * Devuelve el valor de la posición actual.
+         *
+         * @return el valor asociado a {@link #key()}
+         * @throws NoSuchElementException si el cursor no está sobre un par
+         */
+        public int value() {
+            verificarPosicion();
+            return vals[i];
+        }
+
+        private void verificarPosicion() {
+            if (modificaciones != esperadas) throw new ConcurrentModificationException();
+            if (i < 0 || i >= fin) throw new NoSuchElementException("El cursor no está sobre un par");
+        }
+    }
+
+    /**
+     * Iterador de claves sobre un rango de posiciones de la tabla.
+     */
+    private final class Recorrido implements Iterator<Key> {
+
+        private final int fin;
+        private final int esperadas = modificaciones;
+        private int i;
+
+        private Recorrido(int inicio, int fin) {
+            this.i = inicio;
+            this.fin = fin;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return i < fin;
+        }
+
+        @Override
+        public Key next() {
+            if (modificaciones != esperadas) throw new ConcurrentModificationException();
+            if (i >= fin) throw new NoSuchElementException();
+            return keys[i++];
+        }
+    }
+}
@@ -1,10 +1,28 @@
 package datastructures;
 
-import datastructures.queue.Queue;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
 
 /**
  * Implementación de una tabla de símbolos ORDENADA usando arreglos
  * paralelos para claves y valores. Mantiene las claves siempre ordenadas.
+ * <p>
+ * Los recorridos ({@link #keys()}, {@link #keys(Comparable, Comparable)} y
+ * {@link #cursor(Comparable, Comparable)}) son vistas perezosas sobre los arreglos
+ * internos: no copian las claves y fallan con
+ * {@link ConcurrentModificationException} si se agrega o elimina una clave
+ * mientras están en uso.
+ * </p>
+ * <p>
+ * Cada {@link #put(Comparable, Object)} de una clave nueva desplaza la cola de los
+ * arreglos, así que cargar {@code N} claves desordenadas una a una cuesta O(N²).
+ * Para cargas masivas están el constructor
+ * {@link #TableSymbolsOrder(Comparable[], Object[])}, que ordena el lote una sola
+ * vez, y {@link #putAll(Comparable[], Object[])}, que combina un lote ya ordenado
+ * con las claves existentes en una sola pasada.
+ * </p>
  *
  * @param <Key>   tipo de clave (debe poder compararse)
  * @param <Value> tipo de valor asociado a cada clave
@@ -28,6 +46,11 @@ public class TableSymbolsOrder<Key extends Comparable<Key>, Value> {
      * Cantidad actual de pares clave–valor almacenados.
      */
     private int n;
+    /**
+     * Número de inserciones y eliminaciones de claves, para detectar
+     * modificaciones durante un recorrido.
+     */
+    private int modificaciones;
 
     /**
      * Crea una tabla de símbolos vacía con una capacidad inicial fija.
@@ -39,6 +62,39 @@ public class TableSymbolsOrder<Key extends Comparable<Key>, Value> {
         n = 0;
     }
 
+    /**
+     * Crea una tabla con los pares clave–valor de un lote en cualquier orden.
+     * <p>
+     * El lote se copia y se ordena una sola vez con un ordenamiento por mezcla
+     * estable, en O(N log N). Si una clave aparece varias veces, se conserva el
+     * último valor, igual que con llamadas sucesivas a {@link #put(Comparable, Object)}.
+     * Los arreglos recibidos no se modifican.
+     * </p>
+     *
+     * @param keys claves del lote (no nulas)
+     * @param vals valores del lote; {@code vals[i]} corresponde a {@code keys[i]}
+     * @throws IllegalArgumentException si los arreglos tienen distinta longitud o
+     *                                  alguna clave es nula
+     */
+    @SuppressWarnings("unchecked")
+    public TableSymbolsOrder(Key[] keys, Value[] vals) {
+        if (keys.length != vals.length) throw new IllegalArgumentException("Las claves y los valores deben tener la misma longitud");
+
+        int m = keys.length;
+        Key[] k = (Key[]) new Comparable[m];
+        Value[] v = (Value[]) new Object[m];
+        for (int i = 0; i < m; i++) {
+            if (keys[i] == null) throw new IllegalArgumentException("Key null");
+            k[i] = keys[i];
+            v[i] = vals[i];
+        }
+        ordenar(k, v);
+
+        this.keys = (Key[]) new Comparable[Math.max(CAPACIDAD_INICIAL, m)];
+        this.vals = (Value[]) new Object[Math.max(CAPACIDAD_INICIAL, m)];
+        mezclar(k, v);
+    }
+
     /**
      * Devuelve la cantidad de elementos almacenados.
      *
@@ -113,6 +169,84 @@ public class TableSymbolsOrder<Key extends Comparable<Key>, Value> {
         keys[i] = key;
         vals[i] = val;
         n++;
+        modificaciones++;
+    }
+
+    /**
+     * Inserta un lote de pares clave–valor ordenado por clave.
+     * <p>
+     * El lote se combina con las claves existentes recorriendo ambos desde el
+     * final, directamente sobre los arreglos internos (que crecen una sola vez si
+     * hace falta), así que el costo es O(n + m) en lugar de los O(n · m)
+     * desplazamientos de insertar cada par por separado. Si una clave ya existe o
+     * aparece varias veces en el lote, queda el último valor del lote.
+     * </p>
+     *
+     * @param keys claves del lote en orden ascendente (no nulas; se admiten repetidas)
+     * @param vals valores del lote; {@code vals[i]} corresponde a {@code keys[i]}
+     * @throws IllegalArgumentException si los arreglos tienen distinta longitud, si
+     *                                  alguna clave es nula o si el lote no está ordenado
+     */
+    public void putAll(Key[] keys, Value[] vals) {
+        if (keys.length != vals.length) throw new IllegalArgumentException("Las claves y los valores deben tener la misma longitud");
+        int m = keys.length;
+        for (int j = 0; j < m; j++) {
+            if (keys[j] == null) throw new IllegalArgumentException("Key null");
+            if (j > 0 && keys[j - 1].compareTo(keys[j]) > 0) {
+                throw new IllegalArgumentException("El lote no está ordenado en la posición " + j);
+            }
+        }
+        mezclar(keys, vals);
+    }
+
+    /**
+     * Combina un lote ya validado y ordenado con las claves existentes, desde el
+     * final. Lo usan {@link #putAll} y el constructor por lotes, que así no llama
+     * a un método que una subclase podría sobrescribir.
+     *
+     * @param keys claves del lote en orden ascendente
+     * @param vals valores del lote
+     */
+    private void mezclar(Key[] keys, Value[] vals) {
+        int m = keys.length;
+        if (m == 0) return;
+
+        if (n + m > this.keys.length) resize(Math.max(2 * this.keys.length, n + m));
+
+        int i = n - 1;
+        int j = m - 1;
+        int k = n + m - 1;
+        Key ultima = null;
+        while (j >= 0) {
+            if (ultima != null && keys[j].compareTo(ultima) == 0) {
+                j--;
+                continue;
+            }
+
+            int cmp = i >= 0 ? this.keys[i].compareTo(keys[j]) : -1;
+            if (cmp > 0) {
+                this.keys[k] = this.keys[i];
+                this.vals[k] = this.vals[i];
+                i--;
+            } else {
+                if (cmp == 0) i--;
+                this.keys[k] = keys[j];
+                this.vals[k] = vals[j];
+                ultima = keys[j];
+                j--;
+            }
+            k--;
+        }
+
+        int huecos = k - i;
+        if (huecos > 0) {
+            System.arraycopy(this.keys, k + 1, this.keys, i + 1, n + m - 1 - k);
+            System.arraycopy(this.vals, k + 1, this.vals, i + 1, n + m - 1 - k);
+            Arrays.fill(this.keys, n + m - huecos, n + m, null);
+            Arrays.fill(this.vals, n + m - huecos, n + m, null);
+        }
+        n = n + m - huecos;
+        modificaciones++;
     }
 
     /**
@@ -206,6 +340,7 @@ public class TableSymbolsOrder<Key extends Comparable<Key>, Value> {
         keys[n - 1] = null;
         vals[n - 1] = null;
         n--;
+        modificaciones++;
 
         if (n > 0 && n == keys.length / 4)
             resize(keys.length / 2);
@@ -231,34 +366,211 @@ public class TableSymbolsOrder<Key extends Comparable<Key>, Value> {
 
     /**
      * Devuelve todas las claves en orden ascendente.
+     * <p>
+     * Es una vista sobre el arreglo interno: no copia nada.
+     * </p>
      *
      * @return Iterable con todas las claves ordenadas
      */
     public Iterable<Key> keys() {
-        return keys(min(), max());
+        return () -> new Recorrido(0, n);
     }
 
     /**
      * Devuelve todas las claves comprendidas entre dos valores,
      * incluyendo ambos límites si existen.
+     * <p>
+     * Es una vista sobre el arreglo interno: al iterar, los límites se ubican con
+     * dos búsquedas binarias y después no se copia nada.
+     * </p>
      *
      * @param lo clave mínima
      * @param hi clave máxima
      * @return Iterable con las claves dentro del rango dado
      */
     public Iterable<Key> keys(Key lo, Key hi) {
-        Queue<Key> queue = new Queue<>();
+        return () -> new Recorrido(inicioRango(lo, hi), finRango(lo, hi));
+    }
+
+    /**
+     * Devuelve un cursor que recorre todos los pares clave–valor en orden ascendente.
+     *
+     * @return cursor posicionado antes del primer par
+     * @see #cursor(Comparable, Comparable)
+     */
+    public Cursor cursor() {
+        return new Cursor(0, n);
+    }
+
+    /**
+     * Devuelve un cursor que recorre, en orden ascendente, los pares cuya clave está
+     * entre {@code lo} y {@code hi}, incluyendo ambos límites si existen.
+     * <p>
+     * El cursor da acceso a la clave y al valor de cada posición sin volver a
+     * buscarlos y sin crear objetos intermedios, así que un recorrido completo
+     * hace una sola pasada por los arreglos:
+     * </p>
+     * <pre>{@code
+     * TableSymbolsOrder<String, Integer>.Cursor c = tabla.cursor("a", "m");
+     * while (c.next()) {
+     *     System.out.println(c.key() + ": " + c.value());
+     * }
+     * }</pre>
+     *
+     * @param lo clave mínima
+     * @param hi clave máxima
+     * @return cursor posicionado antes del primer par del rango
+     */
+    public Cursor cursor(Key lo, Key hi) {
+        return new Cursor(inicioRango(lo, hi), finRango(lo, hi));
+    }
+
+    /**
+     * Ordena de forma estable dos arreglos paralelos según las claves, con un
+     * ordenamiento por mezcla ascendente (bottom-up).
+     *
+     * @param k claves
+     * @param v valores, que se mueven junto con su clave
+     */
+    @SuppressWarnings("unchecked")
+    private static <Key extends Comparable<Key>, Value> void ordenar(Key[] k, Value[] v) {
+        int m = k.length;
+        Key[] auxK = (Key[]) new Comparable[m];
+        Value[] auxV = (Value[]) new Object[m];
+        for (int ancho = 1; ancho < m; ancho *= 2) {
+            for (int lo = 0; lo < m - ancho; lo += 2 * ancho) {
+                int mid = lo + ancho - 1;
+                int hi = Math.min(lo + 2 * ancho - 1, m - 1);
+                if (k[mid].compareTo(k[mid + 1]) <= 0) continue;
+
+                System.arraycopy(k, lo, auxK, lo, hi - lo + 1);
+                System.arraycopy(v, lo, auxV, lo, hi - lo + 1);
+                int a = lo, b = mid + 1;
+                for (int x = lo; x <= hi; x++) {
+                    if (a > mid || (b <= hi && auxK[b].compareTo(auxK[a]) < 0)) {
+                        k[x] = auxK[b];
+                        v[x] = auxV[b++];
+                    } else {
+                        k[x] = auxK[a];
+                        v[x] = auxV[a++];
+                    }
+                }
+            }
+        }
+    }
 
-        if (lo == null || hi == null) return queue;
-        if (lo.compareTo(hi) > 0) return queue;
+    /**
+     * Devuelve la posición de la primera clave del rango {@code [lo, hi]}.
+     */
+    private int inicioRango(Key lo, Key hi) {
+        if (lo == null || hi == null || lo.compareTo(hi) > 0) return 0;
+        return rank(lo);
+    }
 
-        int start = rank(lo);
+    /**
+     * Devuelve la posición siguiente a la última clave del rango {@code [lo, hi]}.
+     */
+    private int finRango(Key lo, Key hi) {
+        if (lo == null || hi == null || lo.compareTo(hi) > 0) return 0;
         int end = rank(hi);
+        if (end < n && keys[end].compareTo(hi) == 0) end++;
+        return end;
+    }
 
-        for (int i = start; i < n && i <= end; i++) {
-            queue.enqueue(keys[i]);
+    /**
+     * Cursor sobre un rango de posiciones de la tabla.
+     * <p>
+     * Empieza antes del primer par; cada llamada a {@link #next()} avanza una
+     * posición, y {@link #key()} y {@link #value()} leen directamente los arreglos
+     * de la tabla en la posición actual.
+     * </p>
+     */
+    public final class Cursor {
+
+        /**
+         * Posición siguiente a la última del rango.
+         */
+        private final int fin;
+
+        /**
+         * Valor de {@code modificaciones} al crear el cursor.
+         */
+        private final int esperadas = modificaciones;
+
+        /**
+         * Posición actual.
+         */
+        private int i;
+
+        private Cursor(int inicio, int fin) {
+            this.i = inicio - 1;
+            this.fin = fin;
         }
 
-        return queue;
+        /**
+         * Avanza al siguiente par del rango.
+         *
+         * @return {@code true} si hay un par en la nueva posición
+         * @throws ConcurrentModificationException si la tabla cambió desde que se creó el cursor
+         */
+        public boolean next() {
+            if (modificaciones != esperadas) throw new ConcurrentModificationException();
+            if (i < fin) i++;
+            return i < fin;
+        }
+
+        /**
+         * Devuelve la clave de la posición actual.
+         *
+         * @return la clave
+         * @throws NoSuchElementException si el cursor no está sobre un par
+         */
+        public Key key() {
+            verificarPosicion();
+            return keys[i];
+        }
+
+        /**
+         * Devuelve el valor de la posición actual.
+         *
+         * @return el valor asociado a {@link #key()}
+         * @throws NoSuchElementException si el cursor no está sobre un par
+         */
+        public Value value() {
+            verificarPosicion();
+            return vals[i];
+        }
+
+        private void verificarPosicion() {
+            if (modificaciones != esperadas) throw new ConcurrentModificationException();
+            if (i < 0 || i >= fin) throw new NoSuchElementException("El cursor no está sobre un par");
+        }
+    }
+
+    /**
+     * Iterador de claves sobre un rango de posiciones de la tabla.
+     */
+    private final class Recorrido implements Iterator<Key> {
+
+        private final int fin;
+        private final int esperadas = modificaciones;
+        private int i;
+
+        private Recorrido(int inicio, int fin) {
+            this.i = inicio;
+            this.fin = fin;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return i < fin;
+        }
+
+        @Override
+        public Key next() {
+            if (modificaciones != esperadas) throw new ConcurrentModificationException();
+            if (i >= fin) throw new NoSuchElementException();
+            return keys[i++];
+        }
     }
 }
@@ -0,0 +1,304 @@
+package datastructures.graph;
+
+import java.util.function.IntConsumer;
+
+/**
+ * Grafo inmutable en formato CSR (Compressed Sparse Row).
+ * <p>
+ * {@link Digraph} y {@link DirectedGraphs} guardan cada arista como un
+ * {@code Integer} dentro de un {@code Bag}, con su propio arreglo de objetos. Esta
+ * clase guarda todo el grafo en dos arreglos de enteros primitivos:
+ * <ul>
+ *     <li>{@code targets}: los destinos de todas las aristas, agrupados por vértice
+ *     de origen (primero los vecinos de 0, después los de 1, etc.).</li>
+ *     <li>{@code offsets}: de tamaño {@code V + 1}; los vecinos de {@code v} ocupan
+ *     {@code targets[offsets[v] .. offsets[v + 1] - 1]}.</li>
+ * </ul>
+ * Así cada arista ocupa 4 bytes (un grafo de 50 millones de aristas cabe en unos
+ * 200 MB), los vecinos de un vértice están contiguos en memoria y recorrerlos no
+ * crea ningún objeto:
+ * </p>
+ * <pre>{@code
+ * for (int i = g.offset(v), fin = g.offset(v + 1); i < fin; i++) {
+ *     int w = g.target(i);
+ * }
+ * }</pre>
+ * <p>
+ * Se obtiene con {@link Digraph#freeze()} o {@link DirectedGraphs#freeze()}, que
+ * conservan el orden de los vecinos, o directamente a partir de arreglos de aristas
+ * con {@link #fromEdges(int, int[], int[], int, boolean)}, sin pasar por ningún
+ * {@code Bag}. En un grafo no dirigido cada arista aparece en la lista de sus dos
+ * extremos, como en {@link DirectedGraphs}.
+ * </p>
+ */
+public final class CsrGraph {
+
+    /**
+     * Número de vértices.
+     */
+    private final int V;
+
+    /**
+     * Número de aristas, contando una vez cada arista no dirigida.
+     */
+    private final int E;
+
+    /**
+     * Indica si el grafo es dirigido.
+     */
+    private final boolean directed;
+
+    /**
+     * Posición en {@link #targets} del primer vecino de cada vértice; el último
+     * elemento es la cantidad total de entradas.
+     */
+    private final int[] offsets;
+
+    /**
+     * Vecinos de todos los vértices, agrupados por vértice de origen.
+     */
+    private final int[] targets;
+
+    /**
+     * Crea el grafo a partir de arreglos ya construidos, que pasan a pertenecerle.
+     *
+     * @param offsets  posición del primer vecino de cada vértice, con {@code V + 1} elementos
+     * @param targets  vecinos agrupados por vértice de origen
+     * @param E        número de aristas
+     * @param directed {@code true} si el grafo es dirigido
+     */
+    CsrGraph(int[] offsets, int[] targets, int E, boolean directed) {
+        this.V = offsets.length - 1;
+        this.E = E;
+        this.directed = directed;
+        this.offsets = offsets;
+        this.targets = targets;
+    }
+
+    /**
+     * Construye un grafo a partir de una lista de aristas, sin crear objetos por arista.
+     * <p>
+     * Las aristas se agrupan por origen con un ordenamiento por conteo (dos pasadas
+     * sobre los arreglos), que conserva el orden de {@code from}/{@code to} entre los
+     * vecinos de cada vértice.
+     * </p>
+     *
+     * @param V        número de vértices
+     * @param from     origen de cada arista
+     * @param to       destino de cada arista
+     * @param E        cantidad de aristas (se usan las primeras {@code E} posiciones)
+     * @param directed {@code false} para agregar cada arista en ambos sentidos
+     * @return el grafo
+     * @throws IllegalArgumentException  si {@code V} o {@code E} son negativos, si los
+     *                                   arreglos tienen menos de {@code E} aristas o si
+     *                                   hay demasiadas aristas
+     * @throws IndexOutOfBoundsException si algún vértice está fuera de rango
+     */
+    public static CsrGraph fromEdges(int V, int[] from, int[] to, int E, boolean directed) {
+        if (V < 0) throw new IllegalArgumentException("The number of vertices cannot be negative");
+        if (E < 0 || E > from.length || E > to.length) {
+            throw new IllegalArgumentException("Invalid number of edges: " + E);
+        }
+        long entradas = directed ? E : 2L * E;
+        if (entradas > Integer.MAX_VALUE - 8) throw new IllegalArgumentException("Too many edges: " + E);
+
+        int[] offsets = new int[V + 1];
+        for (int i = 0; i < E; i++) {
+            validateVertex(from[i], V);
+            validateVertex(to[i], V);
+            offsets[from[i] + 1]++;
+            if (!directed) offsets[to[i] + 1]++;
+        }
+        for (int v = 0; v < V; v++) offsets[v + 1] += offsets[v];
+
+        int[] targets = new int[(int) entradas];
+        int[] siguiente = new int[V];
+        System.arraycopy(offsets, 0, siguiente, 0, V);
+        for (int i = 0; i < E; i++) {
+            targets[siguiente[from[i]]++] = to[i];
+            if (!directed) targets[siguiente[to[i]]++] = from[i];
+        }
+        return new CsrGraph(offsets, targets, E, directed);
+    }
+
+    /**
+     * Devuelve el número total de vértices del grafo.
+     *
+     * @return número de vértices
+     */
+    public int V() {
+        return V;
+    }
+
+    /**
+     * Devuelve el número total de aristas del grafo.
+     *
+     * @return número de aristas
+     */
+    public int edges() {
+        return E;
+    }
+
+    /**
+     * Indica si el grafo es dirigido.
+     *
+     * @return {@code true} si es dirigido
+     */
+    public boolean isDirected() {
+        return directed;
+    }
+
+    /**
+     * Devuelve el grado (de salida, en un grafo dirigido) de un vértice, en O(1).
+     *
+     * @param v vértice a consultar
+     * @return cantidad de vecinos de v
+     * @throws IndexOutOfBoundsException si el vértice está fuera de rango
+     */
+    public int degree(int v) {
+        validateVertex(v, V);
+        return offsets[v + 1] - offsets[v];
+    }
+
+    /**
+     * Calcula el grado máximo entre todos los vértices del grafo.
+     *
+     * @return el grado máximo
+     */
+    public int maxDegree() {
+        int max = 0;
+        for (int v = 0; v < V; v++) {
+            max = Math.max(max, offsets[v + 1] - offsets[v]);
+        }
+        return max;
+    }
+
+    /**
+     * Calcula el grado promedio de los vértices del grafo (2E / V si no es
+     * dirigido, E / V si lo es).
+     *
+     * @return grado promedio
+     */
+    public double averageDegree() {
+        return V == 0 ? 0 : (double) targets.length / V;
+    }
+
+    /**
+     * Cuenta el número de bucles (aristas de un vértice hacia sí mismo).
+     *
+     * @return número de bucles
+     */
+    public int numberOfSelfLoops() {
+        int count = 0;
+        for (int v = 0; v < V; v++) {
+            for (int i = offsets[v]; i < offsets[v + 1]; i++) {
+                if (targets[i] == v) count++;
+            }
+        }
+        return directed ? count : count / 2;
+    }
+
+    /**
+     * Devuelve la posición en la que empiezan los vecinos de {@code v}; los de
+     * {@code v} terminan donde empiezan los de {@code v + 1}.
+     *
+     * @param v vértice, entre {@code 0} y {@code V} (inclusive)
+     * @return índice del primer vecino de v para {@link #target(int)}
+     * @throws IndexOutOfBoundsException si el vértice está fuera de rango
+     */
+    public int offset(int v) {
+        if (v < 0 || v > V) throw new IndexOutOfBoundsException("vertex index out of range");
+        return offsets[v];
+    }
+
+    /**
+     * Devuelve el vecino guardado en la posición {@code i}.
+     *
+     * @param i posición, entre {@code offset(v)} y {@code offset(v + 1) - 1} para algún v
+     * @return el vértice destino
+     */
+    public int target(int i) {
+        return targets[i];
+    }
+
+    /**
+     * Aplica una acción a cada vecino de {@code v}, en orden, sin crear objetos.
+     *
+     * @param v      vértice origen
+     * @param accion acción a aplicar a cada vecino
+     * @throws IndexOutOfBoundsException si el vértice está fuera de rango
+     */
+    public void forEachAdj(int v, IntConsumer accion) {
+        validateVertex(v, V);
+        for (int i = offsets[v], fin = offsets[v + 1]; i < fin; i++) {
+            accion.accept(targets[i]);
+        }
+    }
+
+    /**
+     * Devuelve el grafo con todas las aristas invertidas, también en formato CSR.
+     * Los vecinos de cada vértice quedan en orden creciente de origen.
+     *
+     * @return nuevo grafo con aristas invertidas
+     * @throws UnsupportedOperationException si el grafo no es dirigido
+     */
+    public CsrGraph reverse() {
+        if (!directed) {
+            throw new UnsupportedOperationException("Only directed graphs can be inverted");
+        }
+
+        int[] inversos = new int[V + 1];
+        for (int w : targets) inversos[w + 1]++;
+        for (int v = 0; v < V; v++) inversos[v + 1] += inversos[v];
+
+        int[] origenes = new int[targets.length];
+        int[] siguiente = new int[V];
+        System.arraycopy(inversos, 0, siguiente, 0, V);
+        for (int v = 0; v < V; v++) {
+            for (int i = offsets[v]; i < offsets[v + 1]; i++) {
+                origenes[siguiente[targets[i]]++] = v;
+            }
+        }
+        return new CsrGraph(inversos, origenes, E, true);
+    }
+
+    /**
+     * Devuelve la memoria aproximada ocupada por los dos arreglos.
+     *
+     * @return bytes
+     */
+    public long memoryBytes() {
+        return (long) (offsets.length + targets.length) * Integer.BYTES;
+    }
+
+    /**
+     * Devuelve una representación del grafo en texto, con el mismo formato que
+     * {@link Digraph#toString()}.
+     *
+     * @return cadena con la descripción del grafo
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(V).append(" vertices, ").append(E).append(" edges\n");
+        for (int v = 0; v < V; v++) {
+            sb.append(v).append(": ");
+            for (int i = offsets[v]; i < offsets[v + 1]; i++) {
+                sb.append(targets[i]).append(' ');
+            }
+            sb.append('\n');
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Comprueba que un vértice esté en el rango [0, V).
+     *
+     * @throws IndexOutOfBoundsException si el vértice está fuera de rango
+     */
+    private static void validateVertex(int v, int V) {
+        if (v < 0 || v >= V) {
+            throw new IndexOutOfBoundsException("vertex index out of range");
+        }
+    }
+}
@@ -155,6 +155,26 @@ public class Digraph {
         return R;
     }
 
+    /**
+     * Convierte el grafo a formato CSR inmutable ({@link CsrGraph}), con dos
+     * arreglos de enteros en lugar de un {@code Bag} de {@code Integer} por vértice.
+     * Los vecinos de cada vértice conservan el orden de {@link #adj(int)}. El grafo
+     * original no cambia y puede descartarse.
+     *
+     * @return el grafo en formato CSR
+     */
+    public CsrGraph freeze() {
+        int[] offsets = new int[V + 1];
+        for (int v = 0; v < V; v++) offsets[v + 1] = offsets[v] + adj[v].size();
+
+        int[] targets = new int[offsets[V]];
+        for (int v = 0; v < V; v++) {
+            int i = offsets[v];
+            for (int w : adj[v]) targets[i++] = w;
+        }
+        return new CsrGraph(offsets, targets, E, true);
+    }
+
     /**
      * Devuelve una representación del grafo en texto.
      * Incluye el número de vértices, aristas y las conexiones de cada vértice.
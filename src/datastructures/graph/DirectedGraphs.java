@@ -215,6 +215,27 @@ public class DirectedGraphs {
         return R;
     }
 
+    /**
+     * Convierte el grafo a formato CSR inmutable ({@link CsrGraph}), con dos
+     * arreglos de enteros en lugar de un {@code Bag} de {@code Integer} por vértice.
+     * Los vecinos de cada vértice conservan el orden de {@link #adj(int)}; en un
+     * grafo no dirigido cada arista sigue apareciendo en ambos extremos. El grafo
+     * original no cambia y puede descartarse.
+     *
+     * @return el grafo en formato CSR
+     */
+    public CsrGraph freeze() {
+        int[] offsets = new int[vertices + 1];
+        for (int v = 0; v < vertices; v++) offsets[v + 1] = offsets[v] + adj[v].size();
+
+        int[] targets = new int[offsets[vertices]];
+        for (int v = 0; v < vertices; v++) {
+            int i = offsets[v];
+            for (int w : adj[v]) targets[i++] = w;
+        }
+        return new CsrGraph(offsets, targets, edges, directed);
+    }
+
     /**
      * Válida que un vértice esté en el rango válido [0, V).
      *
@@ -0,0 +1,208 @@
+package datastructures.hashtables;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Tabla de conteo de palabras segura para usar desde varios hilos a la vez.
+ * <p>
+ * Usa bloqueo por segmentos (<em>lock striping</em>): las claves se reparten,
+ * según los bits altos de su hash, entre varios segmentos independientes, cada
+ * uno con su propia {@link WordCountHashST} y su propio {@link ReentrantLock}.
+ * Dos hilos solo compiten cuando cuentan palabras del mismo segmento, así que con
+ * suficientes segmentos la contención es baja incluso cuando todos los hilos
+ * comparten el mismo vocabulario. No hay ningún bloqueo global: ni siquiera al
+ * crecer, porque cada segmento se redimensiona por separado.
+ * </p>
+ * <p>
+ * Las operaciones de lectura que abarcan toda la tabla ({@link #size()},
+ * {@link #snapshot()}) bloquean los segmentos de uno en uno, así que no son una
+ * fotografía atómica si hay escrituras concurrentes; están pensadas para usarse
+ * cuando los hilos que cuentan ya terminaron.
+ * </p>
+ */
+public class ConcurrentWordCountHashST {
+
+    /**
+     * Número de segmentos por defecto.
+     */
+    private static final int SEGMENTOS_POR_DEFECTO = 64;
+
+    /**
+     * Tablas de cada segmento.
+     */
+    private final WordCountHashST[] segmentos;
+
+    /**
+     * Bloqueo de cada segmento, en la misma posición.
+     */
+    private final ReentrantLock[] bloqueos;
+
+    /**
+     * Desplazamiento que convierte un hash en número de segmento.
+     */
+    private final int desplazamiento;
+
+    /**
+     * Crea una tabla vacía con {@value #SEGMENTOS_POR_DEFECTO} segmentos.
+     */
+    public ConcurrentWordCountHashST() {
+        this(SEGMENTOS_POR_DEFECTO);
+    }
+
+    /**
+     * Crea una tabla vacía con al menos el número de segmentos indicado.
+     * <p>
+     * El número real es la siguiente potencia de dos. Una buena elección es unas
+     * cuantas veces el número de hilos que van a contar a la vez.
+     * </p>
+     *
+     * @param segmentos número mínimo de segmentos
+     * @throws IllegalArgumentException si {@code segmentos} no es positivo
+     */
+    public ConcurrentWordCountHashST(int segmentos) {
+        if (segmentos <= 0) throw new IllegalArgumentException("El número de segmentos debe ser positivo");
+        int cantidad = segmentos == 1 ? 1 : Integer.highestOneBit(segmentos - 1) << 1;
+        this.segmentos = new WordCountHashST[cantidad];
+        this.bloqueos = new ReentrantLock[cantidad];
+        for (int i = 0; i < cantidad; i++) {
+            this.segmentos[i] = new WordCountHashST();
+            this.bloqueos[i] = new ReentrantLock();
+        }
+        this.desplazamiento = 32 - Integer.numberOfTrailingZeros(cantidad);
+    }
+
+    /**
+     * Suma uno al conteo de la clave, insertándola con conteo 1 si no existía.
+     *
+     * @param key clave a contar
+     * @return el nuevo conteo de la clave
+     */
+    public int increment(String key) {
+        return add(key, 1);
+    }
+
+    /**
+     * Suma {@code delta} al conteo de la clave, insertándola si no existía.
+     *
+     * @param key   clave a actualizar
+     * @param delta cantidad a sumar
+     * @return el nuevo conteo de la clave
+     */
+    public int add(String key, int delta) {
+        if (key == null) throw new IllegalArgumentException("Key null");
+
+        int s = segmento(WordCountHashST.hash(key));
+        ReentrantLock bloqueo = bloqueos[s];
+        bloqueo.lock();
+        try {
+            return segmentos[s].add(key, delta);
+        } finally {
+            bloqueo.unlock();
+        }
+    }
+
+    /**
+     * Suma uno al conteo de una palabra ASCII dada como porción de un búfer de bytes,
+     * con las mismas reglas que {@link WordCountHashST#incrementAscii(ByteBuffer, int, int)}.
+     *
+     * @param texto    búfer que contiene la palabra
+     * @param desde    posición del primer byte de la palabra
+     * @param longitud número de bytes de la palabra
+     * @return la clave guardada en la tabla para esa palabra (en minúsculas)
+     */
+    public String incrementAscii(ByteBuffer texto, int desde, int longitud) {
+        int h = WordCountHashST.hashAscii(texto, desde, longitud);
+        int s = segmento(h);
+        ReentrantLock bloqueo = bloqueos[s];
+        bloqueo.lock();
+        try {
+            WordCountHashST tabla = segmentos[s];
+            return tabla.keyAt(tabla.incrementAscii(texto, desde, longitud, h));
+        } finally {
+            bloqueo.unlock();
+        }
+    }
+
+    /**
+     * Devuelve el conteo de una clave.
+     *
+     * @param key clave a buscar
+     * @return el conteo, o {@code 0} si la clave no está
+     */
+    public int get(String key) {
+        if (key == null) throw new IllegalArgumentException("Key null");
+
+        int s = segmento(WordCountHashST.hash(key));
+        ReentrantLock bloqueo = bloqueos[s];
+        bloqueo.lock();
+        try {
+            return segmentos[s].get(key);
+        } finally {
+            bloqueo.unlock();
+        }
+    }
+
+    /**
+     * Devuelve la cantidad de claves distintas.
+     *
+     * @return número de claves guardadas
+     */
+    public int size() {
+        int total = 0;
+        for (int s = 0; s < segmentos.length; s++) {
+            bloqueos[s].lock();
+            try {
+                total += segmentos[s].size();
+            } finally {
+                bloqueos[s].unlock();
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Indica si la tabla está vacía.
+     *
+     * @return {@code true} si no hay claves
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Copia todo el contenido en una {@link WordCountHashST} independiente.
+     * <p>
+     * Las entradas quedan agrupadas por segmento y, dentro de cada uno, en orden
+     * de inserción.
+     * </p>
+     *
+     * @return una tabla con las mismas claves y conteos
+     */
+    public WordCountHashST snapshot() {
+        WordCountHashST copia = new WordCountHashST(size());
+        for (int s = 0; s < segmentos.length; s++) {
+            bloqueos[s].lock();
+            try {
+                WordCountHashST tabla = segmentos[s];
+                for (int i = 0; i < tabla.size(); i++) {
+                    copia.add(tabla.keyAt(i), tabla.countAt(i));
+                }
+            } finally {
+                bloqueos[s].unlock();
+            }
+        }
+        return copia;
+    }
+
+    /**
+     * Elige el segmento de un hash a partir de sus bits altos, que son
+     * independientes de los bits bajos con los que cada segmento elige la posición.
+     *
+     * @param h hash de la clave
+     * @return número de segmento
+     */
+    private int segmento(int h) {
+        return desplazamiento == 32 ? 0 : (h * 0x9E3779B9) >>> desplazamiento;
+    }
+}
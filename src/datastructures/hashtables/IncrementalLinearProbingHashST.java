@@ -0,0 +1,294 @@
+package datastructures.hashtables;
+
+/**
+ * Tabla de símbolos con sondeo lineal y redimensión incremental.
+ * <p>
+ * {@link LinearProbingHashST} duplica la tabla de una sola vez: la inserción que
+ * supera la mitad de la capacidad reubica todas las claves, así que su latencia
+ * crece con el tamaño de la tabla. Esta variante, en cambio, reparte ese trabajo:
+ * </p>
+ * <ul>
+ *     <li>Al superar la mitad de la capacidad se crea la tabla nueva, del doble de
+ *     tamaño, y la anterior se conserva a su lado.</li>
+ *     <li>Cada operación ({@code put}, {@code get}, {@code delete}) migra a lo sumo
+ *     {@link #POSICIONES_POR_PASO} posiciones de la tabla anterior a la nueva.
+ *     Como la nueva tabla se crea con la mitad de su capacidad ocupada, la
+ *     migración termina mucho antes de que haga falta volver a crecer.</li>
+ *     <li>Mientras dura la migración todas las escrituras van a la tabla nueva.
+ *     La tabla anterior solo se lee: cuando una clave suya se reemplaza o se
+ *     elimina, se marca como borrada (se deja la clave y se quita el valor) para no
+ *     romper los grupos de sondeo de las demás.</li>
+ *     <li>Las búsquedas consultan primero la tabla nueva y después la anterior.</li>
+ * </ul>
+ * <p>
+ * Así el peor caso de cada operación es O(1) más el sondeo, sin pausas
+ * proporcionales al número de claves. A cambio, durante la migración hay dos
+ * tablas en memoria y las búsquedas pueden mirar en ambas. La tabla no se reduce
+ * al eliminar claves.
+ * </p>
+ * <p>
+ * Como en {@link LinearProbingHashST}, asignar {@code null} como valor equivale a
+ * eliminar la clave.
+ * </p>
+ *
+ * @param <Key>   tipo de clave
+ * @param <Value> tipo de valor asociado a cada clave
+ */
+public class IncrementalLinearProbingHashST<Key, Value> {
+
+    /**
+     * Número de posiciones de la tabla anterior que se migran en cada operación.
+     */
+    public static final int POSICIONES_POR_PASO = 8;
+
+    /**
+     * Tamaño inicial de la tabla.
+     */
+    private static final int CAPACIDAD_INICIAL = 16;
+
+    /**
+     * Tabla donde se escribe.
+     */
+    private Tabla<Key, Value> tabla;
+
+    /**
+     * Tabla que se está migrando, o {@code null} si no hay migración en curso.
+     */
+    private Tabla<Key, Value> anterior;
+
+    /**
+     * Siguiente posición de {@link #anterior} que se va a migrar.
+     */
+    private int migradas;
+
+    /**
+     * Número de pares clave-valor vigentes entre ambas tablas.
+     */
+    private int n;
+
+    /**
+     * Crea una tabla vacía.
+     */
+    public IncrementalLinearProbingHashST() {
+        this(CAPACIDAD_INICIAL);
+    }
+
+    /**
+     * Crea una tabla vacía preparada para {@code capacidad} claves sin redimensionar.
+     *
+     * @param capacidad número de claves esperado
+     */
+    public IncrementalLinearProbingHashST(int capacidad) {
+        int tamano = CAPACIDAD_INICIAL;
+        while (tamano / 2 < capacidad) tamano <<= 1;
+        tabla = new Tabla<>(tamano);
+    }
+
+    /**
+     * Devuelve el número de pares clave-valor.
+     *
+     * @return cantidad de claves
+     */
+    public int size() {
+        return n;
+    }
+
+    /**
+     * Indica si la tabla está vacía.
+     *
+     * @return {@code true} si no contiene claves
+     */
+    public boolean isEmpty() {
+        return n == 0;
+    }
+
+    /**
+     * Indica si hay una redimensión en curso.
+     *
+     * @return {@code true} si todavía quedan claves por migrar a la tabla nueva
+     */
+    public boolean isRehashing() {
+        return anterior != null;
+    }
+
+    /**
+     * Inserta una clave con su valor, o reemplaza el valor si la clave ya existe.
+     * Si {@code val} es {@code null}, elimina la clave.
+     *
+     * @param key clave
+     * @param val valor asociado
+     */
+    public void put(Key key, Value val) {
+        if (key == null) throw new IllegalArgumentException("Key null");
+        if (val == null) {
+            delete(key);
+            return;
+        }
+        migrar();
+
+        int h = RobinHoodHashST.hash(key);
+        int i = tabla.indexOf(key, h);
+        if (i >= 0) {
+            tabla.vals[i] = val;
+            return;
+        }
+
+        if (!borrarDeAnterior(key, h)) n++;
+        if (anterior == null && tabla.n + 1 > tabla.keys.length / 2) {
+            iniciarMigracion();
+        }
+        tabla.insertar(key, val, h);
+    }
+
+    /**
+     * Obtiene el valor asociado a una clave.
+     *
+     * @param key clave a buscar
+     * @return valor asociado o {@code null} si no se encuentra
+     */
+    public Value get(Key key) {
+        if (key == null) throw new IllegalArgumentException("Key null");
+        migrar();
+
+        int h = RobinHoodHashST.hash(key);
+        int i = tabla.indexOf(key, h);
+        if (i >= 0) return tabla.vals[i];
+        if (anterior != null) {
+            i = anterior.indexOf(key, h);
+            if (i >= 0) return anterior.vals[i];
+        }
+        return null;
+    }
+
+    /**
+     * Indica si la clave está en la tabla.
+     *
+     * @param key clave a buscar
+     * @return {@code true} si la clave tiene un valor asociado
+     */
+    public boolean contains(Key key) {
+        return get(key) != null;
+    }
+
+    /**
+     * Elimina una clave y su valor. Si la clave no existe, no hace nada.
+     *
+     * @param key clave a eliminar
+     */
+    public void delete(Key key) {
+        if (key == null) throw new IllegalArgumentException("Key null");
+        migrar();
+
+        int h = RobinHoodHashST.hash(key);
+        if (tabla.eliminar(key, h) || borrarDeAnterior(key, h)) n--;
+    }
+
+    /**
+     * Marca como borrada la clave en la tabla anterior, si está ahí y vigente.
+     *
+     * @return {@code true} si la clave estaba vigente en la tabla anterior
+     */
+    private boolean borrarDeAnterior(Key key, int h) {
+        if (anterior == null) return false;
+        int i = anterior.indexOf(key, h);
+        if (i < 0) return false;
+        anterior.vals[i] = null;
+        return true;
+    }
+
+    /**
+     * Crea la tabla nueva del doble de tamaño y deja la actual como anterior.
+     */
+    private void iniciarMigracion() {
+        anterior = tabla;
+        tabla = new Tabla<>(2 * anterior.keys.length);
+        migradas = 0;
+    }
+
+    /**
+     * Migra hasta {@link #POSICIONES_POR_PASO} posiciones de la tabla anterior.
+     * Las claves vigentes no pueden estar en la tabla nueva (toda escritura en la
+     * nueva marca como borrada la copia anterior), así que se insertan sin buscar;
+     * la copia migrada también se marca como borrada.
+     */
+    private void migrar() {
+        if (anterior == null) return;
+
+        int fin = Math.min(migradas + POSICIONES_POR_PASO, anterior.keys.length);
+        for (; migradas < fin; migradas++) {
+            Value val = anterior.vals[migradas];
+            if (val != null) {
+                Key key = anterior.keys[migradas];
+                anterior.vals[migradas] = null;
+                tabla.insertar(key, val, RobinHoodHashST.hash(key));
+            }
+        }
+        if (migradas == anterior.keys.length) anterior = null;
+    }
+
+    /**
+     * Tabla de sondeo lineal de tamaño potencia de dos.
+     * <p>
+     * Una posición con clave y valor {@code null} es una clave borrada durante la
+     * migración: ocupa el lugar para que los sondeos sigan de largo.
+     * </p>
+     */
+    @SuppressWarnings("unchecked")
+    private static final class Tabla<Key, Value> {
+
+        private final Key[] keys;
+        private final Value[] vals;
+        private final int mascara;
+        private int n;
+
+        private Tabla(int tamano) {
+            keys = (Key[]) new Object[tamano];
+            vals = (Value[]) new Object[tamano];
+            mascara = tamano - 1;
+        }
+
+        /**
+         * Devuelve la posición de la clave si está vigente, o {@code -1}.
+         */
+        private int indexOf(Key key, int h) {
+            for (int i = h & mascara; keys[i] != null; i = (i + 1) & mascara) {
+                if (keys[i].equals(key)) return vals[i] != null ? i : -1;
+            }
+            return -1;
+        }
+
+        /**
+         * Inserta una clave que no está en la tabla.
+         */
+        private void insertar(Key key, Value val, int h) {
+            int i = h & mascara;
+            while (keys[i] != null) i = (i + 1) & mascara;
+            keys[i] = key;
+            vals[i] = val;
+            n++;
+        }
+
+        /**
+         * Elimina la clave y reinserta el resto de su grupo de sondeo.
+         *
+         * @return {@code true} si la clave estaba en la tabla
+         */
+        private boolean eliminar(Key key, int h) {
+            int i = indexOf(key, h);
+            if (i < 0) return false;
+
+            keys[i] = null;
+            vals[i] = null;
+            n--;
+            for (i = (i + 1) & mascara; keys[i] != null; i = (i + 1) & mascara) {
+                Key k = keys[i];
+                Value v = vals[i];
+                keys[i] = null;
+                vals[i] = null;
+                n--;
+                insertar(k, v, RobinHoodHashST.hash(k));
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package datastructures.hashtables;
+
+import java.util.Arrays;
+
+/**
+ * Tabla de conteo con claves {@code long} y valores {@code int} primitivos.
+ * <p>
+ * Tiene la misma organización que {@link WordCountHashST} (entradas compactas en
+ * orden de inserción más un arreglo de índices potencia de dos con sondeo lineal),
+ * pero sin ningún objeto por entrada: cada clave ocupa un {@code long}, su conteo
+ * un {@code int} y su índice uno o dos {@code int} más. Está pensada para contar
+ * claves compuestas que se pueden codificar en 64 bits, como los n-gramas de
+ * identificadores de palabras.
+ * </p>
+ * <p>
+ * Cualquier valor {@code long} es una clave válida, incluido {@code 0}.
+ * </p>
+ */
+public class LongIntHashST {
+
+    /**
+     * Capacidad inicial del arreglo de entradas.
+     */
+    private static final int CAPACIDAD_INICIAL = 16;
+
+    /**
+     * Tabla de sondeo: cada posición guarda el número de entrada más uno,
+     * o {@code 0} si está libre. Su longitud es siempre una potencia de dos.
+     */
+    private int[] indices;
+
+    /**
+     * Claves en orden de inserción.
+     */
+    private long[] claves;
+
+    /**
+     * Conteo asociado a cada clave, en la misma posición.
+     */
+    private int[] conteos;
+
+    /**
+     * Número de claves almacenadas.
+     */
+    private int n;
+
+    /**
+     * Crea una tabla vacía.
+     */
+    public LongIntHashST() {
+        this(CAPACIDAD_INICIAL);
+    }
+
+    /**
+     * Crea una tabla vacía preparada para {@code capacidad} claves sin redimensionar.
+     *
+     * @param capacidad número de claves esperado
+     */
+    public LongIntHashST(int capacidad) {
+        capacidad = Math.max(capacidad, 1);
+        claves = new long[capacidad];
+        conteos = new int[capacidad];
+        indices = new int[tamanoIndices(capacidad)];
+    }
+
+    /**
+     * Devuelve la cantidad de claves distintas.
+     *
+     * @return número de claves guardadas
+     */
+    public int size() {
+        return n;
+    }
+
+    /**
+     * Indica si la tabla está vacía.
+     *
+     * @return {@code true} si no hay claves
+     */
+    public boolean isEmpty() {
+        return n == 0;
+    }
+
+    /**
+     * Suma uno al conteo de la clave, insertándola con conteo 1 si no existía.
+     *
+     * @param key clave a contar
+     * @return el nuevo conteo de la clave
+     */
+    public int increment(long key) {
+        return add(key, 1);
+    }
+
+    /**
+     * Suma {@code delta} al conteo de la clave, insertándola si no existía.
+     *
+     * @param key   clave a actualizar
+     * @param delta cantidad a sumar
+     * @return el nuevo conteo de la clave
+     */
+    public int add(long key, int delta) {
+        int mask = indices.length - 1;
+        int i = hash(key) & mask;
+        int slot;
+        while ((slot = indices[i]) != 0) {
+            int e = slot - 1;
+            if (claves[e] == key) {
+                return conteos[e] += delta;
+            }
+            i = (i + 1) & mask;
+        }
+
+        if (n == claves.length) {
+            crecer();
+            i = posicionLibre(key);
+        }
+
+        claves[n] = key;
+        conteos[n] = delta;
+        indices[i] = ++n;
+        return delta;
+    }
+
+    /**
+     * Devuelve el conteo de una clave.
+     *
+     * @param key clave a buscar
+     * @return el conteo, o {@code 0} si la clave no está
+     */
+    public int get(long key) {
+        int e = indexOf(key);
+        return e < 0 ? 0 : conteos[e];
+    }
+
+    /**
+     * Indica si la clave está en la tabla.
+     *
+     * @param key clave a buscar
+     * @return {@code true} si la clave tiene un conteo asociado
+     */
+    public boolean contains(long key) {
+        return indexOf(key) >= 0;
+    }
+
+    /**
+     * Devuelve la posición de entrada de una clave.
+     *
+     * @param key clave a buscar
+     * @return posición en {@code 0..size()-1}, o {@code -1} si no está
+     */
+    public int indexOf(long key) {
+        int mask = indices.length - 1;
+        int slot;
+        for (int i = hash(key) & mask; (slot = indices[i]) != 0; i = (i + 1) & mask) {
+            int e = slot - 1;
+            if (claves[e] == key) return e;
+        }
+        return -1;
+    }
+
+    /**
+     * Devuelve la clave guardada en una posición de entrada.
+     *
+     * @param i posición en {@code 0..size()-1} (orden de inserción)
+     * @return la clave en esa posición
+     */
+    public long keyAt(int i) {
+        if (i < 0 || i >= n) throw new IndexOutOfBoundsException("Índice fuera de rango: " + i);
+        return claves[i];
+    }
+
+    /**
+     * Devuelve el conteo guardado en una posición de entrada.
+     *
+     * @param i posición en {@code 0..size()-1} (orden de inserción)
+     * @return el conteo en esa posición
+     */
+    public int countAt(int i) {
+        if (i < 0 || i >= n) throw new IndexOutOfBoundsException("Índice fuera de rango: " + i);
+        return conteos[i];
+    }
+
+    /**
+     * Calcula el hash de una clave mezclando todos sus bits, porque las claves
+     * compuestas suelen diferir solo en unos pocos bits altos o bajos.
+     *
+     * @param key clave
+     * @return hash de la clave
+     */
+    private static int hash(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        return (int) key;
+    }
+
+    /**
+     * Calcula la longitud del arreglo de índices para una cantidad de claves,
+     * manteniendo la ocupación por debajo del 50%.
+     *
+     * @param capacidad número de claves
+     * @return potencia de dos mayor o igual que el doble de {@code capacidad}
+     */
+    private static int tamanoIndices(int capacidad) {
+        return Integer.highestOneBit(Math.max(capacidad * 2 - 1, 1)) << 1;
+    }
+
+    /**
+     * Busca una posición libre en la tabla de sondeo para una clave.
+     *
+     * @param key clave
+     * @return posición libre
+     */
+    private int posicionLibre(long key) {
+        int mask = indices.length - 1;
+        int i = hash(key) & mask;
+        while (indices[i] != 0) i = (i + 1) & mask;
+        return i;
+    }
+
+    /**
+     * Duplica la capacidad de los arreglos de entradas y reconstruye la tabla
+     * de sondeo para que su ocupación siga por debajo del 50%.
+     */
+    private void crecer() {
+        int capacidad = claves.length * 2;
+        claves = Arrays.copyOf(claves, capacidad);
+        conteos = Arrays.copyOf(conteos, capacidad);
+        indices = new int[tamanoIndices(capacidad)];
+        for (int e = 0; e < n; e++) {
+            indices[posicionLibre(claves[e])] = e + 1;
+        }
+    }
+}
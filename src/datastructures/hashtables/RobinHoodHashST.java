@@ -0,0 +1,341 @@
+package datastructures.hashtables;
+
+/**
+ * Tabla de símbolos con direccionamiento abierto y hashing Robin Hood.
+ * <p>
+ * Es una variante de {@link LinearProbingHashST} pensada para funcionar con un
+ * factor de carga alto (por defecto 87,5%) sin que se alarguen las secuencias de
+ * sondeo:
+ * <ul>
+ *     <li>El tamaño de la tabla es una potencia de dos y la posición inicial se
+ *     obtiene con una máscara en lugar de {@code %}.</li>
+ *     <li>Se guarda el hash de cada clave. Sirve para descartar casi todas las
+ *     colisiones sin llamar a {@link Object#equals(Object)}, para calcular la
+ *     distancia de cada clave a su posición inicial y para redimensionar sin
+ *     recalcular hashes.</li>
+ *     <li>Al insertar, si la clave que se está ubicando ya está más lejos de su
+ *     posición inicial que la que ocupa la posición actual, le quita el lugar
+ *     ("le roba al rico") y se sigue ubicando la desplazada. Así las distancias
+ *     quedan parejas y la varianza de la longitud de sondeo es muy baja.</li>
+ *     <li>Una búsqueda fallida termina en cuanto encuentra una clave más cercana
+ *     a su posición inicial de lo que estaría la buscada, sin llegar a un hueco.</li>
+ *     <li>Al eliminar, las claves siguientes del grupo se corren una posición hacia
+ *     atrás (backward shift) hasta un hueco o una clave que ya está en su posición
+ *     inicial, sin lápidas y sin reinsertar nada.</li>
+ * </ul>
+ * </p>
+ *
+ * @param <Key>   tipo de clave
+ * @param <Value> tipo de valor asociado a cada clave
+ */
+@SuppressWarnings("unchecked")
+public class RobinHoodHashST<Key, Value> {
+
+    /**
+     * Factor de carga máximo por defecto.
+     */
+    public static final double CARGA_MAXIMA = 0.875;
+
+    /**
+     * Tamaño mínimo de la tabla.
+     */
+    private static final int CAPACIDAD_MINIMA = 16;
+
+    /**
+     * Claves; {@code null} indica una posición libre.
+     */
+    private Key[] keys;
+
+    /**
+     * Valores, en la misma posición que su clave.
+     */
+    private Value[] vals;
+
+    /**
+     * Hash de cada clave, en la misma posición.
+     */
+    private int[] hashes;
+
+    /**
+     * Número de pares clave-valor.
+     */
+    private int n;
+
+    /**
+     * Máscara para obtener la posición inicial ({@code tamaño - 1}).
+     */
+    private int mascara;
+
+    /**
+     * Número de pares a partir del cual se duplica la tabla.
+     */
+    private int limite;
+
+    /**
+     * Factor de carga máximo de esta tabla.
+     */
+    private final double cargaMaxima;
+
+    /**
+     * Crea una tabla vacía con el factor de carga por defecto.
+     */
+    public RobinHoodHashST() {
+        this(CAPACIDAD_MINIMA, CARGA_MAXIMA);
+    }
+
+    /**
+     * Crea una tabla vacía preparada para {@code capacidad} claves sin redimensionar.
+     *
+     * @param capacidad número de claves esperado
+     */
+    public RobinHoodHashST(int capacidad) {
+        this(capacidad, CARGA_MAXIMA);
+    }
+
+    /**
+     * Crea una tabla vacía con un factor de carga máximo propio.
+     *
+     * @param capacidad   número de claves esperado
+     * @param cargaMaxima fracción de la tabla que puede ocuparse antes de duplicarla,
+     *                    mayor que 0 y a lo sumo 0,95
+     * @throws IllegalArgumentException si el factor de carga está fuera de rango
+     */
+    public RobinHoodHashST(int capacidad, double cargaMaxima) {
+        if (!(cargaMaxima > 0 && cargaMaxima <= 0.95)) {
+            throw new IllegalArgumentException("El factor de carga debe estar entre 0 y 0.95: " + cargaMaxima);
+        }
+        this.cargaMaxima = cargaMaxima;
+        int tamano = CAPACIDAD_MINIMA;
+        while (tamano * cargaMaxima < capacidad) tamano <<= 1;
+        asignar(tamano);
+    }
+
+    /**
+     * Devuelve el número de pares clave-valor.
+     *
+     * @return cantidad de claves
+     */
+    public int size() {
+        return n;
+    }
+
+    /**
+     * Indica si la tabla está vacía.
+     *
+     * @return {@code true} si no contiene claves
+     */
+    public boolean isEmpty() {
+        return n == 0;
+    }
+
+    /**
+     * Inserta una clave con su valor, o reemplaza el valor si la clave ya existe.
+     *
+     * @param key clave
+     * @param val valor asociado
+     */
+    public void put(Key key, Value val) {
+        if (key == null) throw new IllegalArgumentException("Key null");
+        if (n >= limite) resize(2 * keys.length);
+
+        int h = hash(key);
+        int i = h & mascara;
+        int dist = 0;
+        while (keys[i] != null) {
+            if (hashes[i] == h && keys[i].equals(key)) {
+                vals[i] = val;
+                return;
+            }
+            if (distancia(i) < dist) break;
+            i = (i + 1) & mascara;
+            dist++;
+        }
+
+        ubicar(i, dist, key, val, h);
+        n++;
+    }
+
+    /**
+     * Obtiene el valor asociado a una clave.
+     *
+     * @param key clave a buscar
+     * @return valor asociado o {@code null} si no se encuentra
+     */
+    public Value get(Key key) {
+        int i = indexOf(key);
+        return i < 0 ? null : vals[i];
+    }
+
+    /**
+     * Indica si la clave está en la tabla.
+     *
+     * @param key clave a buscar
+     * @return {@code true} si la clave tiene un valor asociado
+     */
+    public boolean contains(Key key) {
+        return indexOf(key) >= 0;
+    }
+
+    /**
+     * Elimina una clave y su valor. Si la clave no existe, no hace nada.
+     *
+     * @param key clave a eliminar
+     */
+    public void delete(Key key) {
+        int i = indexOf(key);
+        if (i < 0) return;
+
+        int j = (i + 1) & mascara;
+        while (keys[j] != null && distancia(j) > 0) {
+            keys[i] = keys[j];
+            vals[i] = vals[j];
+            hashes[i] = hashes[j];
+            i = j;
+            j = (j + 1) & mascara;
+        }
+        keys[i] = null;
+        vals[i] = null;
+        n--;
+
+        if (keys.length > CAPACIDAD_MINIMA && n <= keys.length / 8) resize(keys.length / 2);
+    }
+
+    /**
+     * Devuelve la mayor distancia entre una clave y su posición inicial, es decir,
+     * el número máximo de posiciones extra que recorre una búsqueda exitosa.
+     * Recorre toda la tabla; está pensado para diagnóstico.
+     *
+     * @return longitud máxima de sondeo
+     */
+    public int maxProbeLength() {
+        int max = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null) max = Math.max(max, distancia(i));
+        }
+        return max;
+    }
+
+    /**
+     * Devuelve la distancia media entre las claves y su posición inicial.
+     * Recorre toda la tabla; está pensado para diagnóstico.
+     *
+     * @return longitud media de sondeo de una búsqueda exitosa
+     */
+    public double averageProbeLength() {
+        if (n == 0) return 0;
+        long suma = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null) suma += distancia(i);
+        }
+        return (double) suma / n;
+    }
+
+    /**
+     * Devuelve la fracción ocupada de la tabla.
+     *
+     * @return factor de carga actual
+     */
+    public double loadFactor() {
+        return (double) n / keys.length;
+    }
+
+    /**
+     * Busca la posición de una clave.
+     *
+     * @return la posición, o {@code -1} si no está
+     */
+    private int indexOf(Key key) {
+        if (key == null) throw new IllegalArgumentException("Key null");
+
+        int h = hash(key);
+        int i = h & mascara;
+        int dist = 0;
+        while (keys[i] != null) {
+            if (hashes[i] == h && keys[i].equals(key)) return i;
+            if (distancia(i) < dist) return -1;
+            i = (i + 1) & mascara;
+            dist++;
+        }
+        return -1;
+    }
+
+    /**
+     * Coloca un par nuevo a partir de la posición {@code i}, a distancia
+     * {@code dist} de su posición inicial, desplazando hacia adelante a las claves
+     * que estén más cerca de la suya.
+     */
+    private void ubicar(int i, int dist, Key key, Value val, int h) {
+        while (keys[i] != null) {
+            int d = distancia(i);
+            if (d < dist) {
+                Key k = keys[i];
+                Value v = vals[i];
+                int hh = hashes[i];
+                keys[i] = key;
+                vals[i] = val;
+                hashes[i] = h;
+                key = k;
+                val = v;
+                h = hh;
+                dist = d;
+            }
+            i = (i + 1) & mascara;
+            dist++;
+        }
+        keys[i] = key;
+        vals[i] = val;
+        hashes[i] = h;
+    }
+
+    /**
+     * Distancia entre la posición {@code i} (ocupada) y la posición inicial de su clave.
+     */
+    private int distancia(int i) {
+        return (i - (hashes[i] & mascara)) & mascara;
+    }
+
+    /**
+     * Cambia el tamaño de la tabla y reubica todas las claves con su hash guardado.
+     *
+     * @param tamano nuevo tamaño (potencia de dos)
+     */
+    private void resize(int tamano) {
+        Key[] viejasClaves = keys;
+        Value[] viejosValores = vals;
+        int[] viejosHashes = hashes;
+
+        asignar(tamano);
+        for (int i = 0; i < viejasClaves.length; i++) {
+            if (viejasClaves[i] != null) {
+                int h = viejosHashes[i];
+                ubicar(h & mascara, 0, viejasClaves[i], viejosValores[i], h);
+            }
+        }
+    }
+
+    /**
+     * Crea arreglos vacíos del tamaño indicado.
+     */
+    private void asignar(int tamano) {
+        keys = (Key[]) new Object[tamano];
+        vals = (Value[]) new Object[tamano];
+        hashes = new int[tamano];
+        mascara = tamano - 1;
+        limite = (int) (tamano * cargaMaxima);
+    }
+
+    /**
+     * Mezcla los bits del {@code hashCode} (finalizador de MurmurHash3) para que
+     * los bits bajos, que son los que usa la máscara, dependan de todos los demás.
+     * También la usa {@link IncrementalLinearProbingHashST}.
+     */
+    static int hash(Object key) {
+        int h = key.hashCode();
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+}
@@ -0,0 +1,436 @@
+package datastructures.hashtables;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Tabla de conteo de palabras basada en direccionamiento abierto.
+ * <p>
+ * Asocia cada palabra con un contador entero primitivo. Está pensada para el
+ * caso de uso de {@code WordCounter}: la operación principal es
+ * {@link #increment(String)}, que busca la palabra una sola vez y suma uno a su
+ * conteo sin crear objetos {@link Integer}.
+ * </p>
+ * <p>
+ * Organización interna:
+ * <ul>
+ *     <li>Las entradas se guardan de forma compacta, en orden de inserción, en
+ *     tres arreglos paralelos: claves, conteos ({@code int[]}) y hashes.</li>
+ *     <li>Un arreglo de índices de tamaño potencia de dos, con sondeo lineal,
+ *     apunta a esas entradas. Guardar el hash permite descartar casi todas las
+ *     colisiones sin llamar a {@link String#equals(Object)} y redimensionar sin
+ *     recalcularlo.</li>
+ *     <li>La posición de una entrada ({@code 0..size()-1}) nunca cambia, por lo
+ *     que puede recorrerse con {@link #keyAt(int)} y {@link #countAt(int)} sin
+ *     copiar nada.</li>
+ * </ul>
+ * </p>
+ * <p>
+ * Las claves solo se ordenan bajo demanda, al llamar a {@link #keys()}.
+ * </p>
+ */
+public class WordCountHashST {
+
+    /**
+     * Capacidad inicial del arreglo de entradas.
+     */
+    private static final int CAPACIDAD_INICIAL = 16;
+
+    /**
+     * Tabla de sondeo: cada posición guarda el número de entrada más uno,
+     * o {@code 0} si está libre. Su longitud es siempre una potencia de dos.
+     */
+    private int[] indices;
+
+    /**
+     * Claves en orden de inserción.
+     */
+    private String[] claves;
+
+    /**
+     * Conteo asociado a cada clave, en la misma posición.
+     */
+    private int[] conteos;
+
+    /**
+     * Hash de cada clave, en la misma posición.
+     */
+    private int[] hashes;
+
+    /**
+     * Número de claves almacenadas.
+     */
+    private int n;
+
+    /**
+     * Número de veces que se ha redimensionado la tabla.
+     */
+    private int redimensiones;
+
+    /**
+     * Crea una tabla vacía.
+     */
+    public WordCountHashST() {
+        this(CAPACIDAD_INICIAL);
+    }
+
+    /**
+     * Crea una tabla vacía preparada para {@code capacidad} claves sin redimensionar.
+     *
+     * @param capacidad número de claves esperado
+     */
+    public WordCountHashST(int capacidad) {
+        capacidad = Math.max(capacidad, 1);
+        claves = new String[capacidad];
+        conteos = new int[capacidad];
+        hashes = new int[capacidad];
+        indices = new int[tamanoIndices(capacidad)];
+    }
+
+    /**
+     * Crea una copia independiente de otra tabla.
+     * <p>
+     * Solo se copian los arreglos internos (las claves son inmutables y se
+     * comparten), por lo que el costo es el de unas pocas copias de memoria
+     * proporcionales al número de claves.
+     * </p>
+     *
+     * @param otra la tabla a copiar
+     */
+    public WordCountHashST(WordCountHashST otra) {
+        indices = otra.indices.clone();
+        claves = Arrays.copyOf(otra.claves, otra.claves.length);
+        conteos = Arrays.copyOf(otra.conteos, otra.conteos.length);
+        hashes = Arrays.copyOf(otra.hashes, otra.hashes.length);
+        n = otra.n;
+        redimensiones = otra.redimensiones;
+    }
+
+    /**
+     * Devuelve cuántas veces se ha duplicado la capacidad de la tabla desde su
+     * creación. Cada redimensión copia los arreglos de entradas y reconstruye la
+     * tabla de sondeo, así que es útil para medir el costo de no haber reservado
+     * la capacidad suficiente de antemano.
+     *
+     * @return número de redimensiones
+     */
+    public int resizes() {
+        return redimensiones;
+    }
+
+    /**
+     * Devuelve la cantidad de claves distintas.
+     *
+     * @return número de claves guardadas
+     */
+    public int size() {
+        return n;
+    }
+
+    /**
+     * Indica si la tabla está vacía.
+     *
+     * @return {@code true} si no hay claves
+     */
+    public boolean isEmpty() {
+        return n == 0;
+    }
+
+    /**
+     * Suma uno al conteo de la clave, insertándola con conteo 1 si no existía.
+     *
+     * @param key clave a contar
+     * @return el nuevo conteo de la clave
+     */
+    public int increment(String key) {
+        return add(key, 1);
+    }
+
+    /**
+     * Suma {@code delta} al conteo de la clave, insertándola si no existía.
+     *
+     * @param key   clave a actualizar
+     * @param delta cantidad a sumar
+     * @return el nuevo conteo de la clave
+     */
+    public int add(String key, int delta) {
+        int e = entrada(key, delta);
+        return conteos[e];
+    }
+
+    /**
+     * Suma uno al conteo de la clave, insertándola con conteo 1 si no existía, y
+     * devuelve su posición de entrada. Como las posiciones nunca cambian, sirve
+     * para asignar a cada palabra un identificador entero estable.
+     *
+     * @param key clave a contar
+     * @return la posición de entrada de la clave (ver {@link #keyAt(int)})
+     */
+    public int incrementIndex(String key) {
+        return entrada(key, 1);
+    }
+
+    /**
+     * Suma {@code delta} al conteo de la clave, insertándola si no existía.
+     *
+     * @param key   clave a actualizar
+     * @param delta cantidad a sumar
+     * @return la posición de entrada de la clave
+     */
+    private int entrada(String key, int delta) {
+        if (key == null) throw new IllegalArgumentException("Key null");
+
+        int h = hash(key);
+        int mask = indices.length - 1;
+        int i = h & mask;
+        int slot;
+        while ((slot = indices[i]) != 0) {
+            int e = slot - 1;
+            if (hashes[e] == h && claves[e].equals(key)) {
+                conteos[e] += delta;
+                return e;
+            }
+            i = (i + 1) & mask;
+        }
+
+        if (n == claves.length) {
+            crecer();
+            i = posicionLibre(h);
+        }
+
+        claves[n] = key;
+        conteos[n] = delta;
+        hashes[n] = h;
+        indices[i] = ++n;
+        return n - 1;
+    }
+
+    /**
+     * Suma uno al conteo de una palabra dada como porción de un búfer de bytes.
+     * <p>
+     * La porción {@code [desde, desde + longitud)} debe contener solo letras ASCII
+     * ({@code A-Z}, {@code a-z}); se trata como su equivalente en minúsculas. El hash
+     * y la comparación se calculan directamente sobre los bytes, y la {@link String}
+     * de la clave solo se crea la primera vez que aparece la palabra, por lo que
+     * contar una palabra ya conocida no asigna memoria.
+     * </p>
+     * <p>
+     * El hash coincide con el de {@link #increment(String)} para la misma palabra
+     * en minúsculas, así que ambas operaciones pueden mezclarse sobre la misma tabla.
+     * </p>
+     *
+     * @param texto    búfer que contiene la palabra
+     * @param desde    posición del primer byte de la palabra
+     * @param longitud número de bytes de la palabra
+     * @return la posición de entrada de la palabra (ver {@link #keyAt(int)})
+     */
+    public int incrementAscii(ByteBuffer texto, int desde, int longitud) {
+        return incrementAscii(texto, desde, longitud, hashAscii(texto, desde, longitud));
+    }
+
+    /**
+     * Igual que {@link #incrementAscii(ByteBuffer, int, int)}, con el hash ya
+     * calculado por {@link #hashAscii(ByteBuffer, int, int)}.
+     */
+    int incrementAscii(ByteBuffer texto, int desde, int longitud, int h) {
+        int mask = indices.length - 1;
+        int i = h & mask;
+        int slot;
+        while ((slot = indices[i]) != 0) {
+            int e = slot - 1;
+            if (hashes[e] == h && igualAscii(claves[e], texto, desde, longitud)) {
+                conteos[e]++;
+                return e;
+            }
+            i = (i + 1) & mask;
+        }
+
+        if (n == claves.length) {
+            crecer();
+            i = posicionLibre(h);
+        }
+
+        byte[] bytes = new byte[longitud];
+        for (int k = 0; k < longitud; k++) {
+            bytes[k] = (byte) (texto.get(desde + k) | 0x20);
+        }
+        claves[n] = new String(bytes, StandardCharsets.ISO_8859_1);
+        conteos[n] = 1;
+        hashes[n] = h;
+        indices[i] = ++n;
+        return n - 1;
+    }
+
+    /**
+     * Compara una clave con una porción de bytes ASCII sin distinguir mayúsculas.
+     *
+     * @param clave    clave guardada (en minúsculas)
+     * @param texto    búfer con la palabra
+     * @param desde    posición del primer byte
+     * @param longitud número de bytes
+     * @return {@code true} si representan la misma palabra
+     */
+    private static boolean igualAscii(String clave, ByteBuffer texto, int desde, int longitud) {
+        if (clave.length() != longitud) return false;
+        for (int k = 0; k < longitud; k++) {
+            if (clave.charAt(k) != (texto.get(desde + k) | 0x20)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Devuelve el conteo de una clave.
+     *
+     * @param key clave a buscar
+     * @return el conteo de la clave, o {@code 0} si no está en la tabla
+     */
+    public int get(String key) {
+        int e = indexOf(key);
+        return e < 0 ? 0 : conteos[e];
+    }
+
+    /**
+     * Indica si la clave está en la tabla.
+     *
+     * @param key clave a buscar
+     * @return {@code true} si la clave tiene un conteo asociado
+     */
+    public boolean contains(String key) {
+        return indexOf(key) >= 0;
+    }
+
+    /**
+     * Devuelve la posición de entrada de una clave.
+     *
+     * @param key clave a buscar
+     * @return posición en {@code 0..size()-1}, o {@code -1} si no está
+     */
+    public int indexOf(String key) {
+        if (key == null) throw new IllegalArgumentException("Key null");
+
+        int h = hash(key);
+        int mask = indices.length - 1;
+        int slot;
+        for (int i = h & mask; (slot = indices[i]) != 0; i = (i + 1) & mask) {
+            int e = slot - 1;
+            if (hashes[e] == h && claves[e].equals(key)) return e;
+        }
+        return -1;
+    }
+
+    /**
+     * Devuelve la clave guardada en una posición de entrada.
+     *
+     * @param i posición en {@code 0..size()-1} (orden de inserción)
+     * @return la clave en esa posición
+     */
+    public String keyAt(int i) {
+        if (i < 0 || i >= n) throw new IndexOutOfBoundsException("Índice fuera de rango: " + i);
+        return claves[i];
+    }
+
+    /**
+     * Devuelve el conteo guardado en una posición de entrada.
+     *
+     * @param i posición en {@code 0..size()-1} (orden de inserción)
+     * @return el conteo en esa posición
+     */
+    public int countAt(int i) {
+        if (i < 0 || i >= n) throw new IndexOutOfBoundsException("Índice fuera de rango: " + i);
+        return conteos[i];
+    }
+
+    /**
+     * Devuelve todas las claves en orden ascendente.
+     * <p>
+     * El orden se calcula en cada llamada copiando y ordenando las claves,
+     * con costo O(n log n); el conteo en sí nunca paga por mantener el orden.
+     * </p>
+     *
+     * @return Iterable con todas las claves ordenadas
+     */
+    public Iterable<String> keys() {
+        String[] ordenadas = Arrays.copyOf(claves, n);
+        Arrays.sort(ordenadas);
+        return Arrays.asList(ordenadas);
+    }
+
+    /**
+     * Calcula el hash de una clave, mezclando los bits altos con los bajos
+     * porque solo los bits bajos se usan para elegir la posición.
+     *
+     * @param key clave
+     * @return hash de la clave
+     */
+    static int hash(String key) {
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Calcula el hash de una palabra ASCII dada como porción de bytes, igual al
+     * de {@link #hash(String)} para la misma palabra en minúsculas.
+     *
+     * @param texto    búfer que contiene la palabra
+     * @param desde    posición del primer byte
+     * @param longitud número de bytes
+     * @return hash de la palabra
+     */
+    static int hashAscii(ByteBuffer texto, int desde, int longitud) {
+        int h = 0;
+        for (int k = 0; k < longitud; k++) {
+            h = 31 * h + (texto.get(desde + k) | 0x20);
+        }
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Calcula la longitud del arreglo de índices para una cantidad de claves,
+     * manteniendo la ocupación por debajo del 50%.
+     *
+     * @param capacidad número de claves
+     * @return potencia de dos mayor o igual que el doble de {@code capacidad}
+     */
+    private static int tamanoIndices(int capacidad) {
+        return Integer.highestOneBit(Math.max(capacidad * 2 - 1, 1)) << 1;
+    }
+
+    /**
+     * Busca una posición libre en la tabla de sondeo para un hash dado.
+     *
+     * @param h hash de la clave
+     * @return posición libre
+     */
+    private int posicionLibre(int h) {
+        int mask = indices.length - 1;
+        int i = h & mask;
+        while (indices[i] != 0) i = (i + 1) & mask;
+        return i;
+    }
+
+    /**
+     * Duplica la capacidad de los arreglos de entradas y reconstruye la tabla
+     * de sondeo para que su ocupación siga por debajo del 50%.
+     */
+    private void crecer() {
+        int capacidad = claves.length * 2;
+        claves = Arrays.copyOf(claves, capacidad);
+        conteos = Arrays.copyOf(conteos, capacidad);
+        hashes = Arrays.copyOf(hashes, capacidad);
+        rehash(tamanoIndices(capacidad));
+        redimensiones++;
+    }
+
+    /**
+     * Reconstruye la tabla de sondeo con una nueva longitud usando los hashes guardados.
+     *
+     * @param longitud nueva longitud (potencia de dos)
+     */
+    private void rehash(int longitud) {
+        indices = new int[longitud];
+        for (int e = 0; e < n; e++) {
+            indices[posicionLibre(hashes[e])] = e + 1;
+        }
+    }
+}
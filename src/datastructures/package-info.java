@@ -72,12 +72,143 @@
  * combinando las funcionalidades de pila y cola.
  * </p>
  *
+ * <h3>{@link datastructures.queue.MpmcRingQueue} - Cola Concurrente Acotada</h3>
+ * <p>
+ * Buffer circular sin bloqueos para varios productores y consumidores, con un
+ * número de secuencia por posición y operaciones por lotes
+ * ({@code offerAll}/{@code pollAll}) que reservan varias posiciones con un solo CAS.
+ * </p>
+ * <pre>{@code
+ * MpmcRingQueue<String> cola = new MpmcRingQueue<>(1024);
+ * cola.offer("linea");                  // false si está llena
+ *
+ * String[] lote = new String[64];
+ * int n = cola.pollAll(lote, 0, 64);    // 0 si está vacía
+ * }</pre>
+ *
+ * <h3>{@link datastructures.queue.WorkStealingDeque} y {@link datastructures.queue.WorkStealingScheduler} - Robo de Trabajo</h3>
+ * <p>
+ * Doble cola de Chase y Lev: el hilo dueño apila y desapila por abajo sin
+ * instrucciones atómicas en el caso habitual, y los demás hilos roban por arriba
+ * con un CAS. {@code WorkStealingScheduler} da a cada trabajador una de estas
+ * dobles colas y reparte {@code forEach(n, tarea)} por división perezosa de rangos.
+ * </p>
+ * <pre>{@code
+ * try (WorkStealingScheduler planificador = new WorkStealingScheduler(4)) {
+ *     planificador.forEach(fragmentos.length, i -> parciales[i] = contar(fragmentos[i]));
+ * }
+ * }</pre>
+ *
  * <h3>{@link datastructures.list.LinkedList} - Lista Enlazada</h3>
  * <p>
  * Implementación de lista enlazada que permite inserción y eliminación eficiente
  * en cualquier posición sin necesidad de redimensionar arreglos.
  * </p>
  *
+ * <h3>{@link datastructures.priorityqueue.IndexMinPQ} - Cola de Prioridad Indexada</h3>
+ * <p>
+ * Montículo binario mínimo en el que cada clave se asocia a un índice entero,
+ * lo que permite consultar o cambiar la clave de un índice en O(log n).
+ * Es la base para seleccionar los K elementos mayores de una colección en
+ * O(n log K) sin ordenarla completa.
+ * </p>
+ * <pre>{@code
+ * IndexMinPQ<Integer> pq = new IndexMinPQ<>(3);
+ * pq.insert(0, 40);
+ * pq.insert(1, 10);
+ * pq.insert(2, 25);
+ *
+ * int i = pq.minIndex();  // 1
+ * pq.changeKey(i, 50);     // ahora el mínimo es 25 (índice 2)
+ * }</pre>
+ *
+ * <h3>{@link datastructures.hashtables.ConcurrentWordCountHashST} - Tabla de Conteo Concurrente</h3>
+ * <p>
+ * Tabla de conteo de palabras que varios hilos pueden actualizar a la vez. Reparte
+ * las claves entre segmentos independientes, cada uno con su propio bloqueo, de
+ * modo que los hilos solo compiten cuando cuentan palabras del mismo segmento.
+ * </p>
+ *
+ * <h3>{@link datastructures.hashtables.RobinHoodHashST} - Tabla Hash Robin Hood</h3>
+ * <p>
+ * Tabla genérica con sondeo lineal Robin Hood, tamaño potencia de dos, hashes
+ * guardados y eliminación por corrimiento hacia atrás. Admite un factor de carga
+ * de 85–90% con longitudes de sondeo acotadas, así que ocupa menos memoria que
+ * {@link datastructures.hashtables.LinearProbingHashST}, que se redimensiona al 50%.
+ * </p>
+ *
+ * <h3>{@link datastructures.hashtables.IncrementalLinearProbingHashST} - Tabla Hash con Redimensión Incremental</h3>
+ * <p>
+ * Tabla con sondeo lineal que, al crecer, conserva la tabla anterior junto a la
+ * nueva y migra unas pocas posiciones en cada operación, de modo que ninguna
+ * inserción paga por reubicar todas las claves.
+ * </p>
+ *
+ * <h3>{@link datastructures.hashtables.LongIntHashST} - Tabla de Conteo Primitiva</h3>
+ * <p>
+ * Tabla de conteo con claves {@code long} y valores {@code int}, sin ningún objeto
+ * por entrada. Sirve para contar claves compuestas codificadas en 64 bits, como
+ * los n-gramas de identificadores de palabras.
+ * </p>
+ *
+ * <h3>{@link datastructures.sketch.CountMinSketch} y {@link datastructures.sketch.HyperLogLog} - Resúmenes Probabilísticos</h3>
+ * <p>
+ * Estructuras de memoria fija que estiman, respectivamente, la frecuencia de cada
+ * clave (con una sobreestimación acotada) y el número de claves distintas (con un
+ * error relativo acotado), sin guardar las claves.
+ * </p>
+ *
+ * <h3>{@link datastructures.TableSymbolsOrder} e {@link datastructures.IntTableSymbolsOrder} - Tablas de Símbolos Ordenadas</h3>
+ * <p>
+ * Tablas con las claves en un arreglo ordenado: búsqueda binaria, consultas de
+ * orden ({@code rank}, {@code select}, {@code floor}, {@code ceiling}) y recorridos
+ * por rango sin copias. La variante {@code Int} guarda los valores en un
+ * {@code int[]}, sin objetos {@link java.lang.Integer}.
+ * </p>
+ * <pre>{@code
+ * IntTableSymbolsOrder<String> conteos = new IntTableSymbolsOrder<>();
+ * conteos.increment("whale");
+ * conteos.addTo("whale", 2);
+ *
+ * System.out.println(conteos.get("whale"));            // 3
+ * System.out.println(conteos.getOrDefault("ahab", -1)); // -1
+ * }</pre>
+ *
+ * <h3>{@link datastructures.trie.TernarySearchTrie} - Trie Ternario de Búsqueda</h3>
+ * <p>
+ * Tabla de conteo de palabras organizada por caracteres. Cada nodo mantiene la suma
+ * de conteos y el número de palabras de su subárbol, de modo que las consultas por
+ * prefijo solo recorren el prefijo.
+ * </p>
+ * <pre>{@code
+ * TernarySearchTrie trie = new TernarySearchTrie();
+ * trie.increment("whale");
+ * trie.increment("whale");
+ * trie.increment("whaling");
+ *
+ * System.out.println(trie.countWithPrefix("whal"));     // 3
+ * System.out.println(trie.keysWithPrefixCount("whal")); // 2
+ * }</pre>
+ *
+ * <h3>{@link datastructures.graph.CsrGraph} - Grafo Compacto (CSR)</h3>
+ * <p>
+ * Versión inmutable de {@link datastructures.graph.Digraph} y
+ * {@link datastructures.graph.DirectedGraphs}, obtenida con {@code freeze()}: todas
+ * las aristas en un {@code int[]} agrupadas por origen, más un {@code int[]} con la
+ * posición donde empiezan los vecinos de cada vértice. Cada arista ocupa 4 bytes y
+ * recorrer los vecinos no crea objetos.
+ * </p>
+ * <pre>{@code
+ * Digraph g = new Digraph(3);
+ * g.addEdge(0, 1);
+ * g.addEdge(0, 2);
+ * CsrGraph csr = g.freeze();
+ *
+ * for (int i = csr.offset(0); i < csr.offset(1); i++) {
+ *     System.out.println(csr.target(i));   // 1, 2
+ * }
+ * }</pre>
+ *
  * <h2>Uso con Iteradores</h2>
  * <p>
  * Todas las estructuras implementan {@link java.lang.Iterable}, lo que permite
@@ -0,0 +1,257 @@
+package datastructures.priorityqueue;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Cola de prioridad mínima indexada, implementada con un montículo binario.
+ * <p>
+ * Cada clave se asocia a un índice entero en el rango {@code [0, capacidad)}.
+ * Además de insertar y extraer la clave mínima, permite consultar y cambiar la
+ * clave de un índice concreto, lo que la hace útil para mantener un conjunto
+ * acotado de candidatos (por ejemplo, las K palabras más frecuentes) sin volver
+ * a construir el montículo.
+ * </p>
+ * <p>
+ * Internamente usa tres arreglos paralelos:
+ * <ul>
+ *     <li>{@code pq}: el montículo (con base 1), que guarda índices.</li>
+ *     <li>{@code qp}: la posición de cada índice dentro de {@code pq}, o {@code -1}.</li>
+ *     <li>{@code keys}: la clave asociada a cada índice.</li>
+ * </ul>
+ * Insertar, eliminar el mínimo y cambiar una clave cuestan O(log n); consultar
+ * el mínimo cuesta O(1).
+ * </p>
+ *
+ * @param <Key> tipo de las claves (debe poder compararse)
+ */
+@SuppressWarnings("unchecked")
+public class IndexMinPQ<Key extends Comparable<Key>> {
+
+    /**
+     * Número máximo de índices.
+     */
+    private final int capacidad;
+
+    /**
+     * Montículo binario con base 1: {@code pq[1]} es el índice de la clave mínima.
+     */
+    private final int[] pq;
+
+    /**
+     * Inversa de {@link #pq}: {@code qp[pq[i]] == i}, o {@code -1} si el índice no está.
+     */
+    private final int[] qp;
+
+    /**
+     * Clave asociada a cada índice.
+     */
+    private final Key[] keys;
+
+    /**
+     * Número de elementos en la cola.
+     */
+    private int n;
+
+    /**
+     * Crea una cola vacía para índices entre {@code 0} y {@code capacidad - 1}.
+     *
+     * @param capacidad número máximo de índices
+     * @throws IllegalArgumentException si la capacidad es negativa
+     */
+    public IndexMinPQ(int capacidad) {
+        if (capacidad < 0) throw new IllegalArgumentException("La capacidad no puede ser negativa");
+
+        this.capacidad = capacidad;
+        pq = new int[capacidad + 1];
+        qp = new int[capacidad];
+        keys = (Key[]) new Comparable[capacidad];
+        for (int i = 0; i < capacidad; i++) qp[i] = -1;
+    }
+
+    /**
+     * Indica si la cola está vacía.
+     *
+     * @return {@code true} si no contiene elementos
+     */
+    public boolean isEmpty() {
+        return n == 0;
+    }
+
+    /**
+     * Devuelve el número de elementos en la cola.
+     *
+     * @return cantidad de elementos
+     */
+    public int size() {
+        return n;
+    }
+
+    /**
+     * Indica si un índice tiene una clave asociada.
+     *
+     * @param i índice a consultar
+     * @return {@code true} si el índice está en la cola
+     */
+    public boolean contains(int i) {
+        validarIndice(i);
+        return qp[i] != -1;
+    }
+
+    /**
+     * Asocia una clave a un índice que aún no está en la cola.
+     *
+     * @param i   índice
+     * @param key clave a asociar
+     * @throws IllegalArgumentException si el índice ya está en la cola
+     */
+    public void insert(int i, Key key) {
+        validarIndice(i);
+        if (contains(i)) throw new IllegalArgumentException("El índice ya está en la cola: " + i);
+
+        n++;
+        qp[i] = n;
+        pq[n] = i;
+        keys[i] = key;
+        swim(n);
+    }
+
+    /**
+     * Devuelve el índice asociado a la clave mínima.
+     *
+     * @return índice de la clave mínima
+     * @throws NoSuchElementException si la cola está vacía
+     */
+    public int minIndex() {
+        if (n == 0) throw new NoSuchElementException("La cola está vacía");
+        return pq[1];
+    }
+
+    /**
+     * Devuelve la clave mínima.
+     *
+     * @return clave mínima
+     * @throws NoSuchElementException si la cola está vacía
+     */
+    public Key minKey() {
+        if (n == 0) throw new NoSuchElementException("La cola está vacía");
+        return keys[pq[1]];
+    }
+
+    /**
+     * Elimina la clave mínima y devuelve su índice.
+     *
+     * @return índice de la clave eliminada
+     * @throws NoSuchElementException si la cola está vacía
+     */
+    public int delMin() {
+        if (n == 0) throw new NoSuchElementException("La cola está vacía");
+
+        int min = pq[1];
+        exch(1, n--);
+        sink(1);
+        qp[min] = -1;
+        keys[min] = null;
+        pq[n + 1] = -1;
+        return min;
+    }
+
+    /**
+     * Devuelve la clave asociada a un índice.
+     *
+     * @param i índice
+     * @return la clave asociada
+     * @throws NoSuchElementException si el índice no está en la cola
+     */
+    public Key keyOf(int i) {
+        validarIndice(i);
+        if (!contains(i)) throw new NoSuchElementException("El índice no está en la cola: " + i);
+        return keys[i];
+    }
+
+    /**
+     * Cambia la clave asociada a un índice, reubicándolo en el montículo.
+     *
+     * @param i   índice
+     * @param key nueva clave
+     * @throws NoSuchElementException si el índice no está en la cola
+     */
+    public void changeKey(int i, Key key) {
+        validarIndice(i);
+        if (!contains(i)) throw new NoSuchElementException("El índice no está en la cola: " + i);
+
+        keys[i] = key;
+        swim(qp[i]);
+        sink(qp[i]);
+    }
+
+    /**
+     * Elimina la clave asociada a un índice.
+     *
+     * @param i índice
+     * @throws NoSuchElementException si el índice no está en la cola
+     */
+    public void delete(int i) {
+        validarIndice(i);
+        if (!contains(i)) throw new NoSuchElementException("El índice no está en la cola: " + i);
+
+        int posicion = qp[i];
+        exch(posicion, n--);
+        swim(posicion);
+        sink(posicion);
+        keys[i] = null;
+        qp[i] = -1;
+    }
+
+    /**
+     * Verifica que un índice esté dentro del rango permitido.
+     *
+     * @param i índice a validar
+     * @throws IndexOutOfBoundsException si el índice está fuera de rango
+     */
+    private void validarIndice(int i) {
+        if (i < 0 || i >= capacidad) throw new IndexOutOfBoundsException("Índice fuera de rango: " + i);
+    }
+
+    /**
+     * Compara las claves en dos posiciones del montículo.
+     *
+     * @return {@code true} si la clave en {@code i} es mayor que la clave en {@code j}
+     */
+    private boolean greater(int i, int j) {
+        return keys[pq[i]].compareTo(keys[pq[j]]) > 0;
+    }
+
+    /**
+     * Intercambia dos posiciones del montículo manteniendo {@link #qp} al día.
+     */
+    private void exch(int i, int j) {
+        int swap = pq[i];
+        pq[i] = pq[j];
+        pq[j] = swap;
+        qp[pq[i]] = i;
+        qp[pq[j]] = j;
+    }
+
+    /**
+     * Sube un elemento mientras sea menor que su padre.
+     */
+    private void swim(int k) {
+        while (k > 1 && greater(k / 2, k)) {
+            exch(k, k / 2);
+            k = k / 2;
+        }
+    }
+
+    /**
+     * Baja un elemento mientras sea mayor que alguno de sus hijos.
+     */
+    private void sink(int k) {
+        while (2 * k <= n) {
+            int j = 2 * k;
+            if (j < n && greater(j, j + 1)) j++;
+            if (!greater(k, j)) break;
+            exch(k, j);
+            k = j;
+        }
+    }
+}
@@ -0,0 +1,276 @@
+package datastructures.queue;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Cola acotada, sin bloqueos, para varios productores y varios consumidores.
+ * <p>
+ * Es un buffer circular de capacidad potencia de dos en el que cada posición
+ * tiene un número de secuencia (algoritmo de Dmitry Vyukov):
+ * <ul>
+ *     <li>La posición {@code i} está libre para la posición lógica {@code p}
+ *     ({@code p & mascara == i}) cuando su secuencia vale {@code p}, y contiene el
+ *     elemento de {@code p} cuando vale {@code p + 1}.</li>
+ *     <li>Un productor reserva la posición {@code p = cola} con un CAS sobre
+ *     {@code cola}, escribe el elemento y publica la secuencia {@code p + 1} con
+ *     semántica release. Un consumidor hace lo mismo con {@code cabeza} y deja la
+ *     secuencia en {@code p + capacidad}, liberando la posición para la vuelta
+ *     siguiente.</li>
+ *     <li>Productores y consumidores solo compiten entre sí por su propio
+ *     contador; un productor y un consumidor no se estorban salvo cuando la cola
+ *     está llena o vacía.</li>
+ * </ul>
+ * </p>
+ * <p>
+ * {@code cabeza} y {@code cola} viven en un arreglo, separados por 128 bytes, para
+ * que no compartan línea de caché (false sharing) entre sí ni con otros datos.
+ * </p>
+ * <p>
+ * {@link #offerAll(Object[], int, int)} y {@link #pollAll(Object[], int, int)}
+ * reservan un bloque de posiciones consecutivas con un solo CAS, lo que reduce la
+ * contención cuando se transfieren lotes. Ninguna operación bloquea: si la cola
+ * está llena o vacía devuelven {@code false}, {@code null} o {@code 0}, y es quien
+ * llama quien decide si reintentar, ceder el procesador o dormir.
+ * </p>
+ *
+ * @param <T> tipo de los elementos
+ */
+@SuppressWarnings("unchecked")
+public class MpmcRingQueue<T> {
+
+    private static final VarHandle SECUENCIA = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final VarHandle CONTADOR = MethodHandles.arrayElementVarHandle(long[].class);
+
+    /**
+     * Separación en {@code long} entre los contadores (128 bytes, dos líneas de caché
+     * para evitar también la precarga de líneas adyacentes).
+     */
+    private static final int SEPARACION = 16;
+
+    /**
+     * Índice de la posición de escritura (productores) en {@link #contadores}.
+     */
+    private static final int COLA = SEPARACION;
+
+    /**
+     * Índice de la posición de lectura (consumidores) en {@link #contadores}.
+     */
+    private static final int CABEZA = 2 * SEPARACION;
+
+    /**
+     * Elementos.
+     */
+    private final Object[] elementos;
+
+    /**
+     * Número de secuencia de cada posición.
+     */
+    private final long[] secuencias;
+
+    /**
+     * Contadores de cola y cabeza, rodeados de relleno.
+     */
+    private final long[] contadores = new long[3 * SEPARACION];
+
+    /**
+     * {@code capacidad - 1}.
+     */
+    private final int mascara;
+
+    /**
+     * Crea una cola vacía.
+     *
+     * @param capacidad número mínimo de elementos; se redondea a la siguiente potencia
+     *                  de dos, y como mínimo a 2 (con una sola posición, "contiene el
+     *                  elemento de {@code p}" y "libre para {@code p + 1}" serían el
+     *                  mismo número de secuencia)
+     * @throws IllegalArgumentException si la capacidad no es positiva o es demasiado grande
+     */
+    public MpmcRingQueue(int capacidad) {
+        if (capacidad <= 0 || capacidad > (1 << 30)) {
+            throw new IllegalArgumentException("Capacidad no válida: " + capacidad);
+        }
+        int tamano = capacidad <= 2 ? 2 : Integer.highestOneBit(capacidad - 1) << 1;
+        elementos = new Object[tamano];
+        secuencias = new long[tamano];
+        for (int i = 0; i < tamano; i++) secuencias[i] = i;
+        mascara = tamano - 1;
+    }
+
+    /**
+     * Devuelve la capacidad de la cola.
+     *
+     * @return número máximo de elementos
+     */
+    public int capacity() {
+        return elementos.length;
+    }
+
+    /**
+     * Devuelve una estimación del número de elementos. Con hilos concurrentes el
+     * valor puede estar desactualizado en cuanto se devuelve.
+     *
+     * @return cantidad aproximada de elementos, entre 0 y la capacidad
+     */
+    public int size() {
+        long cabeza = (long) CONTADOR.getVolatile(contadores, CABEZA);
+        long cola = (long) CONTADOR.getVolatile(contadores, COLA);
+        return (int) Math.max(0, Math.min(cola - cabeza, elementos.length));
+    }
+
+    /**
+     * Indica si la cola parece vacía (ver {@link #size()}).
+     *
+     * @return {@code true} si no había elementos al consultar
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Agrega un elemento al final de la cola si hay lugar.
+     *
+     * @param item elemento (no nulo)
+     * @return {@code true} si se agregó; {@code false} si la cola estaba llena
+     * @throws IllegalArgumentException si {@code item} es nulo
+     */
+    public boolean offer(T item) {
+        if (item == null) throw new IllegalArgumentException("Elemento null");
+
+        long pos = (long) CONTADOR.getVolatile(contadores, COLA);
+        while (true) {
+            int i = (int) pos & mascara;
+            long dif = (long) SECUENCIA.getAcquire(secuencias, i) - pos;
+            if (dif == 0) {
+                if (CONTADOR.weakCompareAndSet(contadores, COLA, pos, pos + 1)) {
+                    elementos[i] = item;
+                    SECUENCIA.setRelease(secuencias, i, pos + 1);
+                    return true;
+                }
+            } else if (dif < 0) {
+                return false;
+            }
+            pos = (long) CONTADOR.getVolatile(contadores, COLA);
+        }
+    }
+
+    /**
+     * Quita y devuelve el primer elemento de la cola, si hay alguno.
+     *
+     * @return el elemento, o {@code null} si la cola estaba vacía
+     */
+    public T poll() {
+        long pos = (long) CONTADOR.getVolatile(contadores, CABEZA);
+        while (true) {
+            int i = (int) pos & mascara;
+            long dif = (long) SECUENCIA.getAcquire(secuencias, i) - (pos + 1);
+            if (dif == 0) {
+                if (CONTADOR.weakCompareAndSet(contadores, CABEZA, pos, pos + 1)) {
+                    T item = (T) elementos[i];
+                    elementos[i] = null;
+                    SECUENCIA.setRelease(secuencias, i, pos + elementos.length);
+                    return item;
+                }
+            } else if (dif < 0) {
+                return null;
+            }
+            pos = (long) CONTADOR.getVolatile(contadores, CABEZA);
+        }
+    }
+
+    /**
+     * Agrega al final de la cola tantos elementos de
+     * {@code items[offset..offset+length-1]} como quepan, en orden.
+     * <p>
+     * Reserva con un solo CAS el bloque de posiciones libres consecutivas, así que
+     * los elementos del lote quedan contiguos aunque haya otros productores.
+     * </p>
+     *
+     * @param items  elementos (no nulos)
+     * @param offset posición del primer elemento en {@code items}
+     * @param length cantidad de elementos a agregar
+     * @return cantidad de elementos agregados (puede ser menor que {@code length}
+     * si la cola se llena, o {@code 0})
+     * @throws IndexOutOfBoundsException si el rango no está dentro de {@code items}
+     * @throws IllegalArgumentException  si algún elemento del rango es nulo
+     */
+    public int offerAll(T[] items, int offset, int length) {
+        verificarRango(items.length, offset, length);
+        for (int j = offset; j < offset + length; j++) {
+            if (items[j] == null) throw new IllegalArgumentException("Elemento null");
+        }
+        if (length == 0) return 0;
+
+        while (true) {
+            long pos = (long) CONTADOR.getVolatile(contadores, COLA);
+            int libres = 0;
+            int maximo = Math.min(length, elementos.length);
+            while (libres < maximo
+                    && (long) SECUENCIA.getAcquire(secuencias, (int) (pos + libres) & mascara) == pos + libres) {
+                libres++;
+            }
+            if (libres == 0) {
+                if ((long) SECUENCIA.getAcquire(secuencias, (int) pos & mascara) - pos < 0) return 0;
+                continue;
+            }
+
+            if (CONTADOR.compareAndSet(contadores, COLA, pos, pos + libres)) {
+                for (int j = 0; j < libres; j++) {
+                    int i = (int) (pos + j) & mascara;
+                    elementos[i] = items[offset + j];
+                    SECUENCIA.setRelease(secuencias, i, pos + j + 1);
+                }
+                return libres;
+            }
+        }
+    }
+
+    /**
+     * Quita hasta {@code max} elementos del frente de la cola y los copia, en orden,
+     * en {@code destination[offset..]}.
+     * <p>
+     * Reserva con un solo CAS el bloque de elementos ya publicados consecutivos.
+     * </p>
+     *
+     * @param destination arreglo de destino
+     * @param offset      posición del primer elemento copiado en {@code destination}
+     * @param max         cantidad máxima de elementos a quitar
+     * @return cantidad de elementos quitados ({@code 0} si la cola estaba vacía)
+     * @throws IndexOutOfBoundsException si el rango no está dentro de {@code destination}
+     */
+    public int pollAll(T[] destination, int offset, int max) {
+        verificarRango(destination.length, offset, max);
+        if (max == 0) return 0;
+
+        while (true) {
+            long pos = (long) CONTADOR.getVolatile(contadores, CABEZA);
+            int listos = 0;
+            int maximo = Math.min(max, elementos.length);
+            while (listos < maximo
+                    && (long) SECUENCIA.getAcquire(secuencias, (int) (pos + listos) & mascara) == pos + listos + 1) {
+                listos++;
+            }
+            if (listos == 0) {
+                if ((long) SECUENCIA.getAcquire(secuencias, (int) pos & mascara) - (pos + 1) < 0) return 0;
+                continue;
+            }
+
+            if (CONTADOR.compareAndSet(contadores, CABEZA, pos, pos + listos)) {
+                for (int j = 0; j < listos; j++) {
+                    int i = (int) (pos + j) & mascara;
+                    destination[offset + j] = (T) elementos[i];
+                    elementos[i] = null;
+                    SECUENCIA.setRelease(secuencias, i, pos + j + elementos.length);
+                }
+                return listos;
+            }
+        }
+    }
+
+    private static void verificarRango(int longitud, int offset, int cantidad) {
+        if (offset < 0 || cantidad < 0 || offset > longitud - cantidad) {
+            throw new IndexOutOfBoundsException("Rango fuera del arreglo: " + offset + ", " + cantidad);
+        }
+    }
+}
@@ -4,12 +4,20 @@ import java.util.Iterator;
 
 /**
  * La clase {@code Queue} representa una cola genérica basada en un
- * arreglo dinámico.
+ * arreglo dinámico circular.
  * <p>
  * Una cola sigue el principio <strong>FIFO (First In, First Out)</strong>:
  * El primer elemento en entrar es el primero en salir.
  * </p>
  * <p>
+ * Los elementos ocupan un tramo del arreglo que empieza en {@code head} y puede
+ * continuar desde el principio del arreglo al llegar al final (buffer circular).
+ * Así {@link #enqueue(Object)} y {@link #dequeue()} cuestan O(1) (amortizado, por
+ * las redimensiones), sin desplazar los demás elementos. Las operaciones en bloque
+ * {@link #enqueueAll(Object[], int, int)} y {@link #drainTo(Object[])} copian a lo
+ * sumo dos tramos con {@link System#arraycopy}.
+ * </p>
+ * <p>
  * Ejemplo de uso:
  * <pre>{@code
  * Queue<String> queue = new Queue<>();
@@ -26,6 +34,7 @@ import java.util.Iterator;
 @SuppressWarnings("unchecked")
 public class Queue<T> implements Iterable<T> {
     private T[] elements;
+    private int head;
     private int size;
 
     /**
@@ -33,6 +42,7 @@ public class Queue<T> implements Iterable<T> {
      */
     public Queue() {
         elements = (T[]) new Object[1];
+        head = 0;
         size = 0;
     }
 
@@ -49,35 +59,64 @@ public class Queue<T> implements Iterable<T> {
         if (size == elements.length) {
             resize(elements.length * 2);
         }
-        elements[size] = item;
+        elements[index(size)] = item;
         size++;
     }
 
+    /**
+     * Inserta al final de la cola, en orden, los elementos
+     * {@code items[offset..offset+length-1]}.
+     * <p>
+     * La capacidad se ajusta una sola vez y los elementos se copian con a lo sumo
+     * dos llamadas a {@link System#arraycopy}: una hasta el final del arreglo
+     * interno y otra desde su principio.
+     * </p>
+     *
+     * @param items  arreglo con los elementos a agregar
+     * @param offset posición del primer elemento en {@code items}
+     * @param length cantidad de elementos a agregar
+     * @throws IndexOutOfBoundsException si el rango no está dentro de {@code items}
+     */
+    public void enqueueAll(T[] items, int offset, int length) {
+        if (offset < 0 || length < 0 || offset > items.length - length) {
+            throw new IndexOutOfBoundsException("Rango fuera del arreglo: " + offset + ", " + length);
+        }
+        if (size + length > elements.length) {
+            int capacity = elements.length;
+            while (capacity < size + length) capacity *= 2;
+            resize(capacity);
+        }
+
+        int tail = index(size);
+        int first = Math.min(length, elements.length - tail);
+        System.arraycopy(items, offset, elements, tail, first);
+        System.arraycopy(items, offset + first, elements, 0, length - first);
+        size += length;
+    }
+
     /**
      * Elimina y devuelve el primer elemento de la cola.
      *
      * <h4>Detalles de implementación</h4>
      * <ol>
-     *   <li>Guarda el <strong>primer elemento</strong> de la cola en una variable para devolverlo al final.</li>
-     *   <li>Mueve todos los demás elementos una posición hacia la izquierda,
-     *       de forma que el segundo elemento pase a ser el primero, el tercer pase a ser el segundo,
-     *       y así hasta el final.</li>
-     *   <li>Deja vacía la última posición (poniéndola en {@code null}) para que no quede ocupando memoria.</li>
+     *   <li>Toma el elemento en la posición {@code head}, el <strong>frente</strong> de la cola.</li>
+     *   <li>Deja vacía esa posición (poniéndola en {@code null}) para que no quede ocupando memoria.</li>
+     *   <li>Avanza {@code head} una posición, volviendo al principio del arreglo al llegar al final.
+     *       Los demás elementos no se mueven.</li>
      *   <li>Resta 1 al contador de elementos.</li>
      *   <li>Si después de quitar un elemento la cola queda usando solo el <em>25%</em> de su espacio,
      *       reduce el tamaño del arreglo a la mitad.</li>
      * </ol>
      *
      * @return el elemento que estaba en el frente de la cola
+     * @throws EmptyQueue si la cola está vacía
      */
     public T dequeue() {
-        T item = elements[0];
-
-        for (int i = 1; i < size; i++) {
-            elements[i - 1] = elements[i];
-        }
+        if (size == 0) throw new EmptyQueue("La cola está vacía");
 
-        elements[size - 1] = null;
+        T item = elements[head];
+        elements[head] = null;
+        head = index(1);
 
         size--;
 
@@ -88,13 +127,39 @@ public class Queue<T> implements Iterable<T> {
         return item;
     }
 
+    /**
+     * Elimina todos los elementos de la cola y los copia, en orden FIFO, al
+     * principio de {@code destination}.
+     * <p>
+     * Se copian a lo sumo dos tramos con {@link System#arraycopy}, así que vaciar
+     * una cola de {@code n} elementos cuesta O(n).
+     * </p>
+     *
+     * @param destination arreglo de destino, con espacio para {@link #size()} elementos
+     * @return cantidad de elementos copiados
+     * @throws IndexOutOfBoundsException si {@code destination} es demasiado corto
+     */
+    public int drainTo(T[] destination) {
+        int count = size;
+        if (destination.length < count) {
+            throw new IndexOutOfBoundsException("El destino tiene " + destination.length
+                    + " posiciones y la cola " + count + " elementos");
+        }
+
+        int first = Math.min(count, elements.length - head);
+        System.arraycopy(elements, head, destination, 0, first);
+        System.arraycopy(elements, 0, destination, first, count - first);
+        clear();
+        return count;
+    }
+
     /**
      * Devuelve el elemento al <strong>frente</strong> de la cola sin eliminarlo.
      *
-     * @return el elemento al frente de la cola
+     * @return el elemento al frente de la cola, o {@code null} si está vacía
      */
     public T peek() {
-        return elements[0];
+        return elements[head];
     }
 
     /**
@@ -120,22 +185,39 @@ public class Queue<T> implements Iterable<T> {
      */
     public void clear() {
         elements = (T[]) new Object[elements.length];
+        head = 0;
         size = 0;
     }
 
+    /**
+     * Convierte una posición relativa al frente de la cola en una posición del
+     * arreglo interno.
+     *
+     * @param offset distancia desde el frente ({@code 0 <= offset <= elements.length})
+     * @return posición en {@code elements}
+     */
+    private int index(int offset) {
+        int i = head + offset;
+        return i >= elements.length ? i - elements.length : i;
+    }
+
     /**
      * Redimensiona el arreglo interno de la cola a una nueva capacidad.
      * <p>
      * Se utiliza automáticamente al encolar cuando el arreglo está lleno
-     * o al desencolar cuando el arreglo queda demasiado vacío.
+     * o al desencolar cuando el arreglo queda demasiado vacío. Los elementos
+     * quedan contiguos al principio del nuevo arreglo.
      * </p>
      *
      * @param newCapacity la nueva capacidad que tendra el arreglo
      */
     private void resize(int newCapacity) {
         T[] newArray = (T[]) new Object[newCapacity];
-        if (size >= 0) System.arraycopy(elements, 0, newArray, 0, size);
+        int first = Math.min(size, elements.length - head);
+        System.arraycopy(elements, head, newArray, 0, first);
+        System.arraycopy(elements, 0, newArray, first, size - first);
         elements = newArray;
+        head = 0;
     }
 
     /**
@@ -165,7 +247,7 @@ public class Queue<T> implements Iterable<T> {
     public String toString() {
         StringBuilder output = new StringBuilder("[");
         for (int i = 0; i < size; i++) {
-            T element = elements[i];
+            T element = elements[index(i)];
 
             if (element instanceof String s) {
                 output.append('"').append(s).append('"');
@@ -204,7 +286,7 @@ public class Queue<T> implements Iterable<T> {
          */
         @Override
         public T next() {
-            return elements[index++];
+            return elements[index(index++)];
         }
     }
 }
@@ -0,0 +1,193 @@
+package datastructures.queue;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Doble cola concurrente para robo de trabajo (algoritmo de Chase y Lev).
+ * <p>
+ * Es la versión concurrente de {@link Deque} para un planificador: un único hilo
+ * dueño agrega y quita elementos por abajo, como en una pila, y cualquier otro
+ * hilo (un ladrón) puede quitar elementos por arriba, los más antiguos:
+ * <ul>
+ *     <li>{@link #push(Object)} y {@link #pop()} solo los puede llamar el dueño. En
+ *     el caso habitual no usan ninguna instrucción atómica; solo compiten con los
+ *     ladrones por el último elemento, y eso se resuelve con un CAS sobre
+ *     {@code arriba}.</li>
+ *     <li>{@link #steal()} lo puede llamar cualquier hilo. Reserva el elemento de
+ *     arriba con un CAS; si pierde la carrera contra otro ladrón o contra el dueño
+ *     devuelve {@code null} y es quien llama quien decide si reintentar.</li>
+ *     <li>El arreglo es circular y de tamaño potencia de dos. Cuando se llena, el
+ *     dueño lo reemplaza por uno del doble de tamaño; un ladrón que todavía mira el
+ *     arreglo anterior encuentra ahí los mismos elementos, porque el anterior no se
+ *     modifica.</li>
+ * </ul>
+ * </p>
+ * <p>
+ * Como en {@link MpmcRingQueue}, {@code arriba} y {@code abajo} viven en un arreglo
+ * separados por 128 bytes para que no compartan línea de caché. Para no añadir
+ * sincronización al camino del dueño, las posiciones ya quitadas no se vacían: el
+ * arreglo puede retener referencias a elementos hasta que se sobrescriben.
+ * </p>
+ *
+ * @param <T> tipo de los elementos
+ */
+@SuppressWarnings("unchecked")
+public class WorkStealingDeque<T> {
+
+    private static final VarHandle CONTADOR = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final VarHandle ARREGLO;
+
+    static {
+        try {
+            ARREGLO = MethodHandles.lookup().findVarHandle(WorkStealingDeque.class, "elementos", Object[].class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /**
+     * Capacidad inicial por defecto.
+     */
+    private static final int CAPACIDAD_INICIAL = 64;
+
+    /**
+     * Separación en {@code long} entre los contadores (128 bytes).
+     */
+    private static final int SEPARACION = 16;
+
+    /**
+     * Índice de la posición de los ladrones (el elemento más antiguo) en {@link #contadores}.
+     */
+    private static final int ARRIBA = SEPARACION;
+
+    /**
+     * Índice de la posición del dueño (la siguiente libre) en {@link #contadores}.
+     */
+    private static final int ABAJO = 2 * SEPARACION;
+
+    /**
+     * Arreglo circular actual; solo lo reemplaza el dueño.
+     */
+    private volatile Object[] elementos;
+
+    /**
+     * Contadores de arriba y abajo, rodeados de relleno.
+     */
+    private final long[] contadores = new long[3 * SEPARACION];
+
+    /**
+     * Crea una doble cola vacía con la capacidad inicial por defecto.
+     */
+    public WorkStealingDeque() {
+        this(CAPACIDAD_INICIAL);
+    }
+
+    /**
+     * Crea una doble cola vacía.
+     *
+     * @param capacidad capacidad inicial; se redondea a la siguiente potencia de dos
+     * @throws IllegalArgumentException si la capacidad no es positiva o es demasiado grande
+     */
+    public WorkStealingDeque(int capacidad) {
+        if (capacidad <= 0 || capacidad > (1 << 30)) {
+            throw new IllegalArgumentException("Capacidad no válida: " + capacidad);
+        }
+        int tamano = capacidad == 1 ? 1 : Integer.highestOneBit(capacidad - 1) << 1;
+        elementos = new Object[tamano];
+    }
+
+    /**
+     * Devuelve una estimación del número de elementos. Con hilos concurrentes el
+     * valor puede estar desactualizado en cuanto se devuelve.
+     *
+     * @return cantidad aproximada de elementos
+     */
+    public int size() {
+        long abajo = (long) CONTADOR.getVolatile(contadores, ABAJO);
+        long arriba = (long) CONTADOR.getVolatile(contadores, ARRIBA);
+        return (int) Math.max(0, abajo - arriba);
+    }
+
+    /**
+     * Indica si la doble cola parece vacía (ver {@link #size()}).
+     *
+     * @return {@code true} si no había elementos al consultar
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Agrega un elemento por abajo. Solo lo puede llamar el hilo dueño.
+     *
+     * @param item elemento (no nulo)
+     * @throws IllegalArgumentException si {@code item} es nulo
+     */
+    public void push(T item) {
+        if (item == null) throw new IllegalArgumentException("Elemento null");
+
+        long abajo = (long) CONTADOR.getOpaque(contadores, ABAJO);
+        long arriba = (long) CONTADOR.getAcquire(contadores, ARRIBA);
+        Object[] a = (Object[]) ARREGLO.getOpaque(this);
+        if (abajo - arriba >= a.length) a = crecer(a, arriba, abajo);
+        a[(int) abajo & (a.length - 1)] = item;
+        CONTADOR.setRelease(contadores, ABAJO, abajo + 1);
+    }
+
+    /**
+     * Quita el elemento de abajo, el más reciente. Solo lo puede llamar el hilo dueño.
+     *
+     * @return el elemento, o {@code null} si estaba vacía o un ladrón se llevó el último
+     */
+    public T pop() {
+        long abajo = (long) CONTADOR.getOpaque(contadores, ABAJO) - 1;
+        Object[] a = (Object[]) ARREGLO.getOpaque(this);
+        CONTADOR.setOpaque(contadores, ABAJO, abajo);
+        VarHandle.fullFence();
+        long arriba = (long) CONTADOR.getOpaque(contadores, ARRIBA);
+
+        if (arriba > abajo) {
+            CONTADOR.setOpaque(contadores, ABAJO, abajo + 1);
+            return null;
+        }
+        T item = (T) a[(int) abajo & (a.length - 1)];
+        if (arriba == abajo) {
+            if (!CONTADOR.compareAndSet(contadores, ARRIBA, arriba, arriba + 1)) item = null;
+            CONTADOR.setOpaque(contadores, ABAJO, abajo + 1);
+        }
+        return item;
+    }
+
+    /**
+     * Quita el elemento de arriba, el más antiguo. Lo puede llamar cualquier hilo.
+     *
+     * @return el elemento, o {@code null} si estaba vacía o se perdió la carrera por él
+     */
+    public T steal() {
+        long arriba = (long) CONTADOR.getAcquire(contadores, ARRIBA);
+        VarHandle.fullFence();
+        long abajo = (long) CONTADOR.getAcquire(contadores, ABAJO);
+        if (arriba >= abajo) return null;
+
+        Object[] a = elementos;
+        T item = (T) a[(int) arriba & (a.length - 1)];
+        if (!CONTADOR.compareAndSet(contadores, ARRIBA, arriba, arriba + 1)) return null;
+        return item;
+    }
+
+    /**
+     * Copia los elementos vigentes en un arreglo del doble de tamaño y lo publica.
+     *
+     * @return el arreglo nuevo
+     */
+    private Object[] crecer(Object[] a, long arriba, long abajo) {
+        if (a.length == 1 << 30) throw new IllegalStateException("Capacidad máxima alcanzada");
+        Object[] nuevo = new Object[2 * a.length];
+        for (long i = arriba; i < abajo; i++) {
+            nuevo[(int) i & (nuevo.length - 1)] = a[(int) i & (a.length - 1)];
+        }
+        ARREGLO.setRelease(this, nuevo);
+        return nuevo;
+    }
+}
@@ -0,0 +1,262 @@
+package datastructures.queue;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.IntConsumer;
+
+/**
+ * Planificador mínimo de tareas con robo de trabajo.
+ * <p>
+ * Cada hilo trabajador tiene su propia {@link WorkStealingDeque}. Un trabajo
+ * {@link #forEach(int, IntConsumer)} de {@code n} tareas entra como un solo rango
+ * {@code [0, n)} por una {@link MpmcRingQueue} de entrada, y se reparte por
+ * división perezosa:
+ * <ul>
+ *     <li>El trabajador que toma un rango lo parte por la mitad, deja la mitad
+ *     superior en su doble cola y sigue con la inferior, hasta quedarse con una sola
+ *     tarea, que ejecuta. Después sigue con lo que queda en su doble cola.</li>
+ *     <li>Un trabajador sin tareas roba de otro, elegido al azar, el rango más
+ *     antiguo, que es también el más grande; así los robos son pocos y cada uno se
+ *     lleva mucho trabajo.</li>
+ *     <li>Un trabajador que no encuentra nada espera activamente un momento, cede el
+ *     procesador y, por último, duerme hasta que llega un trabajo nuevo.</li>
+ * </ul>
+ * </p>
+ * <p>
+ * A diferencia de un ejecutor de propósito general, no se crea un {@code Future}
+ * por tarea ni se toma ningún cerrojo: cada tarea cuesta como mucho un objeto
+ * {@code Rango} y un decremento atómico. El hilo que llama a {@code forEach} no
+ * ejecuta tareas; espera dormido a que terminen todas.
+ * </p>
+ */
+public final class WorkStealingScheduler implements AutoCloseable {
+
+    /**
+     * Intentos de espera activa antes de ceder el procesador.
+     */
+    private static final int GIROS = 64;
+
+    /**
+     * Intentos (contando los de espera activa) antes de dormir.
+     */
+    private static final int CESIONES = 128;
+
+    /**
+     * Tiempo máximo que duerme un hilo (un trabajador desocupado o quien espera un
+     * trabajo) antes de volver a comprobar su estado.
+     */
+    private static final long PAUSA_NANOS = 1_000_000;
+
+    /**
+     * Capacidad de la cola de entrada de trabajos.
+     */
+    private static final int CAPACIDAD_ENTRADA = 64;
+
+    /**
+     * Doble cola de cada trabajador.
+     */
+    private final WorkStealingDeque<Rango>[] colas;
+
+    /**
+     * Hilos trabajadores.
+     */
+    private final Thread[] hilos;
+
+    /**
+     * Trabajos enviados desde fuera de los trabajadores.
+     */
+    private final MpmcRingQueue<Rango> entrada = new MpmcRingQueue<>(CAPACIDAD_ENTRADA);
+
+    /**
+     * Número de robos exitosos.
+     */
+    private final AtomicLong robos = new AtomicLong();
+
+    /**
+     * Indica que el planificador se cerró.
+     */
+    private volatile boolean cerrado;
+
+    /**
+     * Crea el planificador e inicia sus hilos.
+     *
+     * @param hilos número de hilos trabajadores
+     * @throws IllegalArgumentException si {@code hilos} no es positivo
+     */
+    @SuppressWarnings("unchecked")
+    public WorkStealingScheduler(int hilos) {
+        if (hilos <= 0) throw new IllegalArgumentException("El número de hilos debe ser positivo");
+
+        colas = new WorkStealingDeque[hilos];
+        for (int i = 0; i < hilos; i++) colas[i] = new WorkStealingDeque<>();
+        this.hilos = new Thread[hilos];
+        for (int i = 0; i < hilos; i++) {
+            int propio = i;
+            this.hilos[i] = Thread.ofPlatform().daemon().name("planificador-", i).start(() -> trabajar(propio));
+        }
+    }
+
+    /**
+     * Devuelve el número de hilos trabajadores.
+     *
+     * @return hilos del planificador
+     */
+    public int parallelism() {
+        return hilos.length;
+    }
+
+    /**
+     * Devuelve el número de robos exitosos desde que se creó el planificador.
+     *
+     * @return rangos robados de otro trabajador
+     */
+    public long steals() {
+        return robos.get();
+    }
+
+    /**
+     * Ejecuta {@code cuerpo.accept(i)} para cada {@code i} de {@code [0, tareas)} en
+     * los hilos del planificador y espera a que terminen todas.
+     * <p>
+     * No debe llamarse desde una tarea del propio planificador: el hilo que llama
+     * no ejecuta tareas, así que podría esperar indefinidamente.
+     * </p>
+     *
+     * @param tareas número de tareas
+     * @param cuerpo trabajo de cada tarea
+     * @throws IllegalArgumentException si {@code tareas} es negativo
+     * @throws IllegalStateException    si el planificador está cerrado
+     * @throws RuntimeException         la primera excepción lanzada por una tarea;
+     *                                  las tareas que no habían empezado se omiten
+     */
+    public void forEach(int tareas, IntConsumer cuerpo) {
+        if (tareas < 0) throw new IllegalArgumentException("Número de tareas negativo: " + tareas);
+        if (cerrado) throw new IllegalStateException("El planificador está cerrado");
+        if (tareas == 0) return;
+
+        Trabajo trabajo = new Trabajo(cuerpo, tareas, Thread.currentThread());
+        Rango rango = new Rango(trabajo, 0, tareas);
+        while (!entrada.offer(rango)) Thread.yield();
+        for (Thread hilo : hilos) LockSupport.unpark(hilo);
+
+        while (trabajo.pendientes.get() > 0) {
+            if (cerrado) throw new IllegalStateException("El planificador se cerró durante el trabajo");
+            LockSupport.parkNanos(this, PAUSA_NANOS);
+        }
+
+        Throwable error = trabajo.error;
+        if (error instanceof RuntimeException e) throw e;
+        if (error instanceof Error e) throw e;
+    }
+
+    /**
+     * Cierra el planificador y espera a que sus hilos terminen la tarea en curso.
+     * Las tareas que no habían empezado se descartan, y los {@code forEach} que
+     * las esperaban lanzan {@link IllegalStateException}.
+     */
+    @Override
+    public void close() {
+        cerrado = true;
+        for (Thread hilo : hilos) LockSupport.unpark(hilo);
+        try {
+            for (Thread hilo : hilos) hilo.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Bucle de un trabajador: ejecuta primero lo propio, después lo que llega por la
+     * entrada y, si no hay nada, roba.
+     */
+    private void trabajar(int propio) {
+        WorkStealingDeque<Rango> cola = colas[propio];
+        int intento = 0;
+        while (!cerrado) {
+            Rango rango = cola.pop();
+            if (rango == null) rango = entrada.poll();
+            if (rango == null) rango = robar(propio);
+            if (rango == null) {
+                if (intento < GIROS) Thread.onSpinWait();
+                else if (intento < CESIONES) Thread.yield();
+                else LockSupport.parkNanos(this, PAUSA_NANOS);
+                intento++;
+                continue;
+            }
+            intento = 0;
+            ejecutar(rango, cola);
+        }
+    }
+
+    /**
+     * Intenta robar un rango de los demás trabajadores, empezando por uno al azar.
+     *
+     * @return el rango robado, o {@code null} si todas las colas parecían vacías
+     */
+    private Rango robar(int propio) {
+        int n = colas.length;
+        if (n == 1) return null;
+        int inicio = ThreadLocalRandom.current().nextInt(n);
+        for (int k = 0; k < n; k++) {
+            int victima = (inicio + k) % n;
+            if (victima == propio) continue;
+            Rango rango = colas[victima].steal();
+            if (rango != null) {
+                robos.incrementAndGet();
+                return rango;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Divide el rango dejando las mitades superiores en la cola propia y ejecuta
+     * la primera tarea.
+     */
+    private static void ejecutar(Rango rango, WorkStealingDeque<Rango> cola) {
+        Trabajo trabajo = rango.trabajo;
+        int desde = rango.desde;
+        int hasta = rango.hasta;
+        while (hasta - desde > 1) {
+            int medio = (desde + hasta) >>> 1;
+            cola.push(new Rango(trabajo, medio, hasta));
+            hasta = medio;
+        }
+
+        if (trabajo.error == null) {
+            try {
+                trabajo.cuerpo.accept(desde);
+            } catch (Throwable e) {
+                synchronized (trabajo) {
+                    if (trabajo.error == null) trabajo.error = e;
+                }
+            }
+        }
+        if (trabajo.pendientes.decrementAndGet() == 0) LockSupport.unpark(trabajo.llamador);
+    }
+
+    /**
+     * Estado compartido por todas las tareas de un {@code forEach}.
+     */
+    private static final class Trabajo {
+
+        private final IntConsumer cuerpo;
+        private final AtomicInteger pendientes;
+        private final Thread llamador;
+        private volatile Throwable error;
+
+        private Trabajo(IntConsumer cuerpo, int tareas, Thread llamador) {
+            this.cuerpo = cuerpo;
+            this.pendientes = new AtomicInteger(tareas);
+            this.llamador = llamador;
+        }
+    }
+
+    /**
+     * Tareas {@code [desde, hasta)} de un trabajo.
+     */
+    private record Rango(Trabajo trabajo, int desde, int hasta) {
+    }
+}
@@ -0,0 +1,231 @@
+package datastructures.sketch;
+
+/**
+ * Resumen Count-Min para estimar frecuencias con memoria fija.
+ * <p>
+ * Mantiene una matriz de {@code profundidad × ancho} contadores. Cada clave se
+ * asigna a una columna por fila mediante funciones hash independientes y su
+ * frecuencia se estima como el mínimo de sus contadores. Las colisiones solo
+ * pueden inflar un contador, nunca reducirlo, así que la estimación nunca es
+ * menor que la frecuencia real y, con probabilidad al menos {@code 1 - δ},
+ * tampoco la supera en más de {@code ε · N}, donde {@code N} es el total de
+ * apariciones agregadas, {@code ε = e / ancho} y {@code δ = e^-profundidad}.
+ * </p>
+ * <p>
+ * Usa actualización conservadora: al sumar, solo se incrementan los contadores
+ * que quedarían por debajo de la nueva estimación. Las garantías son las mismas,
+ * pero el error en la práctica es bastante menor.
+ * </p>
+ * <p>
+ * La memoria es {@code 8 · ancho · profundidad} bytes y no depende de cuántas
+ * claves distintas se agreguen. El ancho no tiene que ser potencia de dos: la
+ * columna se obtiene multiplicando el hash de 32 bits por el ancho y tomando los
+ * 32 bits altos, que cuesta lo mismo que una máscara, así que un presupuesto de
+ * memoria se aprovecha entero.
+ * </p>
+ */
+public class CountMinSketch {
+
+    /**
+     * Número máximo de contadores ({@code ancho · profundidad}).
+     */
+    public static final int MAXIMO_CONTADORES = Integer.MAX_VALUE - 8;
+
+    /**
+     * Número de columnas.
+     */
+    private final int ancho;
+
+    /**
+     * Número de filas, una por función hash.
+     */
+    private final int profundidad;
+
+    /**
+     * Contadores, fila por fila.
+     */
+    private final long[] contadores;
+
+    /**
+     * Suma de todas las cantidades agregadas.
+     */
+    private long total;
+
+    /**
+     * Crea un resumen con las dimensiones indicadas.
+     *
+     * @param ancho       número de columnas
+     * @param profundidad número de filas
+     * @throws IllegalArgumentException si alguna dimensión no es positiva o si la
+     *                                  matriz no cabe en un arreglo
+     */
+    public CountMinSketch(int ancho, int profundidad) {
+        if (ancho <= 0 || profundidad <= 0) {
+            throw new IllegalArgumentException("Las dimensiones deben ser positivas");
+        }
+        if ((long) ancho * profundidad > MAXIMO_CONTADORES) {
+            throw new IllegalArgumentException("Demasiados contadores: " + ancho + " × " + profundidad);
+        }
+        this.ancho = ancho;
+        this.profundidad = profundidad;
+        this.contadores = new long[ancho * profundidad];
+    }
+
+    /**
+     * Crea el resumen más pequeño que garantiza un error relativo {@code epsilon}
+     * con probabilidad de fallo {@code delta}.
+     *
+     * @param epsilon error máximo, como fracción del total
+     * @param delta   probabilidad de superar ese error
+     * @return un resumen vacío
+     * @throws IllegalArgumentException si los parámetros no están en {@code (0, 1)}
+     */
+    public static CountMinSketch withError(double epsilon, double delta) {
+        if (!(epsilon > 0 && epsilon < 1) || !(delta > 0 && delta < 1)) {
+            throw new IllegalArgumentException("epsilon y delta deben estar entre 0 y 1");
+        }
+        int ancho = (int) Math.ceil(Math.E / epsilon);
+        int profundidad = (int) Math.ceil(Math.log(1 / delta));
+        return new CountMinSketch(ancho, profundidad);
+    }
+
+    /**
+     * Agrega una aparición de la clave.
+     *
+     * @param key la clave
+     * @return la nueva estimación de la frecuencia de la clave
+     */
+    public long add(String key) {
+        return addHash(Hash64.de(key), 1);
+    }
+
+    /**
+     * Agrega {@code cantidad} apariciones de la clave.
+     *
+     * @param key      la clave
+     * @param cantidad número de apariciones (no negativo)
+     * @return la nueva estimación de la frecuencia de la clave
+     */
+    public long add(String key, long cantidad) {
+        return addHash(Hash64.de(key), cantidad);
+    }
+
+    /**
+     * Agrega apariciones de una clave de la que ya se conoce el hash de 64 bits.
+     *
+     * @param hash     hash de la clave
+     * @param cantidad número de apariciones (no negativo)
+     * @return la nueva estimación de la frecuencia de la clave
+     * @throws IllegalArgumentException si la cantidad es negativa
+     */
+    public long addHash(long hash, long cantidad) {
+        if (cantidad < 0) throw new IllegalArgumentException("La cantidad no puede ser negativa");
+
+        total += cantidad;
+        long estimacion = estimateHash(hash) + cantidad;
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        for (int fila = 0; fila < profundidad; fila++) {
+            int i = fila * ancho + columna(h1 + fila * h2);
+            if (contadores[i] < estimacion) contadores[i] = estimacion;
+        }
+        return estimacion;
+    }
+
+    /**
+     * Estima la frecuencia de una clave.
+     *
+     * @param key la clave
+     * @return una estimación mayor o igual que la frecuencia real
+     */
+    public long estimate(String key) {
+        return estimateHash(Hash64.de(key));
+    }
+
+    /**
+     * Estima la frecuencia de una clave a partir de su hash de 64 bits.
+     *
+     * @param hash hash de la clave
+     * @return una estimación mayor o igual que la frecuencia real
+     */
+    public long estimateHash(long hash) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        long minimo = Long.MAX_VALUE;
+        for (int fila = 0; fila < profundidad; fila++) {
+            minimo = Math.min(minimo, contadores[fila * ancho + columna(h1 + fila * h2)]);
+        }
+        return minimo;
+    }
+
+    /**
+     * Lleva un hash de 32 bits al rango {@code [0, ancho)}, usando sus bits altos.
+     */
+    private int columna(int h) {
+        return (int) (((h & 0xFFFFFFFFL) * ancho) >>> 32);
+    }
+
+    /**
+     * Devuelve la suma de todas las cantidades agregadas.
+     *
+     * @return total agregado
+     */
+    public long total() {
+        return total;
+    }
+
+    /**
+     * Devuelve el error relativo garantizado, {@code e / ancho}.
+     *
+     * @return epsilon
+     */
+    public double epsilon() {
+        return Math.E / ancho;
+    }
+
+    /**
+     * Devuelve la probabilidad de superar el error garantizado, {@code e^-profundidad}.
+     *
+     * @return delta
+     */
+    public double delta() {
+        return Math.exp(-profundidad);
+    }
+
+    /**
+     * Devuelve la sobreestimación máxima actual, {@code ε · N}, que se cumple con
+     * probabilidad al menos {@code 1 - δ}.
+     *
+     * @return cota del error absoluto
+     */
+    public long errorBound() {
+        return (long) Math.ceil(epsilon() * total);
+    }
+
+    /**
+     * Devuelve la memoria ocupada por los contadores.
+     *
+     * @return bytes
+     */
+    public long memoryBytes() {
+        return (long) contadores.length * Long.BYTES;
+    }
+
+    /**
+     * Devuelve el número de columnas.
+     *
+     * @return ancho
+     */
+    public int width() {
+        return ancho;
+    }
+
+    /**
+     * Devuelve el número de filas.
+     *
+     * @return profundidad
+     */
+    public int depth() {
+        return profundidad;
+    }
+}
@@ -0,0 +1,52 @@
+package datastructures.sketch;
+
+/**
+ * Hash de 64 bits para las claves de los resúmenes probabilísticos.
+ * <p>
+ * {@link String#hashCode()} solo tiene 32 bits y distribuye mal las cadenas cortas
+ * parecidas, lo que sesgaría los estimadores. Este hash recorre los caracteres
+ * con FNV-1a de 64 bits y mezcla el resultado con el finalizador de MurmurHash3,
+ * de modo que cualquier bit de la clave afecta a todos los bits del hash.
+ * </p>
+ * <p>
+ * Cuando la misma clave se agrega a varios resúmenes, conviene calcular el hash una
+ * sola vez y usar los métodos {@code addHash} de cada uno.
+ * </p>
+ */
+public final class Hash64 {
+
+    private static final long BASE_FNV = 0xcbf29ce484222325L;
+    private static final long PRIMO_FNV = 0x100000001b3L;
+
+    private Hash64() {
+    }
+
+    /**
+     * Calcula el hash de una secuencia de caracteres.
+     *
+     * @param clave la clave
+     * @return hash de 64 bits
+     */
+    public static long de(CharSequence clave) {
+        long h = BASE_FNV;
+        for (int i = 0; i < clave.length(); i++) {
+            h = (h ^ clave.charAt(i)) * PRIMO_FNV;
+        }
+        return mezclar(h);
+    }
+
+    /**
+     * Finalizador de MurmurHash3 para 64 bits.
+     *
+     * @param h valor a mezclar
+     * @return valor mezclado
+     */
+    public static long mezclar(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,334 @@
+package datastructures.trie;
+
+import datastructures.list.List;
+
+import java.util.Arrays;
+
+/**
+ * Trie ternario de búsqueda (TST) que asocia cada palabra con un conteo entero
+ * y responde consultas por prefijo.
+ * <p>
+ * Cada nodo guarda un carácter y tres enlaces: a los caracteres menores y mayores
+ * en la misma posición ({@code izquierdo} y {@code derecho}) y al siguiente
+ * carácter de la palabra ({@code medio}). Además del conteo de la palabra que
+ * termina en él, cada nodo mantiene dos agregados de todo su subárbol: la suma de
+ * conteos y el número de palabras distintas. Como toda palabra insertada está en
+ * el subárbol de cada nodo que se visita para llegar a ella, basta con actualizar
+ * los nodos del camino al insertar.
+ * </p>
+ * <p>
+ * Así, {@link #countWithPrefix(String)} y {@link #keysWithPrefixCount(String)}
+ * solo recorren el prefijo: cuestan O(|P| + log σ) comparaciones, donde σ es el
+ * tamaño del alfabeto, sin importar cuántas palabras lo compartan.
+ * </p>
+ * <p>
+ * Los nodos se guardan en arreglos paralelos de enteros (el nodo {@code 0}
+ * representa el enlace nulo), de modo que no se crea un objeto por nodo. Para que
+ * el árbol quede equilibrado conviene insertar las palabras en un orden que no sea
+ * el alfabético; el orden de una tabla hash sirve.
+ * </p>
+ */
+public class TernarySearchTrie {
+
+    /**
+     * Capacidad inicial de los arreglos de nodos.
+     */
+    private static final int CAPACIDAD_INICIAL = 64;
+
+    /**
+     * Carácter de cada nodo.
+     */
+    private char[] caracter;
+
+    /**
+     * Enlaces a los nodos con carácter menor, siguiente y mayor.
+     */
+    private int[] izquierdo, medio, derecho;
+
+    /**
+     * Conteo de la palabra que termina en cada nodo ({@code 0} si ninguna).
+     */
+    private int[] conteo;
+
+    /**
+     * Suma de los conteos del subárbol de cada nodo, incluido el propio.
+     */
+    private long[] ocurrencias;
+
+    /**
+     * Número de palabras que terminan en el subárbol de cada nodo, incluido el propio.
+     */
+    private int[] distintas;
+
+    /**
+     * Número de nodos usados más uno (el nodo {@code 0} no se usa).
+     */
+    private int nodos = 1;
+
+    /**
+     * Raíz del árbol, o {@code 0} si está vacío.
+     */
+    private int raiz;
+
+    /**
+     * Camino reutilizable de la última inserción.
+     */
+    private int[] camino = new int[32];
+
+    /**
+     * Crea un trie vacío.
+     */
+    public TernarySearchTrie() {
+        this(CAPACIDAD_INICIAL);
+    }
+
+    /**
+     * Crea un trie vacío con espacio para {@code capacidad} nodos sin redimensionar.
+     *
+     * @param capacidad número de nodos esperado (a lo sumo, el total de caracteres
+     *                  de las palabras distintas)
+     */
+    public TernarySearchTrie(int capacidad) {
+        capacidad = Math.max(capacidad, 1) + 1;
+        caracter = new char[capacidad];
+        izquierdo = new int[capacidad];
+        medio = new int[capacidad];
+        derecho = new int[capacidad];
+        conteo = new int[capacidad];
+        ocurrencias = new long[capacidad];
+        distintas = new int[capacidad];
+    }
+
+    /**
+     * Devuelve el número de palabras distintas.
+     *
+     * @return cantidad de palabras
+     */
+    public int size() {
+        return raiz == 0 ? 0 : distintas[raiz];
+    }
+
+    /**
+     * Indica si el trie está vacío.
+     *
+     * @return {@code true} si no contiene palabras
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Devuelve la suma de los conteos de todas las palabras.
+     *
+     * @return total de ocurrencias
+     */
+    public long total() {
+        return raiz == 0 ? 0 : ocurrencias[raiz];
+    }
+
+    /**
+     * Suma uno al conteo de la palabra, insertándola si no existía.
+     *
+     * @param key palabra a contar
+     * @return el nuevo conteo de la palabra
+     */
+    public int increment(String key) {
+        return add(key, 1);
+    }
+
+    /**
+     * Suma {@code delta} al conteo de la palabra, insertándola si no existía, y
+     * actualiza los agregados de todos los nodos del camino.
+     *
+     * @param key   palabra a actualizar (no vacía)
+     * @param delta cantidad a sumar (positiva)
+     * @return el nuevo conteo de la palabra
+     * @throws IllegalArgumentException si la palabra es nula o vacía, o si
+     *                                  {@code delta} no es positivo
+     */
+    public int add(String key, int delta) {
+        if (key == null || key.isEmpty()) throw new IllegalArgumentException("La clave no puede ser nula ni vacía");
+        if (delta <= 0) throw new IllegalArgumentException("delta debe ser positivo");
+
+        if (raiz == 0) raiz = nuevoNodo(key.charAt(0));
+
+        int largo = 0;
+        int x = raiz;
+        int d = 0;
+        while (true) {
+            if (largo == camino.length) camino = Arrays.copyOf(camino, 2 * largo);
+            camino[largo++] = x;
+
+            char c = key.charAt(d);
+            if (c < caracter[x]) {
+                if (izquierdo[x] == 0) {
+                    int y = nuevoNodo(c);
+                    izquierdo[x] = y;
+                }
+                x = izquierdo[x];
+            } else if (c > caracter[x]) {
+                if (derecho[x] == 0) {
+                    int y = nuevoNodo(c);
+                    derecho[x] = y;
+                }
+                x = derecho[x];
+            } else if (d < key.length() - 1) {
+                d++;
+                if (medio[x] == 0) {
+                    int y = nuevoNodo(key.charAt(d));
+                    medio[x] = y;
+                }
+                x = medio[x];
+            } else {
+                break;
+            }
+        }
+
+        int nueva = conteo[x] == 0 ? 1 : 0;
+        conteo[x] += delta;
+        for (int i = 0; i < largo; i++) {
+            ocurrencias[camino[i]] += delta;
+            distintas[camino[i]] += nueva;
+        }
+        return conteo[x];
+    }
+
+    /**
+     * Devuelve el conteo de una palabra.
+     *
+     * @param key palabra a buscar
+     * @return el conteo, o {@code 0} si no está
+     */
+    public int get(String key) {
+        if (key == null) throw new IllegalArgumentException("Key null");
+        if (key.isEmpty()) return 0;
+        int x = buscar(key);
+        return x == 0 ? 0 : conteo[x];
+    }
+
+    /**
+     * Indica si la palabra está en el trie.
+     *
+     * @param key palabra a buscar
+     * @return {@code true} si tiene un conteo asociado
+     */
+    public boolean contains(String key) {
+        return get(key) > 0;
+    }
+
+    /**
+     * Devuelve la suma de los conteos de las palabras que empiezan por {@code prefix}
+     * (incluida la propia palabra {@code prefix}, si existe).
+     *
+     * @param prefix prefijo; el prefijo vacío corresponde a todas las palabras
+     * @return total de ocurrencias con ese prefijo
+     */
+    public long countWithPrefix(String prefix) {
+        if (prefix == null) throw new IllegalArgumentException("Prefix null");
+        if (prefix.isEmpty()) return total();
+        int x = buscar(prefix);
+        if (x == 0) return 0;
+        return conteo[x] + ocurrencias[medio[x]];
+    }
+
+    /**
+     * Devuelve el número de palabras distintas que empiezan por {@code prefix}
+     * (incluida la propia palabra {@code prefix}, si existe).
+     *
+     * @param prefix prefijo; el prefijo vacío corresponde a todas las palabras
+     * @return número de palabras con ese prefijo
+     */
+    public int keysWithPrefixCount(String prefix) {
+        if (prefix == null) throw new IllegalArgumentException("Prefix null");
+        if (prefix.isEmpty()) return size();
+        int x = buscar(prefix);
+        if (x == 0) return 0;
+        return (conteo[x] > 0 ? 1 : 0) + distintas[medio[x]];
+    }
+
+    /**
+     * Devuelve las palabras que empiezan por {@code prefix}, en orden ascendente.
+     *
+     * @param prefix prefijo; el prefijo vacío corresponde a todas las palabras
+     * @return lista de palabras con ese prefijo
+     */
+    public List<String> keysWithPrefix(String prefix) {
+        if (prefix == null) throw new IllegalArgumentException("Prefix null");
+        List<String> resultado = new List<>();
+        StringBuilder actual = new StringBuilder(prefix);
+        if (prefix.isEmpty()) {
+            recolectar(raiz, actual, resultado);
+            return resultado;
+        }
+
+        int x = buscar(prefix);
+        if (x == 0) return resultado;
+        if (conteo[x] > 0) resultado.addLast(prefix);
+        recolectar(medio[x], actual, resultado);
+        return resultado;
+    }
+
+    /**
+     * Devuelve la memoria aproximada ocupada por los arreglos de nodos.
+     *
+     * @return bytes
+     */
+    public long memoryBytes() {
+        return (long) caracter.length * (Character.BYTES + 5L * Integer.BYTES + Long.BYTES);
+    }
+
+    /**
+     * Busca el nodo donde termina {@code key} (no vacía).
+     *
+     * @return el nodo, o {@code 0} si ninguna palabra tiene ese prefijo
+     */
+    private int buscar(String key) {
+        int x = raiz;
+        int d = 0;
+        while (x != 0) {
+            char c = key.charAt(d);
+            if (c < caracter[x]) x = izquierdo[x];
+            else if (c > caracter[x]) x = derecho[x];
+            else if (d < key.length() - 1) {
+                d++;
+                x = medio[x];
+            } else return x;
+        }
+        return 0;
+    }
+
+    /**
+     * Agrega a {@code resultado}, en orden, las palabras del subárbol de {@code x},
+     * donde {@code actual} contiene los caracteres anteriores a {@code x}.
+     */
+    private void recolectar(int x, StringBuilder actual, List<String> resultado) {
+        if (x == 0) return;
+        recolectar(izquierdo[x], actual, resultado);
+        actual.append(caracter[x]);
+        if (conteo[x] > 0) resultado.addLast(actual.toString());
+        recolectar(medio[x], actual, resultado);
+        actual.setLength(actual.length() - 1);
+        recolectar(derecho[x], actual, resultado);
+    }
+
+    /**
+     * Crea un nodo con el carácter indicado, redimensionando los arreglos si hace falta.
+     *
+     * @param c carácter del nodo
+     * @return el número del nodo
+     */
+    private int nuevoNodo(char c) {
+        if (nodos == caracter.length) {
+            int capacidad = 2 * caracter.length;
+            caracter = Arrays.copyOf(caracter, capacidad);
+            izquierdo = Arrays.copyOf(izquierdo, capacidad);
+            medio = Arrays.copyOf(medio, capacidad);
+            derecho = Arrays.copyOf(derecho, capacidad);
+            conteo = Arrays.copyOf(conteo, capacidad);
+            ocurrencias = Arrays.copyOf(ocurrencias, capacidad);
+            distintas = Arrays.copyOf(distintas, capacidad);
+        }
+        caracter[nodos] = c;
+        return nodos++;
+    }
+}
@@ -31,6 +31,18 @@
  *
  * // Seleccionar un libro del menú
  * // El sistema procesará el archivo y mostrará las estadísticas
+ *
+ * // Modo lote: todos los .txt de un directorio, hasta 4 archivos a la vez
+ * java Main -j 4 books
+ *
+ * // Modo lote repartido entre 2 procesos trabajadores de la JVM
+ * java Main -p 2 books
+ *
+ * // Flujo continuo desde la entrada estándar, con instantáneas periódicas
+ * cat books/*.txt | java Main -
+ *
+ * // Conteo aproximado de la entrada estándar con memoria fija
+ * cat books/*.txt | java Main -a -
  * }</pre>
  *
  * @see Main
@@ -0,0 +1,496 @@
+package text;
+
+import datastructures.hashtables.LinearProbingHashST;
+import datastructures.list.List;
+import datastructures.priorityqueue.IndexMinPQ;
+import datastructures.sketch.CountMinSketch;
+import datastructures.sketch.Hash64;
+import datastructures.sketch.HyperLogLog;
+import utils.WordTokenizer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.Consumer;
+
+/**
+ * Analizador aproximado de frecuencia de palabras con memoria fija.
+ * <p>
+ * Ofrece las mismas estadísticas que {@link WordCounter}, pero en lugar de una
+ * tabla con todas las palabras, que crece sin límite con el vocabulario, usa
+ * resúmenes probabilísticos de tamaño fijo:
+ * <ul>
+ *   <li>Un {@link CountMinSketch} estima la frecuencia de cualquier palabra, con
+ *   una sobreestimación acotada.</li>
+ *   <li>Un {@link HyperLogLog} estima el número de palabras diferentes, con un
+ *   error relativo acotado.</li>
+ *   <li>Una {@link IndexMinPQ} de tamaño fijo conserva las palabras candidatas a
+ *   ser las más frecuentes.</li>
+ * </ul>
+ * El total de palabras, la primera y la última palabra y el conteo por letra
+ * inicial siguen siendo exactos, porque ocupan memoria constante.
+ * </p>
+ * <p>
+ * El número de palabras repetidas (las que aparecen más de una vez) no se
+ * estima. Decidir si una palabra se repite exige distinguir una frecuencia de 1
+ * de una de 2, pero la cota de error del Count-Min Sketch, {@code ε · N}, supera
+ * 1 en cuanto el texto tiene algo más que unas pocas palabras, así que cualquier
+ * palabra vista una vez podría contarse como repetida. Para dar una cota útil
+ * habría que recordar qué palabras ya aparecieron, que es justamente la memoria
+ * proporcional al vocabulario que esta clase evita.
+ * </p>
+ * <p>
+ * La memoria no depende del tamaño del texto, así que permite procesar flujos de
+ * longitud indefinida con un límite estricto. {@link #mostrarEstadisticas()}
+ * muestra cada valor aproximado junto con su cota de error.
+ * </p>
+ */
+
+public class ApproximateWordCounter {
+
+    /**
+     * Cantidad de caracteres leídos en cada bloque.
+     */
+    private static final int TAMANO_BLOQUE = 16 * 1024;
+
+    /**
+     * Filas del Count-Min Sketch al repartir un presupuesto de memoria
+     * (probabilidad de superar la cota de error: e^-4, menos del 2%).
+     */
+    private static final int PROFUNDIDAD_POR_DEFECTO = 4;
+
+    /**
+     * Fracción del presupuesto de memoria asignada al HyperLogLog (1/16).
+     */
+    private static final int FRACCION_HLL = 16;
+
+    /**
+     * Palabras frecuentes que se conservan por defecto.
+     */
+    private static final int FRECUENTES_POR_DEFECTO = 10;
+
+    /**
+     * Estimador de frecuencias.
+     */
+    private final CountMinSketch frecuencias;
+
+    /**
+     * Estimador de palabras diferentes.
+     */
+    private final HyperLogLog diferentes;
+
+    /**
+     * Memoria solicitada para los resúmenes, o {@code 0} si se recibieron ya creados.
+     */
+    private final long presupuestoBytes;
+
+    /**
+     * Número máximo de palabras candidatas a más frecuentes.
+     */
+    private final int capacidadFrecuentes;
+
+    /**
+     * Candidatas a más frecuentes; la mínima es la primera en descartarse.
+     */
+    private final IndexMinPQ<Candidata> frecuentes;
+
+    /**
+     * Índice de cada candidata dentro de {@link #frecuentes}.
+     */
+    private final LinearProbingHashST<String, Integer> posiciones;
+
+    /**
+     * Conteo de palabras por letra inicial (a-z).
+     */
+    private final long[] conteoIniciales = new long[26];
+
+    /**
+     * La primera palabra encontrada.
+     */
+    private String primeraPalabra;
+
+    /**
+     * La última palabra encontrada.
+     */
+    private String ultimaPalabra;
+
+    /**
+     * Número total de palabras procesadas.
+     */
+    private long totalPalabras;
+
+    /**
+     * Crea un analizador que usa a lo sumo {@code memoriaBytes} bytes para sus
+     * resúmenes.
+     * <p>
+     * Un dieciseisavo de la memoria (entre 16 bytes y 64 KB) se asigna al
+     * HyperLogLog; el resto, a un Count-Min Sketch de
+     * {@value #PROFUNDIDAD_POR_DEFECTO} filas tan ancho como quepa, de modo que la
+     * memoria usada queda a menos de una columna del presupuesto. Se conservan
+     * {@value #FRECUENTES_POR_DEFECTO} palabras frecuentes.
+     * </p>
+     *
+     * @param memoriaBytes memoria máxima de los resúmenes
+     * @throws IllegalArgumentException si la memoria es menor que 1 KB
+     */
+
+    public ApproximateWordCounter(long memoriaBytes) {
+        this(crearSketch(memoriaBytes), crearHll(memoriaBytes), FRECUENTES_POR_DEFECTO, memoriaBytes);
+    }
+
+    /**
+     * Crea un analizador con los resúmenes indicados.
+     *
+     * @param frecuencias resumen donde se estiman las frecuencias
+     * @param diferentes  estimador de palabras diferentes
+     * @param frecuentes  número de palabras frecuentes a conservar
+     * @throws IllegalArgumentException si {@code frecuentes} no es positivo
+     */
+
+    public ApproximateWordCounter(CountMinSketch frecuencias, HyperLogLog diferentes, int frecuentes) {
+        this(frecuencias, diferentes, frecuentes, 0);
+    }
+
+    /**
+     * Crea un analizador con los resúmenes indicados y recuerda el presupuesto del
+     * que se dedujeron, para informarlo junto a la memoria usada.
+     */
+    private ApproximateWordCounter(CountMinSketch frecuencias, HyperLogLog diferentes, int frecuentes, long presupuestoBytes) {
+        if (frecuentes <= 0) throw new IllegalArgumentException("Debe conservarse al menos una palabra frecuente");
+        this.frecuencias = frecuencias;
+        this.diferentes = diferentes;
+        this.presupuestoBytes = presupuestoBytes;
+        this.capacidadFrecuentes = frecuentes;
+        this.frecuentes = new IndexMinPQ<>(frecuentes);
+        this.posiciones = new LinearProbingHashST<>(4 * frecuentes);
+    }
+
+    /**
+     * Calcula la precisión del HyperLogLog para un presupuesto de memoria.
+     */
+    private static int precisionHll(long memoriaBytes) {
+        if (memoriaBytes < 1024) throw new IllegalArgumentException("Se necesita al menos 1 KB de memoria");
+        int bits = 63 - Long.numberOfLeadingZeros(memoriaBytes / FRACCION_HLL);
+        return Math.max(HyperLogLog.PRECISION_MINIMA, Math.min(16, bits));
+    }
+
+    private static HyperLogLog crearHll(long memoriaBytes) {
+        return new HyperLogLog(precisionHll(memoriaBytes));
+    }
+
+    private static CountMinSketch crearSketch(long memoriaBytes) {
+        long restante = memoriaBytes - (1L << precisionHll(memoriaBytes));
+        long ancho = restante / ((long) Long.BYTES * PROFUNDIDAD_POR_DEFECTO);
+        return new CountMinSketch((int) Math.min(ancho, CountMinSketch.MAXIMO_CONTADORES / PROFUNDIDAD_POR_DEFECTO),
+                PROFUNDIDAD_POR_DEFECTO);
+    }
+
+    /**
+     * Lee y procesa un archivo de texto por bloques de caracteres.
+     * <p>
+     * Si ocurre un error de E/S durante la lectura del archivo, se imprime un mensaje
+     * de error en la consola.
+     * </p>
+     *
+     * @param ruta la ruta del archivo de texto a procesar
+     */
+
+    public void procesarArchivo(Path ruta) {
+        try (BufferedReader br = Files.newBufferedReader(ruta)) {
+            procesar(br);
+        } catch (IOException e) {
+            System.out.println("No se pudo leer el archivo: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Lee y procesa un flujo de texto hasta que se agota.
+     * <p>
+     * Si ocurre un error de E/S durante la lectura, se imprime un mensaje de error
+     * en la consola.
+     * </p>
+     *
+     * @param lector el flujo de caracteres a procesar
+     */
+
+    public void procesarFlujo(Reader lector) {
+        try {
+            procesar(lector);
+        } catch (IOException e) {
+            System.out.println("No se pudo leer el flujo: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Lee y procesa un flujo de bytes codificado en UTF-8 hasta que se agota.
+     *
+     * @param entrada el flujo de bytes a procesar
+     * @see #procesarFlujo(Reader)
+     */
+
+    public void procesarFlujo(InputStream entrada) {
+        procesarFlujo(new InputStreamReader(entrada, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Lee un flujo por bloques y registra cada palabra.
+     */
+    private void procesar(Reader lector) throws IOException {
+        WordTokenizer tokenizador = new WordTokenizer();
+        Consumer<String> registrar = this::agregarPalabra;
+        char[] bloque = new char[TAMANO_BLOQUE];
+        int leidos;
+        while ((leidos = lector.read(bloque)) != -1) {
+            tokenizador.alimentar(bloque, 0, leidos, registrar);
+        }
+        tokenizador.terminar(registrar);
+    }
+
+    /**
+     * Registra una palabra ya normalizada. Las palabras nulas o vacías se ignoran.
+     *
+     * @param palabra la palabra a registrar
+     */
+
+    void agregarPalabra(String palabra) {
+        if (palabra == null || palabra.isEmpty()) return;
+
+        totalPalabras++;
+        if (primeraPalabra == null) primeraPalabra = palabra;
+        ultimaPalabra = palabra;
+
+        char c = palabra.charAt(0);
+        if (c >= 'a' && c <= 'z') {
+            conteoIniciales[c - 'a']++;
+        }
+
+        long hash = Hash64.de(palabra);
+        diferentes.addHash(hash);
+        actualizarFrecuentes(palabra, hash, frecuencias.addHash(hash, 1));
+    }
+
+    /**
+     * Actualiza las candidatas a más frecuentes con la nueva estimación de una palabra.
+     * <p>
+     * Las estimaciones guardadas en la cola solo se refrescan cuando hace falta: como
+     * nunca disminuyen, una estimación guardada es una cota inferior de la actual.
+     * Si la palabra no supera a la candidata mínima guardada (el caso habitual), no
+     * se hace nada más; si la supera, se refresca la mínima antes de decidir si la
+     * reemplaza.
+     * </p>
+     */
+    private void actualizarFrecuentes(String palabra, long hash, long estimacion) {
+        if (frecuentes.size() < capacidadFrecuentes) {
+            if (!posiciones.contains(palabra)) {
+                int i = frecuentes.size();
+                posiciones.put(palabra, i);
+                frecuentes.insert(i, new Candidata(palabra, hash, estimacion));
+            }
+            return;
+        }
+
+        if (estimacion < frecuentes.minKey().veces) return;
+        if (posiciones.contains(palabra)) return;
+
+        while (true) {
+            Candidata minima = frecuentes.minKey();
+            long actual = frecuencias.estimateHash(minima.hash);
+            if (actual == minima.veces) break;
+            frecuentes.changeKey(frecuentes.minIndex(), new Candidata(minima.palabra, minima.hash, actual));
+        }
+
+        Candidata nueva = new Candidata(palabra, hash, estimacion);
+        Candidata minima = frecuentes.minKey();
+        if (nueva.compareTo(minima) > 0) {
+            int i = frecuentes.minIndex();
+            posiciones.delete(minima.palabra);
+            posiciones.put(palabra, i);
+            frecuentes.changeKey(i, nueva);
+        }
+    }
+
+    /**
+     * Devuelve el número total de palabras procesadas (exacto).
+     *
+     * @return total de palabras
+     */
+
+    public long totalPalabras() {
+        return totalPalabras;
+    }
+
+    /**
+     * Estima el número de palabras diferentes.
+     *
+     * @return la estimación
+     * @see #errorPalabrasDiferentes()
+     */
+
+    public long palabrasDiferentes() {
+        return diferentes.estimate();
+    }
+
+    /**
+     * Devuelve el error estándar relativo de {@link #palabrasDiferentes()}.
+     *
+     * @return error estándar como fracción de la estimación
+     */
+
+    public double errorPalabrasDiferentes() {
+        return diferentes.relativeStandardError();
+    }
+
+    /**
+     * Estima la frecuencia de una palabra.
+     * <p>
+     * La estimación nunca es menor que la frecuencia real y, con probabilidad
+     * {@code 1 - δ}, no la supera en más de {@link #errorFrecuencia()}.
+     * </p>
+     *
+     * @param palabra la palabra, ya normalizada
+     * @return la estimación de su frecuencia
+     */
+
+    public long estimarFrecuencia(String palabra) {
+        return frecuencias.estimate(palabra);
+    }
+
+    /**
+     * Devuelve la sobreestimación máxima de {@link #estimarFrecuencia(String)}.
+     *
+     * @return cota del error absoluto
+     */
+
+    public long errorFrecuencia() {
+        return frecuencias.errorBound();
+    }
+
+    /**
+     * Devuelve la memoria ocupada por los resúmenes de tamaño fijo.
+     *
+     * @return bytes
+     */
+
+    public long memoriaBytes() {
+        return frecuencias.memoryBytes() + diferentes.memoryBytes();
+    }
+
+    /**
+     * Devuelve la memoria solicitada al crear el analizador con
+     * {@link #ApproximateWordCounter(long)}.
+     *
+     * @return bytes, o {@code 0} si los resúmenes se recibieron ya creados
+     */
+
+    public long presupuestoBytes() {
+        return presupuestoBytes;
+    }
+
+    /**
+     * Devuelve las palabras candidatas a más frecuentes, de mayor a menor frecuencia
+     * estimada.
+     * <p>
+     * Una palabra cuya frecuencia real supere la cota de error del Count-Min Sketch
+     * aparece en la lista con alta probabilidad si es de las más frecuentes. Las
+     * frecuencias son estimaciones, con la misma cota de error que
+     * {@link #estimarFrecuencia(String)}.
+     * </p>
+     *
+     * @return una lista con hasta el número de palabras frecuentes configurado
+     */
+
+    public List<Frecuencia> palabrasFrecuentes() {
+        IndexMinPQ<Candidata> ordenadas = new IndexMinPQ<>(capacidadFrecuentes);
+        int n = 0;
+        for (int i = 0; i < capacidadFrecuentes; i++) {
+            if (!frecuentes.contains(i)) continue;
+            Candidata c = frecuentes.keyOf(i);
+            ordenadas.insert(n++, new Candidata(c.palabra, c.hash, frecuencias.estimateHash(c.hash)));
+        }
+
+        Frecuencia[] resultado = new Frecuencia[n];
+        for (int i = n - 1; i >= 0; i--) {
+            Candidata c = ordenadas.minKey();
+            resultado[i] = new Frecuencia(c.palabra, (int) Math.min(c.veces, Integer.MAX_VALUE));
+            ordenadas.delMin();
+        }
+
+        List<Frecuencia> lista = new List<>();
+        for (Frecuencia frecuencia : resultado) {
+            lista.addLast(frecuencia);
+        }
+        return lista;
+    }
+
+    /**
+     * Muestra en consola un resumen de las estadísticas, con la cota de error de
+     * cada valor aproximado.
+     * <p>
+     * Para el número de palabras diferentes se muestra un intervalo de dos errores
+     * estándar (alrededor del 95% de confianza). Para las frecuencias se muestra la
+     * sobreestimación máxima y la probabilidad con que se cumple. El número de
+     * palabras repetidas no se muestra, por lo explicado en la descripción de la clase.
+     * </p>
+     */
+
+    public void mostrarEstadisticas() {
+        System.out.println("\n========================================");
+        System.out.println("       RESULTADOS (APROXIMADOS)");
+        System.out.println("========================================");
+        System.out.println("Total de palabras: " + totalPalabras);
+
+        long estimadas = palabrasDiferentes();
+        double error = errorPalabrasDiferentes();
+        System.out.printf("Palabras diferentes: ~%d (± %d, 95%%; error estándar %.2f%%)%n",
+                estimadas, Math.round(2 * error * estimadas), 100 * error);
+        System.out.println("Palabras repetidas: no disponible en el conteo aproximado");
+
+        System.out.println("Primera palabra: " + primeraPalabra);
+        System.out.println("Ultima palabra: " + ultimaPalabra);
+
+        List<Frecuencia> top = palabrasFrecuentes();
+        double confianza = 100 * (1 - frecuencias.delta());
+        if (top.isEmpty()) {
+            System.out.println("Palabra más frecuente: null (0 veces)");
+        } else {
+            Frecuencia primera = top.getFirst();
+            System.out.printf("Palabra más frecuente: %s (~%d veces, sobreestimación ≤ %d con prob. %.1f%%)%n",
+                    primera.palabra(), primera.veces(), errorFrecuencia(), confianza);
+        }
+
+        System.out.println("\nPalabras más frecuentes (estimadas):");
+        int posicion = 1;
+        for (Frecuencia frecuencia : top) {
+            System.out.printf("%3d. %s (~%d veces)%n", posicion++, frecuencia.palabra(), frecuencia.veces());
+        }
+
+        System.out.printf("%nMemoria de los resúmenes: %d bytes", memoriaBytes());
+        if (presupuestoBytes > 0) System.out.printf(" de %d solicitados", presupuestoBytes);
+        System.out.printf(" (Count-Min %d×%d, HyperLogLog p=%d)%n",
+                frecuencias.depth(), frecuencias.width(), diferentes.precision());
+
+        System.out.println("\nConteo por letra inicial:");
+        for (int i = 0; i < 26; i++)
+            if (conteoIniciales[i] > 0) {
+                System.out.printf("%c: %d%n", (char) ('A' + i), conteoIniciales[i]);
+            }
+    }
+
+    /**
+     * Palabra candidata a más frecuente, con su hash y su última estimación.
+     * Se ordena como {@link Frecuencia}.
+     */
+    private record Candidata(String palabra, long hash, long veces) implements Comparable<Candidata> {
+
+        @Override
+        public int compareTo(Candidata otra) {
+            if (veces != otra.veces) return Long.compare(veces, otra.veces);
+            return otra.palabra.compareTo(palabra);
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package text;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+/**
+ * Caché persistente en disco de los resultados de {@link WordCounter}.
+ * <p>
+ * Cada archivo analizado se identifica por su huella: ruta absoluta, tamaño,
+ * fecha de modificación y un hash CRC32C de su contenido. Al contar un archivo
+ * cuya huella coincide con la guardada, el resultado completo (tabla de
+ * frecuencias, total, primera y última palabra, conteo por inicial) se carga
+ * desde la caché mediante una lectura mapeada en memoria, sin volver a leer ni
+ * tokenizar el texto. Si no coincide, se cuenta el archivo y se actualiza la caché.
+ * </p>
+ * <p>
+ * Formato de cada archivo de caché:
+ * <ol>
+ *   <li>Número mágico y versión del formato.</li>
+ *   <li>Ruta absoluta del archivo original (longitud más bytes UTF-8).</li>
+ *   <li>Tamaño, fecha de modificación y hash CRC32C del archivo original.</li>
+ *   <li>El estado del contador, en el formato de
+ *       {@link WordCounter#escribirBinario(java.io.DataOutput)}.</li>
+ * </ol>
+ * Las escrituras se hacen sobre un archivo temporal que luego se renombra, de modo
+ * que una ejecución interrumpida nunca deja una entrada a medio escribir. Una
+ * entrada dañada o de otra versión simplemente se ignora y se recuenta el archivo.
+ * </p>
+ */
+
+public class CacheConteo {
+
+    /**
+     * Número mágico al inicio de cada archivo de caché ("WCC1").
+     */
+    private static final int MAGICO = 0x57434331;
+
+    /**
+     * Versión del formato binario.
+     */
+    private static final int VERSION = 1;
+
+    /**
+     * Extensión de los archivos de caché.
+     */
+    private static final String EXTENSION = ".wcc";
+
+    /**
+     * Directorio donde se guardan los archivos de caché.
+     */
+    private final Path directorio;
+
+    /**
+     * Crea una caché que guarda sus archivos en el directorio indicado.
+     * El directorio se crea la primera vez que se escribe una entrada.
+     *
+     * @param directorio directorio de la caché
+     */
+
+    public CacheConteo(Path directorio) {
+        this.directorio = directorio;
+    }
+
+    /**
+     * Devuelve las estadísticas de un archivo, usando la caché si está al día.
+     * <p>
+     * Si la entrada de caché existe y su huella coincide con la del archivo, se
+     * carga directamente. En caso contrario se cuenta el archivo con
+     * {@link WordCounter#contarArchivo(Path)} y, solo si el conteo terminó, se
+     * guarda el resultado.
+     * </p>
+     * <p>
+     * Si el archivo no se puede leer o decodificar por completo, se lanza la
+     * excepción y el conteo parcial no se guarda en la caché.
+     * </p>
+     *
+     * @param ruta la ruta del archivo de texto
+     * @return un contador con las estadísticas del archivo
+     * @throws IOException si el archivo no se puede leer o decodificar
+     */
+
+    public WordCounter contar(Path ruta) throws IOException {
+        Huella huella = Huella.de(ruta);
+        Path entrada = directorio.resolve(nombreEntrada(huella.ruta()));
+        WordCounter guardado = cargar(entrada, huella);
+        if (guardado != null) return guardado;
+
+        WordCounter contador = new WordCounter();
+        contador.contarArchivo(ruta);
+        guardar(entrada, huella, contador);
+        return contador;
+    }
+
+    /**
+     * Intenta cargar una entrada de caché.
+     *
+     * @param entrada archivo de caché
+     * @param huella  huella actual del archivo original
+     * @return el contador guardado, o {@code null} si la entrada no existe,
+     *         no coincide con la huella o está dañada
+     */
+
+    private WordCounter cargar(Path entrada, Huella huella) {
+        try (FileChannel canal = FileChannel.open(entrada, StandardOpenOption.READ)) {
+            MappedByteBuffer datos = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+            if (datos.getInt() != MAGICO || datos.getInt() != VERSION) return null;
+
+            int longitudRuta = datos.getInt();
+            if (longitudRuta < 0 || longitudRuta > datos.remaining()) return null;
+            byte[] ruta = new byte[longitudRuta];
+            datos.get(ruta);
+            Huella guardada = new Huella(new String(ruta, StandardCharsets.UTF_8),
+                    datos.getLong(), datos.getLong(), datos.getInt());
+            if (!guardada.equals(huella)) return null;
+
+            return WordCounter.leerBinario(datos);
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Guarda una entrada de caché de forma atómica.
+     *
+     * @param entrada  archivo de caché
+     * @param huella   huella del archivo original
+     * @param contador estadísticas a guardar
+     */
+
+    private void guardar(Path entrada, Huella huella, WordCounter contador) {
+        try {
+            Files.createDirectories(directorio);
+            Path temporal = Files.createTempFile(directorio, "entrada", ".tmp");
+            try {
+                try (OutputStream archivo = Files.newOutputStream(temporal);
+                     DataOutputStream salida = new DataOutputStream(new BufferedOutputStream(archivo))) {
+                    byte[] ruta = huella.ruta().getBytes(StandardCharsets.UTF_8);
+                    salida.writeInt(MAGICO);
+                    salida.writeInt(VERSION);
+                    salida.writeInt(ruta.length);
+                    salida.write(ruta);
+                    salida.writeLong(huella.tamano());
+                    salida.writeLong(huella.modificacion());
+                    salida.writeInt(huella.hash());
+                    contador.escribirBinario(salida);
+                }
+                Files.move(temporal, entrada, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temporal);
+            }
+        } catch (IOException e) {
+            System.out.println("No se pudo guardar la caché: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Calcula el nombre del archivo de caché para una ruta absoluta.
+     * La ruta completa se guarda dentro del archivo, así que una colisión de
+     * nombres solo provoca un recuento, nunca un resultado incorrecto.
+     *
+     * @param ruta ruta absoluta del archivo original
+     * @return nombre del archivo de caché
+     */
+
+    private static String nombreEntrada(String ruta) {
+        CRC32C crc = new CRC32C();
+        crc.update(ruta.getBytes(StandardCharsets.UTF_8));
+        return String.format("%08x%08x%s", ruta.hashCode(), crc.getValue(), EXTENSION);
+    }
+
+    /**
+     * Huella que identifica una versión concreta de un archivo.
+     *
+     * @param ruta         ruta absoluta y normalizada
+     * @param tamano       tamaño en bytes
+     * @param modificacion fecha de modificación en milisegundos
+     * @param hash         CRC32C del contenido
+     */
+
+    private record Huella(String ruta, long tamano, long modificacion, int hash) {
+
+        /**
+         * Calcula la huella de un archivo, leyendo su contenido mapeado en memoria.
+         *
+         * @param ruta ruta del archivo
+         * @return la huella del archivo
+         * @throws IOException si el archivo no se puede leer
+         */
+        static Huella de(Path ruta) throws IOException {
+            Path absoluta = ruta.toAbsolutePath().normalize();
+            long modificacion = Files.getLastModifiedTime(absoluta).toMillis();
+
+            CRC32C crc = new CRC32C();
+            long tamano;
+            try (FileChannel canal = FileChannel.open(absoluta, StandardOpenOption.READ)) {
+                tamano = canal.size();
+                for (long pos = 0; pos < tamano; pos += Integer.MAX_VALUE) {
+                    long longitud = Math.min(Integer.MAX_VALUE, tamano - pos);
+                    ByteBuffer bloque = canal.map(FileChannel.MapMode.READ_ONLY, pos, longitud);
+                    crc.update(bloque);
+                }
+            }
+            return new Huella(absoluta.toString(), tamano, modificacion, (int) crc.getValue());
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package text;
+
+import datastructures.hashtables.ConcurrentWordCountHashST;
+import utils.ByteTokenizer;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Contador de palabras que pueden alimentar varios hilos a la vez.
+ * <p>
+ * Es la contraparte concurrente de {@link WordCounter}: en lugar de que cada hilo
+ * cuente en su propia tabla y luego se combinen, todos los hilos escriben en una
+ * única {@link ConcurrentWordCountHashST} con bloqueo por segmentos. El total y el
+ * conteo por letra inicial se acumulan en {@link LongAdder}, que reparten las
+ * actualizaciones concurrentes entre celdas independientes y no se disputan una
+ * misma variable. No hay ningún bloqueo global.
+ * </p>
+ * <p>
+ * Cada hilo escribe a través de un {@link Fragmento}, que representa una porción
+ * contigua del texto identificada por su posición (por ejemplo, el desplazamiento
+ * en bytes dentro del archivo). El fragmento acumula localmente el total, el
+ * conteo por inicial y su primera y última palabra, y los publica al cerrarse; así,
+ * la primera y última palabra del conjunto se deciden por la posición de cada
+ * fragmento y no por el orden en que terminan los hilos.
+ * </p>
+ * <p>
+ * Cuando todos los fragmentos están cerrados, {@link #resultado()} devuelve un
+ * {@link WordCounter} normal con las estadísticas completas.
+ * </p>
+ */
+
+public class ConcurrentWordCounter {
+
+    /**
+     * Tabla de conteo compartida por todos los hilos.
+     */
+    private final ConcurrentWordCountHashST tabla;
+
+    /**
+     * Número total de palabras procesadas.
+     */
+    private final LongAdder totalPalabras = new LongAdder();
+
+    /**
+     * Contadores de palabras por letra inicial (a-z).
+     */
+    private final LongAdder[] conteoIniciales = new LongAdder[26];
+
+    /**
+     * Posición del fragmento que aportó la primera palabra.
+     */
+    private long posicionPrimera = Long.MAX_VALUE;
+
+    /**
+     * Posición del fragmento que aportó la última palabra.
+     */
+    private long posicionUltima = Long.MIN_VALUE;
+
+    /**
+     * La primera palabra del texto, según la posición de los fragmentos.
+     */
+    private String primeraPalabra;
+
+    /**
+     * La última palabra del texto, según la posición de los fragmentos.
+     */
+    private String ultimaPalabra;
+
+    /**
+     * Crea un contador vacío.
+     */
+
+    public ConcurrentWordCounter() {
+        this(new ConcurrentWordCountHashST());
+    }
+
+    /**
+     * Crea un contador vacío que usa la tabla concurrente indicada.
+     *
+     * @param tabla tabla donde se acumulan las frecuencias
+     */
+
+    public ConcurrentWordCounter(ConcurrentWordCountHashST tabla) {
+        this.tabla = tabla;
+        for (int i = 0; i < conteoIniciales.length; i++) {
+            conteoIniciales[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Abre un fragmento para agregar las palabras de una porción del texto.
+     * <p>
+     * Cada fragmento debe usarse desde un único hilo y cerrarse al terminar. Las
+     * posiciones de fragmentos distintos deben ser distintas y crecientes en el
+     * orden del texto.
+     * </p>
+     *
+     * @param posicion posición de la porción dentro del texto
+     * @return un fragmento listo para recibir palabras
+     */
+
+    public Fragmento fragmento(long posicion) {
+        return new Fragmento(posicion);
+    }
+
+    /**
+     * Devuelve un {@link WordCounter} con las estadísticas acumuladas.
+     * <p>
+     * Debe llamarse después de cerrar todos los fragmentos; el resultado es una
+     * copia independiente de este contador.
+     * </p>
+     *
+     * @return un contador con las estadísticas de todos los fragmentos
+     */
+
+    public synchronized WordCounter resultado() {
+        int[] iniciales = new int[conteoIniciales.length];
+        for (int i = 0; i < iniciales.length; i++) {
+            iniciales[i] = conteoIniciales[i].intValue();
+        }
+        return WordCounter.de(tabla.snapshot(), totalPalabras.intValue(), iniciales, primeraPalabra, ultimaPalabra);
+    }
+
+    /**
+     * Publica los resultados locales de un fragmento.
+     * <p>
+     * Solo la primera y última palabra se actualizan bajo el monitor de este
+     * contador, una vez por fragmento y no por palabra.
+     * </p>
+     */
+    private void publicar(Fragmento fragmento) {
+        if (fragmento.total == 0) return;
+
+        totalPalabras.add(fragmento.total);
+        for (int i = 0; i < conteoIniciales.length; i++) {
+            if (fragmento.iniciales[i] != 0) conteoIniciales[i].add(fragmento.iniciales[i]);
+        }
+
+        synchronized (this) {
+            if (fragmento.posicion < posicionPrimera) {
+                posicionPrimera = fragmento.posicion;
+                primeraPalabra = fragmento.primera;
+            }
+            if (fragmento.posicion > posicionUltima) {
+                posicionUltima = fragmento.posicion;
+                ultimaPalabra = fragmento.ultima;
+            }
+        }
+    }
+
+    /**
+     * Porción contigua del texto que un hilo agrega al contador.
+     * <p>
+     * Acepta palabras como {@link String} (es un {@link Consumer}) o como porciones
+     * de bytes ASCII (es un {@link ByteTokenizer.ConsumidorBytes}), de modo que puede
+     * pasarse directamente a un {@link utils.WordTokenizer} o a un
+     * {@link ByteTokenizer}. Las frecuencias se escriben en la tabla compartida al
+     * momento; el resto de estadísticas, al cerrar el fragmento.
+     * </p>
+     */
+    public final class Fragmento implements Consumer<String>, ByteTokenizer.ConsumidorBytes, AutoCloseable {
+
+        /**
+         * Posición de la porción dentro del texto.
+         */
+        private final long posicion;
+
+        /**
+         * Conteo local por letra inicial.
+         */
+        private final int[] iniciales = new int[26];
+
+        /**
+         * Número de palabras agregadas.
+         */
+        private int total;
+
+        /**
+         * Primera palabra del fragmento.
+         */
+        private String primera;
+
+        /**
+         * Última palabra del fragmento.
+         */
+        private String ultima;
+
+        /**
+         * Indica si el fragmento ya se publicó.
+         */
+        private boolean cerrado;
+
+        private Fragmento(long posicion) {
+            this.posicion = posicion;
+        }
+
+        /**
+         * Agrega una palabra ya normalizada. Las palabras nulas o vacías se ignoran.
+         *
+         * @param palabra la palabra a agregar
+         */
+        @Override
+        public void accept(String palabra) {
+            if (palabra == null || palabra.isEmpty()) return;
+
+            tabla.increment(palabra);
+            registrar(palabra);
+        }
+
+        /**
+         * Agrega una palabra formada solo por letras ASCII, dada como porción de bytes.
+         *
+         * @param texto    búfer que contiene la palabra
+         * @param desde    posición del primer byte de la palabra
+         * @param longitud número de bytes de la palabra
+         */
+        @Override
+        public void aceptar(ByteBuffer texto, int desde, int longitud) {
+            if (longitud == 0) return;
+
+            registrar(tabla.incrementAscii(texto, desde, longitud));
+        }
+
+        /**
+         * Actualiza las estadísticas locales con una palabra ya contada.
+         */
+        private void registrar(String palabra) {
+            total++;
+            if (primera == null) primera = palabra;
+            ultima = palabra;
+
+            char c = palabra.charAt(0);
+            if (c >= 'a' && c <= 'z') {
+                iniciales[c - 'a']++;
+            }
+        }
+
+        /**
+         * Publica el total, el conteo por inicial y la primera y última palabra
+         * del fragmento en el contador compartido.
+         */
+        @Override
+        public void close() {
+            if (cerrado) return;
+            cerrado = true;
+            publicar(this);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package text;
+
+import utils.ByteTokenizer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Conteo de un archivo con varios hilos que escriben en un mismo
+ * {@link ConcurrentWordCounter}.
+ * <p>
+ * El archivo se divide de antemano en fragmentos de unos {@link #FRAGMENTO} bytes,
+ * cortados en separadores con {@link ConteoParalelo#cortes}. Cada hilo toma
+ * el siguiente fragmento libre de un contador atómico, lo mapea en memoria y lo
+ * recorre con su propio {@link ByteTokenizer}; así los hilos que terminan antes
+ * simplemente toman más fragmentos.
+ * </p>
+ */
+final class ConteoConcurrente {
+
+    /**
+     * Tamaño aproximado de cada fragmento, en bytes.
+     */
+    private static final long FRAGMENTO = 1024 * 1024;
+
+    private ConteoConcurrente() {
+    }
+
+    /**
+     * Cuenta todas las palabras del canal con {@code hilos} hilos.
+     *
+     * @param canal   canal abierto en modo lectura
+     * @param destino contador compartido donde se agregan las palabras
+     * @param hilos   número de hilos
+     * @throws IOException si no se puede leer el canal
+     */
+    static void contar(FileChannel canal, ConcurrentWordCounter destino, int hilos) throws IOException {
+        long[] cortes = ConteoParalelo.cortes(canal, FRAGMENTO);
+        int fragmentos = cortes.length - 1;
+        AtomicInteger siguiente = new AtomicInteger();
+
+        Runnable trabajador = () -> {
+            ByteTokenizer tokenizador = new ByteTokenizer();
+            int i;
+            while ((i = siguiente.getAndIncrement()) < fragmentos) {
+                long inicio = cortes[i];
+                long fin = cortes[i + 1];
+                try (ConcurrentWordCounter.Fragmento fragmento = destino.fragmento(inicio)) {
+                    MappedByteBuffer mapa = canal.map(FileChannel.MapMode.READ_ONLY, inicio, fin - inicio);
+                    tokenizador.tokenizar(mapa, fragmento);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        };
+
+        int cantidad = Math.min(hilos, fragmentos);
+        Thread[] trabajadores = new Thread[cantidad];
+        RuntimeException[] error = new RuntimeException[1];
+        for (int t = 0; t < cantidad; t++) {
+            trabajadores[t] = Thread.ofPlatform().name("conteo-concurrente-", t).start(() -> {
+                try {
+                    trabajador.run();
+                } catch (RuntimeException e) {
+                    siguiente.set(fragmentos);
+                    synchronized (error) {
+                        if (error[0] == null) error[0] = e;
+                    }
+                }
+            });
+        }
+
+        try {
+            for (Thread t : trabajadores) t.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Conteo interrumpido", e);
+        }
+        synchronized (error) {
+            if (error[0] != null) throw error[0];
+        }
+    }
+}
@@ -0,0 +1,413 @@
+package text;
+
+import datastructures.queue.MpmcRingQueue;
+import utils.TextNormalizer;
+import utils.WordTokenizer;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Conteo de un flujo de caracteres en tres etapas encadenadas, cada una en su
+ * propio hilo.
+ * <ol>
+ *   <li><strong>Lectura:</strong> un hilo lee bloques de {@link #TAMANO_BLOQUE}
+ *   caracteres y los corta justo después del último separador, de modo que ninguna
+ *   palabra quede partida entre dos bloques; el resto pasa al bloque siguiente.
+ *   Cada bloque lleva un número de secuencia.</li>
+ *   <li><strong>Tokenización:</strong> varios hilos toman bloques, los normalizan y
+ *   separan en un lote de palabras con su propio {@link WordTokenizer}.</li>
+ *   <li><strong>Agregación:</strong> el hilo que llama recibe los lotes, los
+ *   reordena por secuencia y registra sus palabras en el {@link WordCounter}, así
+ *   que el resultado es idéntico al del conteo secuencial.</li>
+ * </ol>
+ * <p>
+ * Las etapas se pasan el trabajo por dos {@link MpmcRingQueue} acotadas. Cuando
+ * una cola está llena el productor espera (primero activamente, después cediendo
+ * el procesador y por último durmiendo brevemente), de modo que una etapa lenta
+ * frena a las anteriores en lugar de dejar crecer la memoria. Además, la lectura
+ * nunca se adelanta más de {@link #ventana} bloques a la agregación, lo que acota
+ * los lotes que esperan a ser reordenados.
+ * </p>
+ * <p>
+ * Cada etapa mide el tiempo que pasa trabajando (sin contar las esperas) y, al
+ * entregar cada elemento, la profundidad de la cola siguiente; con eso
+ * {@link MetricasEtapas} indica qué etapa limita el rendimiento.
+ * </p>
+ */
+final class ConteoEnEtapas {
+
+    /**
+     * Cantidad de caracteres de cada bloque leído.
+     */
+    static final int TAMANO_BLOQUE = 128 * 1024;
+
+    /**
+     * Capacidad de cada cola por cada hilo de tokenización.
+     */
+    private static final int CAPACIDAD_POR_TOKENIZADOR = 2;
+
+    /**
+     * Intentos de espera activa antes de ceder el procesador.
+     */
+    private static final int GIROS = 64;
+
+    /**
+     * Intentos (contando los de espera activa) antes de empezar a dormir.
+     */
+    private static final int CESIONES = 128;
+
+    /**
+     * Tiempo que se duerme en cada intento una vez agotadas las cesiones.
+     */
+    private static final long PAUSA_NANOS = 50_000;
+
+    private final Reader lector;
+    private final WordCounter contador;
+    private final int tokenizadores;
+
+    /**
+     * Bloques leídos pendientes de tokenizar.
+     */
+    private final MpmcRingQueue<Bloque> bloques;
+
+    /**
+     * Lotes de palabras pendientes de agregar.
+     */
+    private final MpmcRingQueue<Lote> lotes;
+
+    /**
+     * Arreglos de caracteres ya tokenizados, para que la lectura los reutilice.
+     */
+    private final MpmcRingQueue<char[]> libres;
+
+    /**
+     * Número máximo de bloques leídos y todavía no agregados.
+     */
+    private final int ventana;
+
+    /**
+     * Número de bloques ya agregados; lo escribe la agregación y lo lee la lectura.
+     */
+    private volatile long agregados;
+
+    /**
+     * Número total de bloques, o {@link Long#MAX_VALUE} mientras la lectura no termina.
+     */
+    private volatile long totalBloques = Long.MAX_VALUE;
+
+    /**
+     * Indica que alguna etapa falló o que el conteo terminó, y los hilos deben salir.
+     */
+    private volatile boolean cancelado;
+
+    /**
+     * Primer error producido en un hilo de lectura o de tokenización.
+     */
+    private Throwable error;
+
+    /**
+     * Métricas de esta ejecución; cada hilo escribe las suyas al terminar.
+     */
+    private final MetricasEtapas metricas = new MetricasEtapas();
+
+    private ConteoEnEtapas(Reader lector, WordCounter contador, int tokenizadores) {
+        this.lector = lector;
+        this.contador = contador;
+        this.tokenizadores = tokenizadores;
+        int capacidad = CAPACIDAD_POR_TOKENIZADOR * tokenizadores;
+        this.bloques = new MpmcRingQueue<>(capacidad);
+        this.lotes = new MpmcRingQueue<>(capacidad);
+        this.ventana = bloques.capacity() + lotes.capacity() + tokenizadores;
+        this.libres = new MpmcRingQueue<>(ventana);
+    }
+
+    /**
+     * Cuenta todas las palabras de {@code lector} en {@code contador}.
+     *
+     * @param lector        flujo de caracteres a contar
+     * @param contador      contador donde se registran las palabras, en orden
+     * @param tokenizadores número de hilos de tokenización
+     * @param metricas      métricas donde se acumulan las mediciones
+     * @throws IOException si no se puede leer el flujo
+     */
+    static void contar(Reader lector, WordCounter contador, int tokenizadores, MetricasEtapas metricas)
+            throws IOException {
+        new ConteoEnEtapas(lector, contador, tokenizadores).contar(metricas);
+    }
+
+    private void contar(MetricasEtapas acumuladas) throws IOException {
+        long inicio = System.nanoTime();
+        Thread[] hilos = new Thread[tokenizadores + 1];
+        hilos[0] = Thread.ofPlatform().name("etapa-lectura").start(() -> ejecutar(this::leer));
+        for (int t = 0; t < tokenizadores; t++) {
+            hilos[t + 1] = Thread.ofPlatform().name("etapa-tokenizacion-", t).start(() -> ejecutar(this::tokenizar));
+        }
+
+        try {
+            agregar();
+        } finally {
+            cancelado = true;
+            try {
+                for (Thread hilo : hilos) hilo.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Conteo interrumpido", e);
+            }
+        }
+
+        synchronized (this) {
+            if (error instanceof IOException e) throw e;
+            if (error instanceof RuntimeException e) throw e;
+            if (error instanceof Error e) throw e;
+        }
+
+        metricas.nanosTotal = System.nanoTime() - inicio;
+        metricas.nanosTokenizacionDisponibles = metricas.nanosTotal * tokenizadores;
+        metricas.capacidadBloques = bloques.capacity();
+        metricas.capacidadLotes = lotes.capacity();
+        acumuladas.acumular(metricas);
+    }
+
+    /**
+     * Etapa de lectura: llena bloques, los corta en un separador y los publica.
+     */
+    private void leer() throws IOException {
+        long ocupado = 0;
+        long caracteres = 0;
+        long sumaProfundidad = 0;
+        int maxProfundidad = 0;
+        long secuencia = 0;
+        char[] actual = new char[TAMANO_BLOQUE];
+        int resto = 0;
+        boolean fin = false;
+
+        while (!fin) {
+            long t0 = System.nanoTime();
+            int n = resto;
+            while (n < actual.length) {
+                int leidos = lector.read(actual, n, actual.length - n);
+                if (leidos == -1) {
+                    fin = true;
+                    break;
+                }
+                n += leidos;
+            }
+            caracteres += n - resto;
+
+            int corte = fin ? n : ultimoCorte(actual, n);
+            if (corte == 0 && !fin) {
+                // Una sola palabra ocupa todo el bloque: se agranda y se sigue leyendo.
+                actual = Arrays.copyOf(actual, 2 * actual.length);
+                resto = n;
+                ocupado += System.nanoTime() - t0;
+                continue;
+            }
+
+            resto = n - corte;
+            char[] siguiente = libres.poll();
+            if (siguiente == null || siguiente.length <= resto) {
+                siguiente = new char[Math.max(TAMANO_BLOQUE, actual.length)];
+            }
+            System.arraycopy(actual, corte, siguiente, 0, resto);
+            ocupado += System.nanoTime() - t0;
+
+            if (corte > 0) {
+                for (int intento = 0; secuencia - agregados >= ventana; intento++) {
+                    if (!esperar(intento)) return;
+                }
+                int profundidad = bloques.size();
+                sumaProfundidad += profundidad;
+                maxProfundidad = Math.max(maxProfundidad, profundidad);
+                Bloque bloque = new Bloque(secuencia++, actual, corte);
+                for (int intento = 0; !bloques.offer(bloque); intento++) {
+                    if (!esperar(intento)) return;
+                }
+            }
+            actual = siguiente;
+        }
+
+        totalBloques = secuencia;
+        metricas.nanosLectura = ocupado;
+        metricas.caracteres = caracteres;
+        metricas.bloques = secuencia;
+        metricas.sumaProfundidadBloques = sumaProfundidad;
+        metricas.maxProfundidadBloques = maxProfundidad;
+    }
+
+    /**
+     * Etapa de tokenización: convierte cada bloque en un lote de palabras.
+     */
+    private void tokenizar() {
+        WordTokenizer tokenizador = new WordTokenizer();
+        long ocupado = 0;
+        long sumaProfundidad = 0;
+        int maxProfundidad = 0;
+
+        int intento = 0;
+        while (true) {
+            Bloque bloque = bloques.poll();
+            if (bloque == null) {
+                if (totalBloques != Long.MAX_VALUE && (bloque = bloques.poll()) == null) break;
+                if (bloque == null) {
+                    if (!esperar(intento++)) return;
+                    continue;
+                }
+            }
+            intento = 0;
+
+            long t0 = System.nanoTime();
+            Lote lote = new Lote(bloque.secuencia(), bloque.longitud());
+            tokenizador.alimentar(bloque.texto(), 0, bloque.longitud(), lote);
+            tokenizador.terminar(lote);
+            libres.offer(bloque.texto());
+            ocupado += System.nanoTime() - t0;
+
+            int profundidad = lotes.size();
+            sumaProfundidad += profundidad;
+            maxProfundidad = Math.max(maxProfundidad, profundidad);
+            for (int i = 0; !lotes.offer(lote); i++) {
+                if (!esperar(i)) return;
+            }
+        }
+
+        synchronized (this) {
+            metricas.nanosTokenizacion += ocupado;
+            metricas.sumaProfundidadLotes += sumaProfundidad;
+            metricas.maxProfundidadLotes = Math.max(metricas.maxProfundidadLotes, maxProfundidad);
+        }
+    }
+
+    /**
+     * Etapa de agregación: registra los lotes en el contador en orden de secuencia.
+     * Se ejecuta en el hilo que llama.
+     */
+    private void agregar() {
+        Lote[] pendientes = new Lote[ventana];
+        long ocupado = 0;
+        long palabras = 0;
+        long siguiente = 0;
+
+        int intento = 0;
+        while (siguiente != totalBloques) {
+            Lote lote = lotes.poll();
+            if (lote == null) {
+                if (!esperar(intento++)) return;
+                continue;
+            }
+            intento = 0;
+
+            long t0 = System.nanoTime();
+            pendientes[(int) (lote.secuencia % ventana)] = lote;
+            int i;
+            while ((lote = pendientes[i = (int) (siguiente % ventana)]) != null) {
+                pendientes[i] = null;
+                palabras += lote.registrarEn(contador);
+                siguiente++;
+            }
+            agregados = siguiente;
+            ocupado += System.nanoTime() - t0;
+        }
+
+        metricas.nanosAgregacion = ocupado;
+        metricas.palabras = palabras;
+    }
+
+    /**
+     * Ejecuta una etapa en su hilo y, si falla, guarda el error y detiene a las demás.
+     */
+    private void ejecutar(Etapa etapa) {
+        try {
+            etapa.ejecutar();
+        } catch (Throwable e) {
+            synchronized (this) {
+                if (error == null) error = e;
+            }
+            cancelado = true;
+        }
+    }
+
+    /**
+     * Espera antes de reintentar una operación sobre una cola llena o vacía.
+     *
+     * @param intento número de intentos fallidos consecutivos
+     * @return {@code false} si el conteo se canceló y hay que dejar de esperar
+     */
+    private boolean esperar(int intento) {
+        if (cancelado) return false;
+        if (intento < GIROS) {
+            Thread.onSpinWait();
+        } else if (intento < CESIONES) {
+            Thread.yield();
+        } else {
+            LockSupport.parkNanos(PAUSA_NANOS);
+        }
+        return true;
+    }
+
+    /**
+     * Devuelve la posición siguiente al último separador de {@code texto[0..n)}.
+     *
+     * @return el punto de corte, o {@code 0} si no hay ningún separador
+     */
+    private static int ultimoCorte(char[] texto, int n) {
+        for (int i = n - 1; i >= 0; i--) {
+            if (TextNormalizer.plegar(texto[i]) == TextNormalizer.SEPARADOR) return i + 1;
+        }
+        return 0;
+    }
+
+    /**
+     * Trabajo de un hilo de lectura o de tokenización.
+     */
+    @FunctionalInterface
+    private interface Etapa {
+        void ejecutar() throws IOException;
+    }
+
+    /**
+     * Porción del texto que termina en un separador (o en el final del flujo).
+     *
+     * @param secuencia posición del bloque en el flujo, desde {@code 0}
+     * @param texto     arreglo con los caracteres
+     * @param longitud  cantidad de caracteres válidos al principio de {@code texto}
+     */
+    private record Bloque(long secuencia, char[] texto, int longitud) {
+    }
+
+    /**
+     * Palabras de un bloque, en orden.
+     */
+    private static final class Lote implements Consumer<String> {
+
+        private final long secuencia;
+        private String[] palabras;
+        private int n;
+
+        private Lote(long secuencia, int caracteres) {
+            this.secuencia = secuencia;
+            this.palabras = new String[Math.max(16, caracteres / 8)];
+        }
+
+        @Override
+        public void accept(String palabra) {
+            if (n == palabras.length) palabras = Arrays.copyOf(palabras, n * 2);
+            palabras[n++] = palabra;
+        }
+
+        /**
+         * Registra todas las palabras del lote en un contador.
+         *
+         * @return cantidad de palabras registradas
+         */
+        private int registrarEn(WordCounter contador) {
+            for (int i = 0; i < n; i++) {
+                contador.agregarPalabra(palabras[i]);
+            }
+            return n;
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package text;
+
+import datastructures.queue.WorkStealingScheduler;
+import utils.ByteTokenizer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Tarea fork-join que cuenta las palabras de un rango de bytes de un archivo.
+ * <p>
+ * El rango se divide recursivamente en dos mitades hasta alcanzar un tamaño
+ * manejable. Cada punto de corte se desplaza hasta justo después del siguiente
+ * byte ASCII que no sea una letra (un espacio, un salto de línea, un signo de
+ * puntuación...), de modo que ninguna palabra ni secuencia UTF-8 queda partida
+ * entre dos fragmentos.
+ * </p>
+ * <p>
+ * Cada hoja mapea su fragmento en memoria con {@link FileChannel#map}, lo recorre
+ * con un {@link ByteTokenizer} (sin decodificarlo a caracteres), lo cuenta con su
+ * propio {@link WordCounter} y, al volver de la recursión, los resultados
+ * parciales se combinan en el orden del archivo mediante
+ * {@link WordCounter#merge(WordCounter)}. Así la primera y la última palabra
+ * coinciden con las del procesamiento secuencial.
+ * </p>
+ */
+class ConteoParalelo extends RecursiveTask<WordCounter> {
+
+    /**
+     * Tamaño mínimo (en bytes) de un fragmento; por debajo no compensa dividir.
+     */
+    private static final long FRAGMENTO_MINIMO = 256 * 1024;
+
+    /**
+     * Tamaño máximo (en bytes) de un fragmento mapeado en una sola hoja.
+     */
+    private static final long FRAGMENTO_MAXIMO = 64L * 1024 * 1024;
+
+    /**
+     * Cantidad de bytes leídos en cada intento al buscar un punto de corte.
+     */
+    private static final int VENTANA_BUSQUEDA = 4096;
+
+    /**
+     * Canal del archivo compartido por todas las tareas.
+     */
+    private final FileChannel canal;
+
+    /**
+     * Posición del primer byte del rango (inclusive).
+     */
+    private final long inicio;
+
+    /**
+     * Posición final del rango (exclusiva).
+     */
+    private final long fin;
+
+    /**
+     * Tamaño a partir del cual el rango se sigue dividiendo.
+     */
+    private final long umbral;
+
+    private ConteoParalelo(FileChannel canal, long inicio, long fin, long umbral) {
+        this.canal = canal;
+        this.inicio = inicio;
+        this.fin = fin;
+        this.umbral = umbral;
+    }
+
+    /**
+     * Cuenta todas las palabras del canal usando el pool fork-join indicado.
+     * <p>
+     * El umbral de división se elige para generar unas cuatro hojas por hilo
+     * del pool, acotado entre {@link #FRAGMENTO_MINIMO} y {@link #FRAGMENTO_MAXIMO}.
+     * </p>
+     *
+     * @param canal canal abierto en modo lectura
+     * @param pool  pool donde se ejecutan las tareas
+     * @return un contador con el resultado de todo el archivo
+     * @throws IOException si no se puede consultar el tamaño del canal
+     */
+    static WordCounter contar(FileChannel canal, ForkJoinPool pool) throws IOException {
+        long tamano = canal.size();
+        long umbral = tamano / (4L * pool.getParallelism());
+        umbral = Math.max(FRAGMENTO_MINIMO, Math.min(FRAGMENTO_MAXIMO, umbral));
+        return pool.invoke(new ConteoParalelo(canal, 0, tamano, umbral));
+    }
+
+    /**
+     * Cuenta todas las palabras del canal con un {@link WorkStealingScheduler}.
+     * <p>
+     * En lugar de dividir el archivo recursivamente, se corta de antemano en
+     * fragmentos del mismo tamaño que las hojas de {@link #contar(FileChannel, ForkJoinPool)}
+     * y cada fragmento es una tarea del planificador, que lo cuenta en su propio
+     * {@link WordCounter}. Los resultados se combinan al final en el orden del archivo.
+     * </p>
+     *
+     * @param canal        canal abierto en modo lectura
+     * @param planificador planificador donde se ejecutan las tareas
+     * @return un contador con el resultado de todo el archivo
+     * @throws IOException si no se puede leer el canal
+     */
+    static WordCounter contar(FileChannel canal, WorkStealingScheduler planificador) throws IOException {
+        long tamano = canal.size();
+        long umbral = tamano / (4L * planificador.parallelism());
+        umbral = Math.max(FRAGMENTO_MINIMO, Math.min(FRAGMENTO_MAXIMO, umbral));
+        long[] cortes = cortes(canal, umbral);
+
+        WordCounter[] parciales = new WordCounter[cortes.length - 1];
+        planificador.forEach(parciales.length,
+                i -> parciales[i] = contarFragmento(canal, cortes[i], cortes[i + 1]));
+
+        WordCounter resultado = new WordCounter();
+        for (WordCounter parcial : parciales) resultado.merge(parcial);
+        return resultado;
+    }
+
+    /**
+     * Corta el archivo en fragmentos de unos {@code fragmento} bytes, cada uno
+     * terminado en un separador (ver {@link #siguienteCorte}).
+     *
+     * @param canal     canal del archivo
+     * @param fragmento tamaño aproximado de cada fragmento, en bytes
+     * @return posiciones crecientes que empiezan en {@code 0} y terminan en el tamaño
+     * @throws IOException si no se puede leer el canal
+     */
+    static long[] cortes(FileChannel canal, long fragmento) throws IOException {
+        long tamano = canal.size();
+        long[] cortes = new long[(int) (tamano / fragmento) + 2];
+        int n = 0;
+        cortes[n++] = 0;
+        long inicio = 0;
+        while (inicio < tamano) {
+            long fin = inicio + fragmento >= tamano
+                    ? tamano
+                    : siguienteCorte(canal, inicio + fragmento, tamano);
+            cortes[n++] = fin;
+            inicio = fin;
+        }
+        return Arrays.copyOf(cortes, n);
+    }
+
+    /**
+     * Cuenta todas las palabras del canal en el hilo actual, mapeando el archivo
+     * por ventanas de a lo sumo {@link #FRAGMENTO_MAXIMO} bytes.
+     *
+     * @param canal   canal abierto en modo lectura
+     * @param destino destino de cada palabra
+     * @throws IOException si no se puede leer el canal
+     */
+    static void contarSecuencial(FileChannel canal, ByteTokenizer.ConsumidorBytes destino) throws IOException {
+        long tamano = canal.size();
+        ByteTokenizer tokenizador = new ByteTokenizer();
+        long inicio = 0;
+        while (inicio < tamano) {
+            long fin = inicio + FRAGMENTO_MAXIMO >= tamano
+                    ? tamano
+                    : siguienteCorte(canal, inicio + FRAGMENTO_MAXIMO, tamano);
+            contarRango(canal, inicio, fin, destino, tokenizador);
+            inicio = fin;
+        }
+    }
+
+    @Override
+    protected WordCounter compute() {
+        if (fin - inicio > umbral) {
+            long corte = siguienteCorte(canal, inicio + (fin - inicio) / 2, fin);
+            if (corte < fin) {
+                ConteoParalelo izquierda = new ConteoParalelo(canal, inicio, corte, umbral);
+                ConteoParalelo derecha = new ConteoParalelo(canal, corte, fin, umbral);
+                izquierda.fork();
+                WordCounter resultadoDerecha = derecha.compute();
+                WordCounter resultado = izquierda.join();
+                resultado.merge(resultadoDerecha);
+                return resultado;
+            }
+        }
+        return contarFragmento(canal, inicio, fin);
+    }
+
+    /**
+     * Busca la posición inmediatamente posterior al primer byte ASCII que no sea
+     * una letra encontrado a partir de {@code desde}. Ese byte separa palabras y no
+     * puede formar parte de una secuencia UTF-8 multibyte, así que es un punto de
+     * corte seguro.
+     *
+     * @param canal canal del archivo
+     * @param desde posición donde comienza la búsqueda
+     * @param fin   posición donde termina la búsqueda
+     * @return la posición siguiente al separador, o {@code fin} si no hay ninguno
+     */
+    static long siguienteCorte(FileChannel canal, long desde, long fin) {
+        ByteBuffer ventana = ByteBuffer.allocate(VENTANA_BUSQUEDA);
+        long pos = desde;
+        try {
+            while (pos < fin) {
+                ventana.clear();
+                ventana.limit((int) Math.min(VENTANA_BUSQUEDA, fin - pos));
+                int leidos = canal.read(ventana, pos);
+                if (leidos <= 0) return fin;
+                for (int i = 0; i < leidos; i++) {
+                    int b = ventana.get(i);
+                    int minuscula = b | 0x20;
+                    if (b >= 0 && (minuscula < 'a' || minuscula > 'z')) return pos + i + 1;
+                }
+                pos += leidos;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return fin;
+    }
+
+    /**
+     * Mapea el fragmento en memoria y cuenta sus palabras directamente sobre los
+     * bytes, con las mismas reglas que {@link WordCounter#procesarArchivo}.
+     *
+     * @param canal  canal del archivo
+     * @param inicio posición del primer byte (inclusive)
+     * @param fin    posición final (exclusiva)
+     * @return un contador con el resultado del fragmento
+     */
+    private static WordCounter contarFragmento(FileChannel canal, long inicio, long fin) {
+        WordCounter parcial = new WordCounter();
+        try {
+            contarRango(canal, inicio, fin, parcial::agregarPalabra, new ByteTokenizer());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return parcial;
+    }
+
+    /**
+     * Mapea un rango del archivo y entrega sus palabras a un destino.
+     *
+     * @param canal       canal del archivo
+     * @param inicio      posición del primer byte (inclusive)
+     * @param fin         posición final (exclusiva)
+     * @param destino     destino de cada palabra
+     * @param tokenizador separador de palabras a usar
+     * @throws IOException si no se puede mapear el rango
+     */
+    private static void contarRango(FileChannel canal, long inicio, long fin,
+                                    ByteTokenizer.ConsumidorBytes destino, ByteTokenizer tokenizador) throws IOException {
+        if (fin <= inicio) return;
+        MappedByteBuffer mapa = canal.map(FileChannel.MapMode.READ_ONLY, inicio, fin - inicio);
+        tokenizador.tokenizar(mapa, destino);
+    }
+}
@@ -0,0 +1,338 @@
+package text;
+
+import datastructures.list.List;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.security.SecureRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reparte el conteo de una lista de archivos entre varios procesos de la JVM.
+ * <p>
+ * Además del paralelismo con hilos, permite aprovechar los núcleos de la máquina
+ * con procesos independientes, cada uno con su propio montón y su propio recolector
+ * de basura. El coordinador:
+ * <ol>
+ *   <li>Abre un {@link ServerSocket} en la interfaz de bucle local (loopback), en un
+ *   puerto libre.</li>
+ *   <li>Lanza {@code N} procesos {@link TrabajadorConteo} con el mismo classpath,
+ *   pasándoles el puerto, un identificador y un código aleatorio de un solo uso
+ *   que deben devolver al conectarse.</li>
+ *   <li>Envía a cada trabajador una porción contigua de la lista de archivos.</li>
+ *   <li>Recibe, por cada archivo, el contador resultante en el formato de
+ *   {@link WordCounter#escribirBinario(java.io.DataOutput)}.</li>
+ * </ol>
+ * Los resultados se devuelven en el orden de la lista original, así que pueden
+ * combinarse con {@link WordCounter#merge(WordCounter)} con la misma semántica
+ * que si se hubieran contado en un solo proceso.
+ * </p>
+ * <p>
+ * Protocolo (todos los enteros en big endian, como {@link DataOutputStream}):
+ * <ul>
+ *   <li>Trabajador → coordinador: código ({@code long}) e identificador ({@code int}).</li>
+ *   <li>Coordinador → trabajador: número de archivos ({@code int}) y cada ruta
+ *   absoluta ({@link DataOutputStream#writeUTF(String)}).</li>
+ *   <li>Trabajador → coordinador, por cada archivo, un byte de estado seguido de:
+ *   si es {@link #MENSAJE_RESULTADO}, los nanosegundos de conteo ({@code long}), la
+ *   longitud del resultado ({@code int}) y el resultado; si es
+ *   {@link #MENSAJE_FALLO}, el mensaje de error ({@link DataOutputStream#writeUTF(String)}).
+ *   Entre un archivo y otro, y mientras cuenta, el trabajador envía cada
+ *   {@link #PERIODO_LATIDO_MS} milisegundos un byte {@link #MENSAJE_LATIDO}, que
+ *   el coordinador descarta.</li>
+ * </ul>
+ * Un archivo que el trabajador no puede leer no interrumpe el lote: se informa
+ * con {@link ConteoArchivo#error()} y el trabajador sigue con el siguiente.
+ * </p>
+ */
+
+public class CoordinadorTrabajadores {
+
+    /**
+     * Latido del trabajador, sin contenido: indica que sigue vivo.
+     */
+    static final byte MENSAJE_LATIDO = 0;
+
+    /**
+     * Estado de un archivo contado: le sigue su resultado.
+     */
+    static final byte MENSAJE_RESULTADO = 1;
+
+    /**
+     * Estado de un archivo que no se pudo contar: le sigue el mensaje de error.
+     */
+    static final byte MENSAJE_FALLO = 2;
+
+    /**
+     * Milisegundos que se espera a que cada trabajador se conecte.
+     */
+    private static final int TIEMPO_CONEXION_MS = 30_000;
+
+    /**
+     * Milisegundos entre latidos de un trabajador.
+     */
+    static final int PERIODO_LATIDO_MS = 5_000;
+
+    /**
+     * Milisegundos que puede pasar un trabajador sin enviar nada, ni siquiera un
+     * latido; si se supera, se considera colgado. Un trabajador que tarda en contar
+     * un archivo grande sigue enviando latidos, así que no se confunde con uno colgado.
+     */
+    private static final int TIEMPO_SILENCIO_MS = 6 * PERIODO_LATIDO_MS;
+
+    /**
+     * Longitud máxima, en bytes, que se acepta para el resultado de un archivo.
+     */
+    private static final int TAMANO_MAXIMO_RESULTADO = 1 << 30;
+
+    /**
+     * Segundos que se espera a que cada proceso termine antes de forzar su cierre.
+     */
+    private static final int TIEMPO_CIERRE_S = 5;
+
+    /**
+     * Número máximo de procesos trabajadores.
+     */
+    private final int trabajadores;
+
+    /**
+     * Crea un coordinador que usa hasta {@code trabajadores} procesos.
+     *
+     * @param trabajadores número máximo de procesos
+     * @throws IllegalArgumentException si {@code trabajadores} no es positivo
+     */
+
+    public CoordinadorTrabajadores(int trabajadores) {
+        if (trabajadores <= 0) throw new IllegalArgumentException("El número de trabajadores debe ser positivo");
+        this.trabajadores = trabajadores;
+    }
+
+    /**
+     * Cuenta cada archivo de la lista en un proceso trabajador.
+     * <p>
+     * Se lanzan tantos procesos como archivos, hasta el máximo configurado. Los
+     * archivos que un trabajador no puede leer se devuelven con su error, sin
+     * contador, y no afectan a los demás. Si un
+     * trabajador no se conecta a tiempo, pasa más de {@link #TIEMPO_SILENCIO_MS}
+     * milisegundos sin enviar datos ni latidos, envía un resultado no válido o termina sin
+     * enviar sus resultados, se cierran todos los procesos y se lanza una excepción.
+     * </p>
+     *
+     * @param archivos rutas de los archivos, en orden
+     * @return el resultado de cada archivo, en el mismo orden
+     * @throws IOException si falla la comunicación con algún trabajador
+     */
+
+    public List<ConteoArchivo> contar(List<Path> archivos) throws IOException {
+        List<ConteoArchivo> resultados = new List<>();
+        int cantidad = Math.min(trabajadores, archivos.size());
+        if (cantidad == 0) return resultados;
+
+        long codigo = new SecureRandom().nextLong();
+        Process[] procesos = new Process[cantidad];
+        Socket[] conexiones = new Socket[cantidad];
+
+        try (ServerSocket servidor = new ServerSocket(0, cantidad, InetAddress.getLoopbackAddress())) {
+            servidor.setSoTimeout(TIEMPO_CONEXION_MS);
+            for (int i = 0; i < cantidad; i++) {
+                procesos[i] = lanzar(servidor.getLocalPort(), codigo, i);
+            }
+
+            aceptar(servidor, codigo, conexiones);
+
+            for (int i = 0; i < cantidad; i++) {
+                DataOutputStream salida = new DataOutputStream(
+                        new BufferedOutputStream(conexiones[i].getOutputStream()));
+                int desde = inicioPorcion(i, cantidad, archivos.size());
+                int hasta = inicioPorcion(i + 1, cantidad, archivos.size());
+                salida.writeInt(hasta - desde);
+                for (int j = desde; j < hasta; j++) {
+                    salida.writeUTF(archivos.get(j).toAbsolutePath().toString());
+                }
+                salida.flush();
+            }
+
+            for (int i = 0; i < cantidad; i++) {
+                DataInputStream entrada = new DataInputStream(
+                        new BufferedInputStream(conexiones[i].getInputStream()));
+                int desde = inicioPorcion(i, cantidad, archivos.size());
+                int hasta = inicioPorcion(i + 1, cantidad, archivos.size());
+                try {
+                    for (int j = desde; j < hasta; j++) {
+                        resultados.addLast(leerConteo(entrada, archivos.get(j)));
+                    }
+                } catch (SocketTimeoutException e) {
+                    throw new IOException("El trabajador " + i + " no respondió en " + TIEMPO_SILENCIO_MS + " ms", e);
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Resultado de un trabajador no válido", e);
+        } finally {
+            for (Socket conexion : conexiones) {
+                if (conexion != null) conexion.close();
+            }
+            terminar(procesos);
+        }
+        return resultados;
+    }
+
+    /**
+     * Lanza un proceso trabajador con el mismo ejecutable y classpath que este.
+     *
+     * @param puerto puerto del coordinador
+     * @param codigo código que el trabajador debe devolver
+     * @param id     identificador del trabajador
+     * @return el proceso lanzado
+     * @throws IOException si no se puede lanzar
+     */
+    private static Process lanzar(int puerto, long codigo, int id) throws IOException {
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        return new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                TrabajadorConteo.class.getName(),
+                Integer.toString(puerto), Long.toString(codigo), Integer.toString(id))
+                .inheritIO()
+                .start();
+    }
+
+    /**
+     * Acepta una conexión de cada trabajador y la ubica según su identificador.
+     * Las conexiones con un código incorrecto o un identificador repetido se cierran
+     * sin contarlas.
+     *
+     * @param servidor   socket de escucha
+     * @param codigo     código esperado
+     * @param conexiones arreglo donde se guarda la conexión de cada trabajador
+     * @throws IOException si algún trabajador no se conecta a tiempo
+     */
+    private static void aceptar(ServerSocket servidor, long codigo, Socket[] conexiones) throws IOException {
+        int conectados = 0;
+        while (conectados < conexiones.length) {
+            Socket conexion;
+            try {
+                conexion = servidor.accept();
+            } catch (SocketTimeoutException e) {
+                throw new IOException("Solo se conectaron " + conectados + " de " + conexiones.length + " trabajadores", e);
+            }
+
+            DataInputStream entrada = new DataInputStream(conexion.getInputStream());
+            int id;
+            try {
+                conexion.setSoTimeout(TIEMPO_CONEXION_MS);
+                if (entrada.readLong() != codigo) {
+                    conexion.close();
+                    continue;
+                }
+                id = entrada.readInt();
+                conexion.setSoTimeout(TIEMPO_SILENCIO_MS);
+            } catch (IOException e) {
+                conexion.close();
+                continue;
+            }
+
+            if (id < 0 || id >= conexiones.length || conexiones[id] != null) {
+                conexion.close();
+                continue;
+            }
+            conexiones[id] = conexion;
+            conectados++;
+        }
+    }
+
+    /**
+     * Lee el estado de un archivo y, según el caso, su resultado o su error,
+     * descartando los latidos que lleguen antes.
+     *
+     * @param entrada conexión con el trabajador
+     * @param ruta    archivo al que corresponde el mensaje
+     * @return el conteo del archivo, o su error
+     * @throws IOException si el mensaje no es válido o la conexión falla
+     */
+    private static ConteoArchivo leerConteo(DataInputStream entrada, Path ruta) throws IOException {
+        byte estado;
+        do {
+            estado = entrada.readByte();
+        } while (estado == MENSAJE_LATIDO);
+        if (estado == MENSAJE_FALLO) {
+            return new ConteoArchivo(ruta, null, 0, entrada.readUTF());
+        }
+        if (estado != MENSAJE_RESULTADO) {
+            throw new IOException("Mensaje de trabajador no válido: " + estado);
+        }
+        long nanos = entrada.readLong();
+        byte[] datos = leerResultado(entrada);
+        return new ConteoArchivo(ruta, WordCounter.leerBinario(ByteBuffer.wrap(datos)), nanos, null);
+    }
+
+    /**
+     * Lee la longitud de un resultado y sus bytes, sin reservar de antemano más
+     * memoria que la que realmente llega.
+     *
+     * @param entrada conexión con el trabajador
+     * @return los bytes del resultado
+     * @throws IOException si la longitud no es válida o la conexión se cierra antes
+     */
+    private static byte[] leerResultado(DataInputStream entrada) throws IOException {
+        int longitud = entrada.readInt();
+        if (longitud < 0 || longitud > TAMANO_MAXIMO_RESULTADO) {
+            throw new IOException("Longitud de resultado no válida: " + longitud);
+        }
+        byte[] datos = entrada.readNBytes(longitud);
+        if (datos.length != longitud) {
+            throw new EOFException("Resultado incompleto: " + datos.length + " de " + longitud + " bytes");
+        }
+        return datos;
+    }
+
+    /**
+     * Espera a que terminen los procesos y fuerza el cierre de los que no lo hagan.
+     *
+     * @param procesos procesos lanzados (puede haber posiciones nulas)
+     */
+    private static void terminar(Process[] procesos) {
+        for (Process proceso : procesos) {
+            if (proceso == null) continue;
+            try {
+                if (!proceso.waitFor(TIEMPO_CIERRE_S, TimeUnit.SECONDS)) proceso.destroyForcibly();
+            } catch (InterruptedException e) {
+                proceso.destroyForcibly();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Calcula dónde empieza la porción de un trabajador, de modo que las porciones
+     * sean contiguas y difieran en tamaño en a lo sumo un archivo.
+     *
+     * @param i        número de trabajador (o {@code cantidad} para el final)
+     * @param cantidad número de trabajadores
+     * @param total    número de archivos
+     * @return índice del primer archivo de la porción
+     */
+    private static int inicioPorcion(int i, int cantidad, int total) {
+        return (int) ((long) i * total / cantidad);
+    }
+
+    /**
+     * Resultado del conteo de un archivo en un proceso trabajador.
+     *
+     * @param ruta     la ruta del archivo
+     * @param contador las estadísticas del archivo, o {@code null} si no se pudo contar
+     * @param nanos    el tiempo de conteo en el trabajador, en nanosegundos
+     * @param error    el mensaje de error si el archivo no se pudo leer o decodificar,
+     *                 o {@code null} si se contó completo
+     */
+
+    public record ConteoArchivo(Path ruta, WordCounter contador, long nanos, String error) {
+    }
+}
@@ -0,0 +1,57 @@
+package text;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Evento de JDK Flight Recorder emitido al terminar de contar un archivo.
+ * <p>
+ * Su duración abarca todo el procesamiento del archivo y sus campos repiten los
+ * valores de {@link MetricasConteo} correspondientes a ese archivo. Está activo
+ * por defecto, así que aparece en cualquier grabación de JFR.
+ * </p>
+ */
+@Name("text.ArchivoContado")
+@Label("Archivo contado")
+@Category({"WordCounter"})
+@Description("Conteo de palabras de un archivo completo, con el tiempo de cada fase")
+@StackTrace(false)
+class EventoArchivoConteo extends Event {
+
+    @Label("Ruta")
+    String ruta;
+
+    @Label("Bytes leídos")
+    @DataAmount
+    long bytes;
+
+    @Label("Líneas")
+    long lineas;
+
+    @Label("Palabras")
+    long palabras;
+
+    @Label("Redimensiones de la tabla")
+    long redimensiones;
+
+    @Label("Lectura")
+    @Timespan
+    long lectura;
+
+    @Label("Tokenización")
+    @Timespan
+    long tokenizacion;
+
+    @Label("Conteo")
+    @Timespan
+    long conteo;
+
+    @Label("Palabras por segundo")
+    double palabrasPorSegundo;
+}
@@ -0,0 +1,47 @@
+package text;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Evento de JDK Flight Recorder emitido por cada bloque de caracteres procesado.
+ * <p>
+ * Permite ver cómo evoluciona el tiempo de cada fase a lo largo del archivo
+ * (por ejemplo, el conteo se abarata a medida que el vocabulario deja de crecer).
+ * Como se emite miles de veces por archivo, está desactivado por defecto; se
+ * activa en la configuración de la grabación con
+ * {@code text.BloqueContado#enabled=true}.
+ * </p>
+ */
+@Name("text.BloqueContado")
+@Label("Bloque contado")
+@Category({"WordCounter"})
+@Description("Lectura, tokenización y conteo de un bloque de caracteres")
+@Enabled(false)
+@StackTrace(false)
+class EventoBloqueConteo extends Event {
+
+    @Label("Caracteres")
+    int caracteres;
+
+    @Label("Palabras")
+    int palabras;
+
+    @Label("Lectura")
+    @Timespan
+    long lectura;
+
+    @Label("Tokenización")
+    @Timespan
+    long tokenizacion;
+
+    @Label("Conteo")
+    @Timespan
+    long conteo;
+}
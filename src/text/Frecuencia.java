@@ -0,0 +1,30 @@
+package text;
+
+/**
+ * Registro que asocia una palabra con su número de apariciones.
+ * <p>
+ * El orden natural va de menos a más frecuente; a igual frecuencia, la palabra
+ * alfabéticamente mayor se considera menor. Así, en una cola de prioridad
+ * mínima, el primer candidato en descartarse es siempre el menos frecuente y,
+ * en caso de empate, el último en orden alfabético.
+ * </p>
+ *
+ * @param palabra la palabra
+ * @param veces   el número de apariciones de la palabra
+ */
+
+public record Frecuencia(String palabra, int veces) implements Comparable<Frecuencia> {
+
+    /**
+     * Compara dos frecuencias por número de apariciones y, en caso de empate,
+     * por orden alfabético inverso.
+     *
+     * @param otra la frecuencia con la que se compara
+     * @return un valor negativo, cero o positivo según esta sea menor, igual o mayor
+     */
+    @Override
+    public int compareTo(Frecuencia otra) {
+        if (veces != otra.veces) return Integer.compare(veces, otra.veces);
+        return otra.palabra.compareTo(palabra);
+    }
+}
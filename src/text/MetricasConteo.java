@@ -0,0 +1,192 @@
+package text;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Métricas de rendimiento del conteo de palabras.
+ * <p>
+ * Se pasa a {@link WordCounter#procesarArchivo(java.nio.file.Path, MetricasConteo)}
+ * para saber en qué se va el tiempo. Cada bloque leído pasa por tres fases, que se
+ * miden por separado:
+ * <ol>
+ *   <li><strong>Lectura:</strong> leer y decodificar un bloque de caracteres.</li>
+ *   <li><strong>Tokenización:</strong> normalizar el bloque y separarlo en palabras.</li>
+ *   <li><strong>Conteo:</strong> registrar esas palabras en la tabla de frecuencias.</li>
+ * </ol>
+ * Además se acumulan los bytes leídos, las líneas, las palabras y las veces que se
+ * redimensionó la tabla de conteo. Los tiempos se toman una vez por bloque, no por
+ * palabra, por lo que medir apenas afecta al resultado.
+ * </p>
+ * <p>
+ * Las métricas se acumulan: si se reutiliza el mismo objeto para varios archivos,
+ * los valores corresponden a todos ellos. No es seguro compartirlo entre hilos.
+ * </p>
+ */
+
+public class MetricasConteo {
+
+    /**
+     * Nanosegundos dedicados a leer y decodificar el texto.
+     */
+    long nanosLectura;
+
+    /**
+     * Nanosegundos dedicados a separar el texto en palabras.
+     */
+    long nanosTokenizacion;
+
+    /**
+     * Nanosegundos dedicados a actualizar la tabla de conteo.
+     */
+    long nanosConteo;
+
+    /**
+     * Nanosegundos transcurridos desde que se abre el archivo hasta que se cierra.
+     */
+    long nanosTotal;
+
+    /**
+     * Bytes leídos del archivo.
+     */
+    long bytesLeidos;
+
+    /**
+     * Líneas leídas. Una última línea sin salto final también cuenta.
+     */
+    long lineas;
+
+    /**
+     * Palabras encontradas (incluyendo repeticiones).
+     */
+    long palabras;
+
+    /**
+     * Veces que se redimensionó la tabla de conteo.
+     */
+    long redimensionesTabla;
+
+    /**
+     * Devuelve el tiempo de lectura y decodificación.
+     *
+     * @return nanosegundos de lectura
+     */
+    public long nanosLectura() {
+        return nanosLectura;
+    }
+
+    /**
+     * Devuelve el tiempo de tokenización.
+     *
+     * @return nanosegundos de tokenización
+     */
+    public long nanosTokenizacion() {
+        return nanosTokenizacion;
+    }
+
+    /**
+     * Devuelve el tiempo de actualización de la tabla de conteo.
+     *
+     * @return nanosegundos de conteo
+     */
+    public long nanosConteo() {
+        return nanosConteo;
+    }
+
+    /**
+     * Devuelve el tiempo total, incluida la apertura y el cierre del archivo.
+     *
+     * @return nanosegundos totales
+     */
+    public long nanosTotal() {
+        return nanosTotal;
+    }
+
+    /**
+     * Devuelve la cantidad de bytes leídos.
+     *
+     * @return bytes leídos
+     */
+    public long bytesLeidos() {
+        return bytesLeidos;
+    }
+
+    /**
+     * Devuelve la cantidad de líneas leídas.
+     *
+     * @return líneas leídas
+     */
+    public long lineas() {
+        return lineas;
+    }
+
+    /**
+     * Devuelve la cantidad de palabras encontradas.
+     *
+     * @return palabras encontradas
+     */
+    public long palabras() {
+        return palabras;
+    }
+
+    /**
+     * Devuelve cuántas veces se redimensionó la tabla de conteo.
+     *
+     * @return redimensiones de la tabla
+     */
+    public long redimensionesTabla() {
+        return redimensionesTabla;
+    }
+
+    /**
+     * Devuelve el rendimiento global en palabras por segundo.
+     *
+     * @return palabras por segundo, o {@code 0} si no se ha medido nada
+     */
+    public double palabrasPorSegundo() {
+        if (nanosTotal == 0) return 0;
+        return palabras * (double) TimeUnit.SECONDS.toNanos(1) / nanosTotal;
+    }
+
+    /**
+     * Suma a estas métricas las de otra medición.
+     *
+     * @param otra métricas a sumar
+     */
+    void acumular(MetricasConteo otra) {
+        nanosLectura += otra.nanosLectura;
+        nanosTokenizacion += otra.nanosTokenizacion;
+        nanosConteo += otra.nanosConteo;
+        nanosTotal += otra.nanosTotal;
+        bytesLeidos += otra.bytesLeidos;
+        lineas += otra.lineas;
+        palabras += otra.palabras;
+        redimensionesTabla += otra.redimensionesTabla;
+    }
+
+    /**
+     * Muestra en consola un resumen de las métricas, con el porcentaje del tiempo
+     * total que ocupa cada fase.
+     */
+    public void mostrar() {
+        System.out.println("\n========================================");
+        System.out.println("             MÉTRICAS");
+        System.out.println("========================================");
+        System.out.println("Bytes leídos: " + bytesLeidos);
+        System.out.println("Líneas: " + lineas);
+        System.out.println("Palabras: " + palabras);
+        System.out.println("Redimensiones de la tabla: " + redimensionesTabla);
+        mostrarFase("Lectura", nanosLectura);
+        mostrarFase("Tokenización", nanosTokenizacion);
+        mostrarFase("Conteo", nanosConteo);
+        mostrarFase("Total", nanosTotal);
+        System.out.printf("Palabras por segundo: %.0f%n", palabrasPorSegundo());
+    }
+
+    /**
+     * Muestra el tiempo de una fase en milisegundos y su porcentaje del total.
+     */
+    private void mostrarFase(String nombre, long nanos) {
+        double porcentaje = nanosTotal == 0 ? 0 : 100.0 * nanos / nanosTotal;
+        System.out.printf("%s: %.2f ms (%.1f%%)%n", nombre, nanos / 1e6, porcentaje);
+    }
+}
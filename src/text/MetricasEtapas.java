@@ -0,0 +1,309 @@
+package text;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Métricas del conteo en etapas.
+ * <p>
+ * Se pasa a {@link WordCounter#procesarArchivoEnEtapas(java.nio.file.Path, int, MetricasEtapas)}
+ * para ver qué etapa limita el rendimiento. Por cada etapa (lectura, tokenización
+ * y agregación) se mide el tiempo que pasa trabajando, sin contar el que pasa
+ * esperando a que la cola de entrada tenga elementos o a que la de salida tenga
+ * lugar. La utilización de una etapa es ese tiempo dividido por el tiempo total
+ * (y por el número de hilos, en la tokenización); la etapa más utilizada es la que
+ * limita a las demás.
+ * </p>
+ * <p>
+ * También se registra la profundidad de las dos colas (bloques leídos y lotes de
+ * palabras) cada vez que se entrega un elemento: una cola casi siempre llena
+ * indica que la etapa que la consume es la lenta; una casi siempre vacía, que la
+ * que la produce no da abasto.
+ * </p>
+ * <p>
+ * Como {@link MetricasConteo}, las métricas se acumulan si se reutiliza el mismo
+ * objeto para varios archivos. No es seguro compartirlo entre hilos.
+ * </p>
+ */
+
+public class MetricasEtapas {
+
+    /**
+     * Nanosegundos desde que se inician las etapas hasta que terminan todas.
+     */
+    long nanosTotal;
+
+    /**
+     * Nanosegundos trabajando en la etapa de lectura.
+     */
+    long nanosLectura;
+
+    /**
+     * Nanosegundos trabajando en la etapa de tokenización, sumados entre sus hilos.
+     */
+    long nanosTokenizacion;
+
+    /**
+     * Nanosegundos disponibles para la tokenización: el tiempo total por el número de hilos.
+     */
+    long nanosTokenizacionDisponibles;
+
+    /**
+     * Nanosegundos trabajando en la etapa de agregación.
+     */
+    long nanosAgregacion;
+
+    /**
+     * Caracteres leídos.
+     */
+    long caracteres;
+
+    /**
+     * Bloques entregados por la lectura.
+     */
+    long bloques;
+
+    /**
+     * Palabras registradas (incluyendo repeticiones).
+     */
+    long palabras;
+
+    /**
+     * Capacidad de la cola de bloques.
+     */
+    int capacidadBloques;
+
+    /**
+     * Suma de las profundidades de la cola de bloques observadas al entregar cada bloque.
+     */
+    long sumaProfundidadBloques;
+
+    /**
+     * Mayor profundidad observada en la cola de bloques.
+     */
+    int maxProfundidadBloques;
+
+    /**
+     * Capacidad de la cola de lotes.
+     */
+    int capacidadLotes;
+
+    /**
+     * Suma de las profundidades de la cola de lotes observadas al entregar cada lote.
+     */
+    long sumaProfundidadLotes;
+
+    /**
+     * Mayor profundidad observada en la cola de lotes.
+     */
+    int maxProfundidadLotes;
+
+    /**
+     * Devuelve el tiempo total.
+     *
+     * @return nanosegundos totales
+     */
+    public long nanosTotal() {
+        return nanosTotal;
+    }
+
+    /**
+     * Devuelve el tiempo de trabajo de la lectura.
+     *
+     * @return nanosegundos de lectura
+     */
+    public long nanosLectura() {
+        return nanosLectura;
+    }
+
+    /**
+     * Devuelve el tiempo de trabajo de la tokenización, sumado entre sus hilos.
+     *
+     * @return nanosegundos de tokenización
+     */
+    public long nanosTokenizacion() {
+        return nanosTokenizacion;
+    }
+
+    /**
+     * Devuelve el tiempo de trabajo de la agregación.
+     *
+     * @return nanosegundos de agregación
+     */
+    public long nanosAgregacion() {
+        return nanosAgregacion;
+    }
+
+    /**
+     * Devuelve la cantidad de caracteres leídos.
+     *
+     * @return caracteres leídos
+     */
+    public long caracteres() {
+        return caracteres;
+    }
+
+    /**
+     * Devuelve la cantidad de bloques que pasaron por las etapas.
+     *
+     * @return bloques
+     */
+    public long bloques() {
+        return bloques;
+    }
+
+    /**
+     * Devuelve la cantidad de palabras registradas.
+     *
+     * @return palabras
+     */
+    public long palabras() {
+        return palabras;
+    }
+
+    /**
+     * Devuelve la fracción del tiempo total que la lectura estuvo trabajando.
+     *
+     * @return utilización entre 0 y 1
+     */
+    public double utilizacionLectura() {
+        return fraccion(nanosLectura, nanosTotal);
+    }
+
+    /**
+     * Devuelve la fracción del tiempo disponible que los hilos de tokenización
+     * estuvieron trabajando.
+     *
+     * @return utilización entre 0 y 1
+     */
+    public double utilizacionTokenizacion() {
+        return fraccion(nanosTokenizacion, nanosTokenizacionDisponibles);
+    }
+
+    /**
+     * Devuelve la fracción del tiempo total que la agregación estuvo trabajando.
+     *
+     * @return utilización entre 0 y 1
+     */
+    public double utilizacionAgregacion() {
+        return fraccion(nanosAgregacion, nanosTotal);
+    }
+
+    /**
+     * Devuelve el nombre de la etapa con mayor utilización, que es la que limita el
+     * rendimiento.
+     *
+     * @return {@code "Lectura"}, {@code "Tokenización"} o {@code "Agregación"}
+     */
+    public String etapaLimitante() {
+        double lectura = utilizacionLectura();
+        double tokenizacion = utilizacionTokenizacion();
+        double agregacion = utilizacionAgregacion();
+        if (lectura >= tokenizacion && lectura >= agregacion) return "Lectura";
+        return tokenizacion >= agregacion ? "Tokenización" : "Agregación";
+    }
+
+    /**
+     * Devuelve la profundidad media de la cola de bloques al entregar cada bloque.
+     *
+     * @return bloques en espera, en promedio
+     */
+    public double profundidadMediaBloques() {
+        return bloques == 0 ? 0 : (double) sumaProfundidadBloques / bloques;
+    }
+
+    /**
+     * Devuelve la mayor profundidad observada en la cola de bloques.
+     *
+     * @return bloques en espera
+     */
+    public int profundidadMaximaBloques() {
+        return maxProfundidadBloques;
+    }
+
+    /**
+     * Devuelve la profundidad media de la cola de lotes al entregar cada lote.
+     *
+     * @return lotes en espera, en promedio
+     */
+    public double profundidadMediaLotes() {
+        return bloques == 0 ? 0 : (double) sumaProfundidadLotes / bloques;
+    }
+
+    /**
+     * Devuelve la mayor profundidad observada en la cola de lotes.
+     *
+     * @return lotes en espera
+     */
+    public int profundidadMaximaLotes() {
+        return maxProfundidadLotes;
+    }
+
+    /**
+     * Devuelve el rendimiento global en palabras por segundo.
+     *
+     * @return palabras por segundo, o {@code 0} si no se ha medido nada
+     */
+    public double palabrasPorSegundo() {
+        if (nanosTotal == 0) return 0;
+        return palabras * (double) TimeUnit.SECONDS.toNanos(1) / nanosTotal;
+    }
+
+    /**
+     * Suma a estas métricas las de otra medición.
+     *
+     * @param otra métricas a sumar
+     */
+    void acumular(MetricasEtapas otra) {
+        nanosTotal += otra.nanosTotal;
+        nanosLectura += otra.nanosLectura;
+        nanosTokenizacion += otra.nanosTokenizacion;
+        nanosTokenizacionDisponibles += otra.nanosTokenizacionDisponibles;
+        nanosAgregacion += otra.nanosAgregacion;
+        caracteres += otra.caracteres;
+        bloques += otra.bloques;
+        palabras += otra.palabras;
+        capacidadBloques = Math.max(capacidadBloques, otra.capacidadBloques);
+        sumaProfundidadBloques += otra.sumaProfundidadBloques;
+        maxProfundidadBloques = Math.max(maxProfundidadBloques, otra.maxProfundidadBloques);
+        capacidadLotes = Math.max(capacidadLotes, otra.capacidadLotes);
+        sumaProfundidadLotes += otra.sumaProfundidadLotes;
+        maxProfundidadLotes = Math.max(maxProfundidadLotes, otra.maxProfundidadLotes);
+    }
+
+    /**
+     * Muestra en consola un resumen de las métricas: el tiempo y la utilización de
+     * cada etapa, la profundidad de cada cola y la etapa limitante.
+     */
+    public void mostrar() {
+        System.out.println("\n========================================");
+        System.out.println("         MÉTRICAS POR ETAPA");
+        System.out.println("========================================");
+        System.out.println("Caracteres leídos: " + caracteres);
+        System.out.println("Bloques: " + bloques);
+        System.out.println("Palabras: " + palabras);
+        mostrarEtapa("Lectura", nanosLectura, utilizacionLectura());
+        mostrarEtapa("Tokenización", nanosTokenizacion, utilizacionTokenizacion());
+        mostrarEtapa("Agregación", nanosAgregacion, utilizacionAgregacion());
+        System.out.printf("Total: %.2f ms%n", nanosTotal / 1e6);
+        System.out.printf("Cola de bloques: media %.1f, máxima %d de %d%n",
+                profundidadMediaBloques(), maxProfundidadBloques, capacidadBloques);
+        System.out.printf("Cola de lotes: media %.1f, máxima %d de %d%n",
+                profundidadMediaLotes(), maxProfundidadLotes, capacidadLotes);
+        System.out.println("Etapa limitante: " + etapaLimitante());
+        System.out.printf("Palabras por segundo: %.0f%n", palabrasPorSegundo());
+    }
+
+    /**
+     * Muestra el tiempo de trabajo de una etapa en milisegundos y su utilización.
+     */
+    private void mostrarEtapa(String nombre, long nanos, double utilizacion) {
+        System.out.printf("%s: %.2f ms (%.1f%% ocupada)%n", nombre, nanos / 1e6, 100 * utilizacion);
+    }
+
+    /**
+     * Divide dos cantidades, devolviendo {@code 0} si el divisor es cero.
+     */
+    private static double fraccion(long parte, long total) {
+        return total == 0 ? 0 : (double) parte / total;
+    }
+}
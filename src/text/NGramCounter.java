@@ -0,0 +1,367 @@
+package text;
+
+import datastructures.hashtables.LongIntHashST;
+import datastructures.hashtables.WordCountHashST;
+import datastructures.list.List;
+import datastructures.priorityqueue.IndexMinPQ;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Contador de n-gramas (secuencias de 2 o 3 palabras consecutivas).
+ * <p>
+ * Construir una {@link String} por cada par o trío de palabras multiplicaría la
+ * memoria necesaria, porque casi todos los n-gramas son distintos. En su lugar:
+ * <ul>
+ *   <li>Cada palabra se convierte en un identificador entero: su posición de
+ *   entrada en un vocabulario {@link WordCountHashST}, que nunca cambia.</li>
+ *   <li>Los identificadores del n-grama se empaquetan en un único {@code long}:
+ *   32 bits por palabra en los bigramas y 21 bits en los trigramas.</li>
+ *   <li>Los n-gramas se cuentan en una {@link LongIntHashST}, sin ningún objeto
+ *   por entrada.</li>
+ * </ul>
+ * Las palabras solo se vuelven a unir en texto al generar el informe.
+ * </p>
+ * <p>
+ * Las palabras se normalizan igual que en {@link WordCounter} y los n-gramas se
+ * forman sobre la secuencia completa de palabras, incluso entre líneas distintas.
+ * </p>
+ */
+
+public class NGramCounter {
+
+    /**
+     * Bits por palabra en la clave de un trigrama.
+     */
+    private static final int BITS_TRIGRAMA = 21;
+
+    /**
+     * Número máximo de palabras diferentes admitido en modo trigrama.
+     */
+    private static final int VOCABULARIO_MAXIMO_TRIGRAMA = 1 << BITS_TRIGRAMA;
+
+    /**
+     * Máscara de los bits de una palabra en la clave de un trigrama.
+     */
+    private static final long MASCARA_TRIGRAMA = VOCABULARIO_MAXIMO_TRIGRAMA - 1;
+
+    /**
+     * Número de palabras por n-grama (2 o 3).
+     */
+    private final int orden;
+
+    /**
+     * Vocabulario que asigna a cada palabra su identificador y cuenta sus apariciones.
+     */
+    private final WordCountHashST vocabulario = new WordCountHashST();
+
+    /**
+     * Frecuencia de cada n-grama, por su clave empaquetada.
+     */
+    private final LongIntHashST ngramas = new LongIntHashST();
+
+    /**
+     * Identificador de la palabra anterior.
+     */
+    private int anterior;
+
+    /**
+     * Identificador de la palabra previa a la anterior (solo para trigramas).
+     */
+    private int antepenultima;
+
+    /**
+     * Palabras vistas hasta completar el primer n-grama (como máximo {@code orden - 1}).
+     */
+    private int vistas;
+
+    /**
+     * Número total de n-gramas contados (incluyendo repeticiones).
+     */
+    private int totalNGramas;
+
+    /**
+     * Crea un contador de n-gramas vacío.
+     *
+     * @param orden número de palabras por n-grama: 2 (bigramas) o 3 (trigramas)
+     * @throws IllegalArgumentException si el orden no es 2 ni 3
+     */
+
+    public NGramCounter(int orden) {
+        if (orden != 2 && orden != 3) throw new IllegalArgumentException("El orden debe ser 2 o 3: " + orden);
+        this.orden = orden;
+    }
+
+    /**
+     * Lee y procesa un archivo de texto mapeado en memoria.
+     * <p>
+     * Las palabras se identifican sobre los bytes, igual que en
+     * {@link WordCounter#procesarArchivoMapeado(Path)}, así que contar una palabra
+     * o un n-grama ya conocido no asigna memoria.
+     * </p>
+     * <p>
+     * Si ocurre un error de E/S durante la lectura del archivo, se imprime un mensaje
+     * de error en la consola.
+     * </p>
+     *
+     * @param ruta la ruta del archivo de texto a procesar
+     */
+
+    public void procesarArchivo(Path ruta) {
+        try (FileChannel canal = FileChannel.open(ruta, StandardOpenOption.READ)) {
+            ConteoParalelo.contarSecuencial(canal, this::agregarPalabra);
+        } catch (IOException e) {
+            System.out.println("No se pudo leer el archivo: " + e.getMessage());
+        } catch (UncheckedIOException e) {
+            System.out.println("No se pudo leer el archivo: " + e.getCause().getMessage());
+        }
+    }
+
+    /**
+     * Agrega la siguiente palabra del texto, ya normalizada.
+     * Las palabras nulas o vacías se ignoran.
+     *
+     * @param palabra la palabra a agregar
+     * @throws IllegalStateException si en modo trigrama el vocabulario supera
+     *                               2<sup>21</sup> palabras diferentes
+     */
+
+    public void agregarPalabra(String palabra) {
+        if (palabra == null || palabra.isEmpty()) return;
+
+        registrar(vocabulario.incrementIndex(palabra));
+    }
+
+    /**
+     * Agrega la siguiente palabra del texto, dada como porción de bytes ASCII
+     * (ver {@link WordCounter#agregarPalabra(ByteBuffer, int, int)}).
+     *
+     * @param texto    búfer que contiene la palabra
+     * @param desde    posición del primer byte de la palabra
+     * @param longitud número de bytes de la palabra
+     */
+
+    void agregarPalabra(ByteBuffer texto, int desde, int longitud) {
+        if (longitud == 0) return;
+
+        registrar(vocabulario.incrementAscii(texto, desde, longitud));
+    }
+
+    /**
+     * Cuenta el n-grama que termina en la palabra indicada, si ya hay suficientes
+     * palabras previas, y desplaza la ventana.
+     *
+     * @param id identificador de la palabra
+     */
+
+    private void registrar(int id) {
+        if (orden == 3 && id >= VOCABULARIO_MAXIMO_TRIGRAMA) {
+            throw new IllegalStateException("Vocabulario demasiado grande para trigramas: " + (id + 1) + " palabras");
+        }
+
+        if (vistas == orden - 1) {
+            long clave = orden == 2 ? codificar(anterior, id) : codificar(antepenultima, anterior, id);
+            ngramas.increment(clave);
+            totalNGramas++;
+        } else {
+            vistas++;
+        }
+
+        antepenultima = anterior;
+        anterior = id;
+    }
+
+    /**
+     * Devuelve el número de palabras por n-grama.
+     *
+     * @return 2 o 3
+     */
+
+    public int orden() {
+        return orden;
+    }
+
+    /**
+     * Devuelve el número total de n-gramas contados (incluyendo repeticiones).
+     *
+     * @return total de n-gramas
+     */
+
+    public int totalNGramas() {
+        return totalNGramas;
+    }
+
+    /**
+     * Devuelve el número de n-gramas diferentes.
+     *
+     * @return cantidad de n-gramas únicos
+     */
+
+    public int ngramasDiferentes() {
+        return ngramas.size();
+    }
+
+    /**
+     * Devuelve la frecuencia de un n-grama concreto.
+     *
+     * @param palabras las palabras del n-grama, ya normalizadas
+     * @return el número de apariciones, o {@code 0} si no aparece
+     * @throws IllegalArgumentException si la cantidad de palabras no coincide con el orden
+     */
+
+    public int frecuencia(String... palabras) {
+        if (palabras.length != orden) {
+            throw new IllegalArgumentException("Se esperaban " + orden + " palabras, no " + palabras.length);
+        }
+
+        int[] ids = new int[orden];
+        for (int i = 0; i < orden; i++) {
+            ids[i] = vocabulario.indexOf(palabras[i]);
+            if (ids[i] < 0) return 0;
+        }
+        long clave = orden == 2 ? codificar(ids[0], ids[1]) : codificar(ids[0], ids[1], ids[2]);
+        return ngramas.get(clave);
+    }
+
+    /**
+     * Devuelve los {@code k} n-gramas más frecuentes, de mayor a menor frecuencia.
+     * <p>
+     * Igual que {@link WordCounter#topK(int)}, recorre la tabla una sola vez con una
+     * {@link IndexMinPQ} de tamaño {@code k}. Los candidatos se comparan por sus
+     * claves empaquetadas y solo los {@code k} elegidos se convierten en texto, con
+     * las palabras separadas por un espacio. A igual frecuencia se prefiere el
+     * n-grama que va primero en orden alfabético.
+     * </p>
+     *
+     * @param k número de n-gramas a devolver
+     * @return una lista con hasta {@code k} frecuencias, de mayor a menor
+     * @throws IllegalArgumentException si {@code k} es negativo
+     */
+
+    public List<Frecuencia> topN(int k) {
+        if (k < 0) throw new IllegalArgumentException("k no puede ser negativo");
+
+        int capacidad = Math.min(k, ngramas.size());
+        List<Frecuencia> resultado = new List<>();
+        if (capacidad == 0) return resultado;
+
+        IndexMinPQ<Candidato> candidatos = new IndexMinPQ<>(capacidad);
+        for (int i = 0; i < ngramas.size(); i++) {
+            int f = ngramas.countAt(i);
+            if (candidatos.size() == capacidad && f < candidatos.minKey().veces) continue;
+
+            Candidato candidato = new Candidato(ngramas.keyAt(i), f);
+            if (candidatos.size() < capacidad) {
+                candidatos.insert(candidatos.size(), candidato);
+            } else if (candidato.compareTo(candidatos.minKey()) > 0) {
+                candidatos.changeKey(candidatos.minIndex(), candidato);
+            }
+        }
+
+        Frecuencia[] ordenadas = new Frecuencia[candidatos.size()];
+        for (int i = ordenadas.length - 1; i >= 0; i--) {
+            Candidato candidato = candidatos.minKey();
+            ordenadas[i] = new Frecuencia(texto(candidato.clave), candidato.veces);
+            candidatos.delMin();
+        }
+        for (Frecuencia frecuencia : ordenadas) {
+            resultado.addLast(frecuencia);
+        }
+        return resultado;
+    }
+
+    /**
+     * Muestra en consola un resumen de los n-gramas y los {@code k} más frecuentes.
+     *
+     * @param k número de n-gramas a listar
+     */
+
+    public void mostrarEstadisticas(int k) {
+        System.out.println("\n========================================");
+        System.out.println(orden == 2 ? "             BIGRAMAS" : "             TRIGRAMAS");
+        System.out.println("========================================");
+        System.out.println("Total de n-gramas: " + totalNGramas);
+        System.out.println("N-gramas diferentes: " + ngramas.size());
+        System.out.println("Palabras diferentes: " + vocabulario.size());
+
+        System.out.println("\nMás frecuentes:");
+        int posicion = 1;
+        for (Frecuencia frecuencia : topN(k)) {
+            System.out.printf("%3d. %s (%d veces)%n", posicion++, frecuencia.palabra(), frecuencia.veces());
+        }
+    }
+
+    /**
+     * Empaqueta un bigrama en una clave de 64 bits.
+     */
+    private static long codificar(int primera, int segunda) {
+        return ((long) primera << 32) | (segunda & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Empaqueta un trigrama en una clave de 63 bits (21 por palabra).
+     */
+    private static long codificar(int primera, int segunda, int tercera) {
+        return ((long) primera << (2 * BITS_TRIGRAMA)) | ((long) segunda << BITS_TRIGRAMA) | tercera;
+    }
+
+    /**
+     * Devuelve el identificador de la palabra en la posición {@code i} de una clave.
+     *
+     * @param clave clave empaquetada
+     * @param i     posición de la palabra dentro del n-grama
+     * @return identificador de la palabra
+     */
+    private int palabra(long clave, int i) {
+        if (orden == 2) return (int) (i == 0 ? clave >>> 32 : clave);
+        return (int) ((clave >>> ((2 - i) * BITS_TRIGRAMA)) & MASCARA_TRIGRAMA);
+    }
+
+    /**
+     * Reconstruye el texto de un n-grama, con las palabras separadas por un espacio.
+     */
+    private String texto(long clave) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < orden; i++) {
+            if (i > 0) sb.append(' ');
+            sb.append(vocabulario.keyAt(palabra(clave, i)));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Candidato a la lista de n-gramas más frecuentes.
+     * <p>
+     * Se ordena como {@link Frecuencia} (por frecuencia y, a igual frecuencia, en
+     * orden alfabético inverso), pero comparando palabra por palabra sin construir
+     * el texto. Como las palabras solo contienen letras y el espacio va antes que
+     * cualquier letra, el resultado es el mismo que comparar los textos unidos.
+     * </p>
+     */
+    private final class Candidato implements Comparable<Candidato> {
+
+        private final long clave;
+        private final int veces;
+
+        Candidato(long clave, int veces) {
+            this.clave = clave;
+            this.veces = veces;
+        }
+
+        @Override
+        public int compareTo(Candidato otro) {
+            if (veces != otro.veces) return Integer.compare(veces, otro.veces);
+            for (int i = 0; i < orden; i++) {
+                int a = palabra(clave, i);
+                int b = palabra(otro.clave, i);
+                if (a != b) return vocabulario.keyAt(b).compareTo(vocabulario.keyAt(a));
+            }
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package text;
+
+import utils.WordTokenizer;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Consumidor de palabras que, además de registrarlas en un {@link WordCounter},
+ * publica periódicamente instantáneas de sus estadísticas.
+ * <p>
+ * Se usa desde {@link WordCounter#procesarFlujo(java.io.Reader, int, long, Consumer)}.
+ * La copia del contador se toma en el hilo que lee (así es consistente sin
+ * necesidad de bloqueos), pero la entrega al suscriptor se hace en un hilo
+ * propio. La cola de entrega tiene capacidad uno y descarta la instantánea más
+ * antigua cuando se llena, por lo que un suscriptor lento nunca frena la lectura.
+ * </p>
+ * <p>
+ * El criterio de tiempo se evalúa al terminar cada bloque leído, no en cada
+ * palabra. Como el flujo puede detenerse o quedar bloqueado en la lectura, un
+ * reloj aparte lo evalúa también periódicamente: cada bloque se procesa con un
+ * cerrojo tomado, y el reloj solo publica si logra tomarlo, es decir, mientras el
+ * hilo que lee está esperando datos y no modifica el contador.
+ * </p>
+ */
+class PublicadorInstantaneas implements Consumer<String>, AutoCloseable {
+
+    /**
+     * Período mínimo del reloj, en nanosegundos.
+     */
+    private static final long PERIODO_MINIMO_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    /**
+     * Contador al que se agregan las palabras.
+     */
+    private final WordCounter contador;
+
+    /**
+     * Número de palabras entre instantáneas, o {@code 0} si el criterio está desactivado.
+     */
+    private final int cadaPalabras;
+
+    /**
+     * Nanosegundos entre instantáneas, o {@code 0} si el criterio está desactivado.
+     */
+    private final long cadaNanos;
+
+    /**
+     * Destino de las instantáneas.
+     */
+    private final Consumer<WordCounter> suscriptor;
+
+    /**
+     * Ejecutor de un solo hilo que entrega las instantáneas al suscriptor.
+     */
+    private final ThreadPoolExecutor entregas;
+
+    /**
+     * Reloj que publica mientras la lectura está detenida, o {@code null} si el
+     * criterio de tiempo está desactivado.
+     */
+    private final ScheduledExecutorService reloj;
+
+    /**
+     * Cerrojo que protege el contador y el estado de publicación; lo toma el hilo
+     * que lee durante cada bloque y el reloj al publicar.
+     */
+    private final ReentrantLock cerrojo = new ReentrantLock();
+
+    /**
+     * Palabras registradas desde la última instantánea.
+     */
+    private int palabrasDesdeUltima;
+
+    /**
+     * Instante ({@link System#nanoTime()}) de la última instantánea.
+     */
+    private long ultimaPublicacion;
+
+    /**
+     * Crea un publicador para el contador indicado.
+     *
+     * @param contador     contador al que se agregan las palabras
+     * @param cadaPalabras número de palabras entre instantáneas ({@code <= 0} lo desactiva)
+     * @param cadaMillis   milisegundos entre instantáneas ({@code <= 0} lo desactiva)
+     * @param suscriptor   destino de las instantáneas
+     */
+    PublicadorInstantaneas(WordCounter contador, int cadaPalabras, long cadaMillis, Consumer<WordCounter> suscriptor) {
+        this.contador = contador;
+        this.cadaPalabras = Math.max(cadaPalabras, 0);
+        this.cadaNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(cadaMillis, 0));
+        this.suscriptor = suscriptor;
+        this.entregas = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(1),
+                Thread.ofVirtual().name("instantaneas-conteo").factory(),
+                new ThreadPoolExecutor.DiscardOldestPolicy());
+        this.ultimaPublicacion = System.nanoTime();
+
+        if (cadaNanos > 0) {
+            long periodo = Math.max(cadaNanos / 4, PERIODO_MINIMO_NANOS);
+            this.reloj = Executors.newSingleThreadScheduledExecutor(
+                    Thread.ofPlatform().daemon().name("reloj-instantaneas").factory());
+            this.reloj.scheduleAtFixedRate(this::vigilar, periodo, periodo, TimeUnit.NANOSECONDS);
+        } else {
+            this.reloj = null;
+        }
+    }
+
+    /**
+     * Procesa un bloque de caracteres y publica una instantánea si venció el plazo.
+     *
+     * @param tokenizador tokenizador del flujo
+     * @param bloque      caracteres leídos
+     * @param leidos      cantidad de caracteres válidos
+     */
+    void alimentar(WordTokenizer tokenizador, char[] bloque, int leidos) {
+        cerrojo.lock();
+        try {
+            tokenizador.alimentar(bloque, 0, leidos, this);
+            if (vencido()) publicar();
+        } finally {
+            cerrojo.unlock();
+        }
+    }
+
+    /**
+     * Registra la última palabra pendiente del tokenizador, al agotarse el flujo.
+     *
+     * @param tokenizador tokenizador del flujo
+     */
+    void terminar(WordTokenizer tokenizador) {
+        cerrojo.lock();
+        try {
+            tokenizador.terminar(this);
+        } finally {
+            cerrojo.unlock();
+        }
+    }
+
+    /**
+     * Registra una palabra y publica una instantánea si se alcanzó el número de
+     * palabras. Se llama desde {@link #alimentar}, con el cerrojo tomado.
+     *
+     * @param palabra la palabra a registrar
+     */
+    @Override
+    public void accept(String palabra) {
+        contador.agregarPalabra(palabra);
+        palabrasDesdeUltima++;
+
+        if (cadaPalabras > 0 && palabrasDesdeUltima >= cadaPalabras) {
+            publicar();
+        }
+    }
+
+    /**
+     * Indica si hay palabras sin publicar y pasó el plazo desde la última instantánea.
+     */
+    private boolean vencido() {
+        return cadaNanos > 0 && palabrasDesdeUltima > 0 && System.nanoTime() - ultimaPublicacion >= cadaNanos;
+    }
+
+    /**
+     * Tarea del reloj: publica si venció el plazo y el hilo que lee no está
+     * procesando un bloque. Si lo está, él mismo comprueba el plazo al terminarlo.
+     */
+    private void vigilar() {
+        if (!cerrojo.tryLock()) return;
+        try {
+            if (vencido()) publicar();
+        } finally {
+            cerrojo.unlock();
+        }
+    }
+
+    /**
+     * Toma una copia del contador y la encola para el suscriptor.
+     */
+    private void publicar() {
+        WordCounter instantanea = contador.copiar();
+        entregas.execute(() -> suscriptor.accept(instantanea));
+        palabrasDesdeUltima = 0;
+        ultimaPublicacion = System.nanoTime();
+    }
+
+    /**
+     * Espera a que se entreguen las instantáneas pendientes y entrega la final
+     * en el hilo que llama, cuando ya no queda nada por leer.
+     */
+    @Override
+    public void close() {
+        if (reloj != null) {
+            reloj.shutdownNow();
+            try {
+                reloj.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        entregas.shutdown();
+        try {
+            entregas.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        suscriptor.accept(contador.copiar());
+    }
+}
@@ -0,0 +1,108 @@
+package text;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.file.Path;
+
+/**
+ * Proceso trabajador lanzado por {@link CoordinadorTrabajadores}.
+ * <p>
+ * Se conecta al coordinador por la interfaz de bucle local, se identifica, recibe
+ * su porción de archivos, cuenta cada uno con un {@link WordCounter} propio y
+ * devuelve los resultados en el mismo orden. Si un archivo no se puede leer o
+ * decodificar, envía el error en su lugar y sigue con el siguiente. Termina al
+ * enviar el último. Mientras tanto, un hilo aparte envía latidos periódicos para
+ * que el coordinador distinga un conteo lento de un proceso colgado.
+ * </p>
+ */
+
+public final class TrabajadorConteo {
+
+    private TrabajadorConteo() {
+    }
+
+    /**
+     * Punto de entrada del proceso trabajador.
+     *
+     * @param args puerto del coordinador, código de conexión e identificador
+     */
+
+    public static void main(String[] args) {
+        if (args.length != 3) {
+            System.err.println("Uso: TrabajadorConteo <puerto> <codigo> <id>");
+            System.exit(2);
+        }
+
+        int puerto = Integer.parseInt(args[0]);
+        long codigo = Long.parseLong(args[1]);
+        int id = Integer.parseInt(args[2]);
+
+        try (Socket conexion = new Socket(InetAddress.getLoopbackAddress(), puerto);
+             DataInputStream entrada = new DataInputStream(new BufferedInputStream(conexion.getInputStream()));
+             DataOutputStream salida = new DataOutputStream(new BufferedOutputStream(conexion.getOutputStream()))) {
+            salida.writeLong(codigo);
+            salida.writeInt(id);
+            salida.flush();
+            Thread.ofPlatform().daemon().name("latidos-", id).start(() -> latir(salida));
+
+            int archivos = entrada.readInt();
+            ByteArrayOutputStream resultado = new ByteArrayOutputStream();
+            for (int i = 0; i < archivos; i++) {
+                Path ruta = Path.of(entrada.readUTF());
+
+                long inicio = System.nanoTime();
+                WordCounter contador = new WordCounter();
+                try {
+                    contador.contarArchivo(ruta);
+                } catch (IOException e) {
+                    synchronized (salida) {
+                        salida.writeByte(CoordinadorTrabajadores.MENSAJE_FALLO);
+                        salida.writeUTF(String.valueOf(e.getMessage()));
+                        salida.flush();
+                    }
+                    continue;
+                }
+                long nanos = System.nanoTime() - inicio;
+
+                resultado.reset();
+                contador.escribirBinario(new DataOutputStream(resultado));
+                synchronized (salida) {
+                    salida.writeByte(CoordinadorTrabajadores.MENSAJE_RESULTADO);
+                    salida.writeLong(nanos);
+                    salida.writeInt(resultado.size());
+                    resultado.writeTo(salida);
+                    salida.flush();
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Trabajador " + id + ": " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Envía un latido cada {@link CoordinadorTrabajadores#PERIODO_LATIDO_MS}
+     * milisegundos, hasta que se cierra la conexión.
+     *
+     * @param salida flujo hacia el coordinador, compartido con el hilo principal
+     */
+    private static void latir(DataOutputStream salida) {
+        try {
+            while (true) {
+                Thread.sleep(CoordinadorTrabajadores.PERIODO_LATIDO_MS);
+                synchronized (salida) {
+                    salida.writeByte(CoordinadorTrabajadores.MENSAJE_LATIDO);
+                    salida.flush();
+                }
+            }
+        } catch (InterruptedException | IOException e) {
+            // La conexión se cerró: el trabajador está terminando.
+        }
+    }
+}
@@ -1,13 +1,33 @@
 package text;
 
-import datastructures.TableSymbolsOrder;
+import datastructures.hashtables.ConcurrentWordCountHashST;
+import datastructures.hashtables.WordCountHashST;
 import datastructures.list.List;
+import datastructures.priorityqueue.IndexMinPQ;
+import datastructures.queue.WorkStealingScheduler;
+import datastructures.trie.TernarySearchTrie;
+import utils.ByteTokenizer;
 import utils.TextNormalizer;
+import utils.WordTokenizer;
 
 import java.io.BufferedReader;
+import java.io.DataOutput;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
 
 /**
  * Analizador de frecuencia de palabras en archivos de texto.
@@ -18,17 +38,23 @@ import java.nio.file.Path;
  * palabra del texto.
  * </p>
  * <p>
- * Utiliza una tabla de símbolos ordenada ({@link TableSymbolsOrder}) para
- * mantener el conteo de frecuencias de forma eficiente.
+ * Utiliza una tabla hash de conteo ({@link WordCountHashST}) con contadores
+ * enteros primitivos, de modo que cada palabra cuesta O(1) en promedio. El orden
+ * alfabético solo se calcula cuando se necesita.
  * </p>
  */
 
 public class WordCounter {
 
     /**
-     * Tabla de símbolos que asocia cada palabra con su frecuencia de aparición.
+     * Cantidad de caracteres leídos en cada bloque por {@link #procesarArchivo(Path)}.
      */
-    private final TableSymbolsOrder<String, Integer> tabla = new TableSymbolsOrder<>();
+    private static final int TAMANO_BLOQUE = 16 * 1024;
+
+    /**
+     * Tabla de conteo que asocia cada palabra con su frecuencia de aparición.
+     */
+    private final WordCountHashST tabla;
 
     /**
      * Arreglo que cuenta las palabras según su letra inicial (a-z).
@@ -52,11 +78,62 @@ public class WordCounter {
     private int totalPalabras;
 
     /**
-     * Lee y procesa un archivo de texto línea por línea.
+     * Trie con el vocabulario para las consultas por prefijo, o {@code null} si
+     * aún no se ha hecho ninguna. Una vez creado se mantiene al día con cada
+     * palabra registrada y cada {@link #merge(WordCounter)}.
+     */
+    private TernarySearchTrie prefijos;
+
+    /**
+     * Crea un contador vacío.
+     */
+
+    public WordCounter() {
+        this(new WordCountHashST());
+    }
+
+    /**
+     * Crea un contador vacío que usa la tabla de conteo indicada.
+     *
+     * @param tabla la tabla donde se acumulan las frecuencias
+     */
+
+    private WordCounter(WordCountHashST tabla) {
+        this.tabla = tabla;
+    }
+
+    /**
+     * Crea un contador a partir de estadísticas ya calculadas.
+     *
+     * @param tabla      tabla de frecuencias (pasa a pertenecer al contador)
+     * @param total      número total de palabras
+     * @param iniciales  conteo por letra inicial (a-z)
+     * @param primera    primera palabra del texto
+     * @param ultima     última palabra del texto
+     * @return el contador
+     */
+
+    static WordCounter de(WordCountHashST tabla, int total, int[] iniciales, String primera, String ultima) {
+        WordCounter contador = new WordCounter(tabla);
+        System.arraycopy(iniciales, 0, contador.conteoIniciales, 0, contador.conteoIniciales.length);
+        contador.totalPalabras = total;
+        contador.primeraPalabra = primera;
+        contador.ultimaPalabra = ultima;
+        return contador;
+    }
+
+    /**
+     * Lee y procesa un archivo de texto por bloques de caracteres.
      * <p>
-     * Este método abre el archivo especificado, lee cada línea, extrae las palabras
-     * utilizando {@link TextNormalizer#obtenerPalabras(String)}, y las procesa
-     * mediante el método {@link #agregarPalabra(String)}.
+     * Este método abre el archivo especificado, lo lee en bloques de
+     * {@link #TAMANO_BLOQUE} caracteres, extrae las palabras con un
+     * {@link WordTokenizer} y las procesa mediante el método
+     * {@link #agregarPalabra(String)}, sin crear una cadena por línea.
+     * </p>
+     * <p>
+     * Si hay una grabación de JDK Flight Recorder activa, se procesa como
+     * {@link #procesarArchivo(Path, MetricasConteo)} para emitir sus eventos;
+     * en caso contrario no se mide nada.
      * </p>
      * <p>
      * Si ocurre un error de E/S durante la lectura del archivo, se imprime un mensaje
@@ -67,19 +144,424 @@ public class WordCounter {
      */
 
     public void procesarArchivo(Path ruta) {
+        try {
+            contarArchivo(ruta);
+        } catch (IOException e) {
+            System.out.println("No se pudo leer el archivo: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Lee y procesa un archivo de texto igual que {@link #procesarArchivo(Path)},
+     * pero propaga los errores de E/S y de decodificación en lugar de imprimirlos.
+     * <p>
+     * Si se lanza una excepción, el contador queda con las palabras leídas hasta ese
+     * punto; quien llama decide si descartarlo (por ejemplo, {@link CacheConteo} no
+     * guarda un conteo incompleto).
+     * </p>
+     *
+     * @param ruta la ruta del archivo de texto a procesar
+     * @throws IOException si el archivo no se puede abrir, leer o decodificar
+     */
+
+    void contarArchivo(Path ruta) throws IOException {
+        if (new EventoArchivoConteo().isEnabled()) {
+            medirArchivo(ruta, new MetricasConteo());
+            return;
+        }
+
         try (BufferedReader br = Files.newBufferedReader(ruta)) {
-            String linea;
-            while ((linea = br.readLine()) != null) {
-                List<String> palabras = TextNormalizer.obtenerPalabras(linea);
-                for (String palabra : palabras) {
-                    agregarPalabra(palabra);
+            WordTokenizer tokenizador = new WordTokenizer();
+            Consumer<String> registrar = this::agregarPalabra;
+            char[] bloque = new char[TAMANO_BLOQUE];
+            int leidos;
+            while ((leidos = br.read(bloque)) != -1) {
+                tokenizador.alimentar(bloque, 0, leidos, registrar);
+            }
+            tokenizador.terminar(registrar);
+        }
+    }
+
+    /**
+     * Lee y procesa un archivo de texto midiendo el tiempo de cada fase.
+     * <p>
+     * El resultado es el mismo que el de {@link #procesarArchivo(Path)}, pero cada
+     * bloque se procesa en tres fases separadas (lectura, tokenización en un lote
+     * de palabras y conteo de ese lote) cuyos tiempos se suman en {@code metricas},
+     * junto con los bytes, líneas, palabras y redimensiones de la tabla de conteo.
+     * Los tiempos se toman una vez por bloque, no por palabra.
+     * </p>
+     * <p>
+     * Además se emiten los eventos de JDK Flight Recorder {@code text.ArchivoContado}
+     * (uno por archivo) y {@code text.BloqueContado} (uno por bloque, desactivado por
+     * defecto), que solo tienen costo si hay una grabación activa.
+     * </p>
+     * <p>
+     * Si ocurre un error de E/S durante la lectura del archivo, se imprime un mensaje
+     * de error en la consola; las métricas reflejan lo procesado hasta ese punto.
+     * </p>
+     *
+     * @param ruta     la ruta del archivo de texto a procesar
+     * @param metricas métricas donde se acumulan las mediciones
+     */
+
+    public void procesarArchivo(Path ruta, MetricasConteo metricas) {
+        try {
+            medirArchivo(ruta, metricas);
+        } catch (IOException e) {
+            System.out.println("No se pudo leer el archivo: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Cuerpo de {@link #procesarArchivo(Path, MetricasConteo)}, que propaga los
+     * errores de E/S. Las métricas y el evento del archivo se registran también
+     * cuando la lectura falla.
+     *
+     * @param ruta     la ruta del archivo de texto a procesar
+     * @param metricas métricas donde se acumulan las mediciones
+     * @throws IOException si el archivo no se puede abrir, leer o decodificar
+     */
+
+    private void medirArchivo(Path ruta, MetricasConteo metricas) throws IOException {
+        EventoArchivoConteo evento = new EventoArchivoConteo();
+        evento.begin();
+        MetricasConteo archivo = new MetricasConteo();
+        int redimensionesPrevias = tabla.resizes();
+        long inicio = System.nanoTime();
+
+        try (FileChannel canal = FileChannel.open(ruta, StandardOpenOption.READ);
+             Reader lector = Channels.newReader(canal, StandardCharsets.UTF_8.newDecoder(), -1)) {
+            WordTokenizer tokenizador = new WordTokenizer();
+            LotePalabras lote = new LotePalabras();
+            char[] bloque = new char[TAMANO_BLOQUE];
+            char ultimo = '\n';
+
+            while (true) {
+                EventoBloqueConteo eventoBloque = new EventoBloqueConteo();
+                eventoBloque.begin();
+                long t0 = System.nanoTime();
+                int leidos = lector.read(bloque);
+                long t1 = System.nanoTime();
+                archivo.nanosLectura += t1 - t0;
+                archivo.bytesLeidos = canal.position();
+                if (leidos == -1) break;
+
+                tokenizador.alimentar(bloque, 0, leidos, lote);
+                archivo.lineas += contarSaltos(bloque, leidos);
+                ultimo = bloque[leidos - 1];
+                long t2 = System.nanoTime();
+
+                int palabras = lote.registrarEn(this);
+                long t3 = System.nanoTime();
+
+                archivo.nanosTokenizacion += t2 - t1;
+                archivo.nanosConteo += t3 - t2;
+                archivo.palabras += palabras;
+
+                if (eventoBloque.shouldCommit()) {
+                    eventoBloque.caracteres = leidos;
+                    eventoBloque.palabras = palabras;
+                    eventoBloque.lectura = t1 - t0;
+                    eventoBloque.tokenizacion = t2 - t1;
+                    eventoBloque.conteo = t3 - t2;
+                    eventoBloque.commit();
                 }
             }
+
+            tokenizador.terminar(lote);
+            archivo.palabras += lote.registrarEn(this);
+            if (ultimo != '\n') archivo.lineas++;
+        } finally {
+            archivo.nanosTotal = System.nanoTime() - inicio;
+            archivo.redimensionesTabla = tabla.resizes() - redimensionesPrevias;
+            metricas.acumular(archivo);
+
+            if (evento.shouldCommit()) {
+                evento.ruta = ruta.toString();
+                evento.bytes = archivo.bytesLeidos;
+                evento.lineas = archivo.lineas;
+                evento.palabras = archivo.palabras;
+                evento.redimensiones = archivo.redimensionesTabla;
+                evento.lectura = archivo.nanosLectura;
+                evento.tokenizacion = archivo.nanosTokenizacion;
+                evento.conteo = archivo.nanosConteo;
+                evento.palabrasPorSegundo = archivo.palabrasPorSegundo();
+                evento.commit();
+            }
+        }
+    }
+
+    /**
+     * Cuenta los saltos de línea de un bloque.
+     *
+     * @param bloque   caracteres leídos
+     * @param longitud cantidad de caracteres válidos
+     * @return número de caracteres {@code '\n'}
+     */
+
+    private static int contarSaltos(char[] bloque, int longitud) {
+        int saltos = 0;
+        for (int i = 0; i < longitud; i++) {
+            if (bloque[i] == '\n') saltos++;
+        }
+        return saltos;
+    }
+
+    /**
+     * Lee y procesa un archivo de texto mapeado en memoria, sin decodificarlo.
+     * <p>
+     * El archivo se mapea mediante {@link FileChannel#map} y se recorre con un
+     * {@link ByteTokenizer}, que identifica cada palabra como una porción
+     * {@code (desde, longitud)} de los bytes mapeados. La tabla de conteo calcula
+     * el hash y compara directamente esos bytes, y la {@link String} de una palabra
+     * solo se crea la primera vez que aparece; contar una palabra ya conocida no
+     * asigna memoria.
+     * </p>
+     * <p>
+     * Se asume que el archivo está codificado en UTF-8, igual que en
+     * {@link #procesarArchivo(Path)}, con idéntico resultado. La única diferencia es
+     * que las secuencias UTF-8 inválidas se descartan en lugar de producir un error.
+     * </p>
+     * <p>
+     * Si ocurre un error de E/S durante la lectura del archivo, se imprime un mensaje
+     * de error en la consola.
+     * </p>
+     *
+     * @param ruta la ruta del archivo de texto a procesar
+     */
+
+    public void procesarArchivoMapeado(Path ruta) {
+        try (FileChannel canal = FileChannel.open(ruta, StandardOpenOption.READ)) {
+            ConteoParalelo.contarSecuencial(canal, this::agregarPalabra);
         } catch (IOException e) {
             System.out.println("No se pudo leer el archivo: " + e.getMessage());
+        } catch (UncheckedIOException e) {
+            System.out.println("No se pudo leer el archivo: " + e.getCause().getMessage());
+        }
+    }
+
+    /**
+     * Lee y procesa un archivo de texto en paralelo.
+     * <p>
+     * El archivo se mapea en memoria mediante {@link FileChannel#map} y se divide
+     * en fragmentos cuyos cortes caen justo después de un byte ASCII que no es una
+     * letra (un espacio, un salto de línea, un signo de puntuación...), de modo que
+     * ninguna palabra ni secuencia UTF-8 queda partida. Cada fragmento se cuenta en un
+     * hilo del {@link ForkJoinPool#commonPool()} con su propia tabla y los resultados
+     * parciales se combinan en el orden del archivo, por lo que las estadísticas
+     * (total, palabras diferentes, primera y última palabra, conteo por inicial)
+     * son idénticas a las de {@link #procesarArchivo(Path)}.
+     * </p>
+     * <p>
+     * Como en {@link #procesarArchivoMapeado(Path)}, las palabras se identifican
+     * directamente sobre los bytes mapeados y las secuencias UTF-8 inválidas se
+     * descartan en lugar de producir un error.
+     * </p>
+     * <p>
+     * Si ocurre un error de E/S durante la lectura del archivo, se imprime un mensaje
+     * de error en la consola.
+     * </p>
+     *
+     * @param ruta la ruta del archivo de texto a procesar
+     */
+
+    public void procesarArchivoParalelo(Path ruta) {
+        procesarArchivoParalelo(ruta, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Lee y procesa un archivo de texto en paralelo en el pool indicado.
+     *
+     * @param ruta la ruta del archivo de texto a procesar
+     * @param pool pool donde se cuentan los fragmentos
+     * @see #procesarArchivoParalelo(Path)
+     */
+
+    public void procesarArchivoParalelo(Path ruta, ForkJoinPool pool) {
+        try (FileChannel canal = FileChannel.open(ruta, StandardOpenOption.READ)) {
+            merge(ConteoParalelo.contar(canal, pool));
+        } catch (IOException e) {
+            System.out.println("No se pudo leer el archivo: " + e.getMessage());
+        } catch (UncheckedIOException e) {
+            System.out.println("No se pudo leer el archivo: " + e.getCause().getMessage());
+        }
+    }
+
+    /**
+     * Lee y procesa un archivo de texto en paralelo con un planificador de robo de
+     * trabajo propio.
+     * <p>
+     * Hace lo mismo que {@link #procesarArchivoParalelo(Path)}, con los mismos
+     * fragmentos y el mismo resultado, pero los fragmentos se cortan de antemano y
+     * cada uno es una tarea de {@code planificador}, que tiene menos costo por tarea
+     * que un {@link ForkJoinPool}. El planificador se puede reutilizar entre archivos.
+     * </p>
+     * <p>
+     * Si ocurre un error de E/S durante la lectura del archivo, se imprime un mensaje
+     * de error en la consola.
+     * </p>
+     *
+     * @param ruta         la ruta del archivo de texto a procesar
+     * @param planificador planificador donde se cuentan los fragmentos
+     */
+
+    public void procesarArchivoParalelo(Path ruta, WorkStealingScheduler planificador) {
+        try (FileChannel canal = FileChannel.open(ruta, StandardOpenOption.READ)) {
+            merge(ConteoParalelo.contar(canal, planificador));
+        } catch (IOException e) {
+            System.out.println("No se pudo leer el archivo: " + e.getMessage());
+        } catch (UncheckedIOException e) {
+            System.out.println("No se pudo leer el archivo: " + e.getCause().getMessage());
+        }
+    }
+
+    /**
+     * Lee y procesa un archivo de texto con varios hilos que cuentan sobre una
+     * única tabla compartida.
+     * <p>
+     * A diferencia de {@link #procesarArchivoParalelo(Path)}, donde cada hilo cuenta
+     * en su propia tabla y las tablas se combinan al final, aquí el archivo mapeado
+     * se reparte en fragmentos que {@code hilos} hilos toman de uno en uno y cuentan
+     * directamente en un {@link ConcurrentWordCounter}. Con un vocabulario compartido
+     * (el caso habitual), la memoria no crece con el número de hilos y no hay fase
+     * de combinación. El resultado es idéntico al de {@link #procesarArchivo(Path)}.
+     * </p>
+     * <p>
+     * Si ocurre un error de E/S durante la lectura del archivo, se imprime un mensaje
+     * de error en la consola.
+     * </p>
+     *
+     * @param ruta  la ruta del archivo de texto a procesar
+     * @param hilos número de hilos que cuentan
+     * @throws IllegalArgumentException si {@code hilos} no es positivo
+     */
+
+    public void procesarArchivoConcurrente(Path ruta, int hilos) {
+        if (hilos <= 0) throw new IllegalArgumentException("El número de hilos debe ser positivo");
+
+        ConcurrentWordCounter compartido = new ConcurrentWordCounter(new ConcurrentWordCountHashST(hilos * 8));
+        try (FileChannel canal = FileChannel.open(ruta, StandardOpenOption.READ)) {
+            ConteoConcurrente.contar(canal, compartido, hilos);
+            merge(compartido.resultado());
+        } catch (IOException e) {
+            System.out.println("No se pudo leer el archivo: " + e.getMessage());
+        } catch (UncheckedIOException e) {
+            System.out.println("No se pudo leer el archivo: " + e.getCause().getMessage());
+        }
+    }
+
+    /**
+     * Lee y procesa un archivo de texto en etapas encadenadas.
+     *
+     * @param ruta          la ruta del archivo de texto a procesar
+     * @param tokenizadores número de hilos de tokenización
+     * @throws IllegalArgumentException si {@code tokenizadores} no es positivo
+     * @see #procesarArchivoEnEtapas(Path, int, MetricasEtapas)
+     */
+
+    public void procesarArchivoEnEtapas(Path ruta, int tokenizadores) {
+        procesarArchivoEnEtapas(ruta, tokenizadores, new MetricasEtapas());
+    }
+
+    /**
+     * Lee y procesa un archivo de texto en etapas encadenadas, midiendo cada una.
+     * <p>
+     * En {@link #procesarArchivo(Path)} la lectura, la normalización y el conteo se
+     * alternan en un solo hilo, así que nunca se solapan la espera de E/S y el
+     * trabajo de CPU. Aquí cada fase es una etapa con sus propios hilos: uno lee
+     * bloques grandes cortados en separadores, {@code tokenizadores} hilos los
+     * normalizan y separan en lotes de palabras, y el hilo que llama registra los
+     * lotes en el orden del archivo. Las etapas se comunican por colas acotadas, de
+     * modo que una etapa lenta frena a las anteriores sin que crezca la memoria (ver
+     * {@link ConteoEnEtapas}). El resultado es idéntico al de
+     * {@link #procesarArchivo(Path)}.
+     * </p>
+     * <p>
+     * En {@code metricas} se acumulan el tiempo de trabajo y la utilización de cada
+     * etapa y la profundidad de las colas, que indican cuál es la etapa limitante.
+     * </p>
+     * <p>
+     * Si ocurre un error de E/S durante la lectura del archivo, se imprime un mensaje
+     * de error en la consola.
+     * </p>
+     *
+     * @param ruta          la ruta del archivo de texto a procesar
+     * @param tokenizadores número de hilos de tokenización
+     * @param metricas      métricas donde se acumulan las mediciones
+     * @throws IllegalArgumentException si {@code tokenizadores} no es positivo
+     */
+
+    public void procesarArchivoEnEtapas(Path ruta, int tokenizadores, MetricasEtapas metricas) {
+        if (tokenizadores <= 0) throw new IllegalArgumentException("El número de tokenizadores debe ser positivo");
+
+        try (FileChannel canal = FileChannel.open(ruta, StandardOpenOption.READ);
+             Reader lector = Channels.newReader(canal, StandardCharsets.UTF_8.newDecoder(), -1)) {
+            ConteoEnEtapas.contar(lector, this, tokenizadores, metricas);
+        } catch (IOException e) {
+            System.out.println("No se pudo leer el archivo: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Lee y procesa un flujo de texto de longitud indefinida, publicando
+     * instantáneas periódicas de las estadísticas.
+     * <p>
+     * El flujo se lee por bloques, igual que en {@link #procesarArchivo(Path)}, hasta
+     * que se agota. Cada {@code cadaPalabras} palabras, o cuando han pasado al menos
+     * {@code cadaMillis} milisegundos desde la última publicación, se toma una copia
+     * consistente del contador con {@link #copiar()} y se entrega al suscriptor en un
+     * hilo aparte, de modo que la lectura nunca espera al suscriptor. El plazo se
+     * comprueba al final de cada bloque y, mientras la lectura está bloqueada, desde
+     * un reloj propio, así que se respeta aunque el flujo se detenga. Si el suscriptor
+     * es más lento que la frecuencia de publicación, se descartan las instantáneas
+     * intermedias y siempre recibe la más reciente.
+     * </p>
+     * <p>
+     * Al agotarse el flujo se entregan las instantáneas pendientes y, por último, una
+     * instantánea final en el hilo que llama, antes de retornar. Un valor menor o igual a cero
+     * en {@code cadaPalabras} o {@code cadaMillis} desactiva el criterio correspondiente.
+     * </p>
+     * <p>
+     * Si ocurre un error de E/S durante la lectura, se imprime un mensaje de error
+     * en la consola.
+     * </p>
+     *
+     * @param lector       el flujo de caracteres a procesar
+     * @param cadaPalabras número de palabras entre instantáneas
+     * @param cadaMillis   milisegundos entre instantáneas
+     * @param suscriptor   destino de cada instantánea
+     */
+
+    public void procesarFlujo(Reader lector, int cadaPalabras, long cadaMillis, Consumer<WordCounter> suscriptor) {
+        try (PublicadorInstantaneas publicador = new PublicadorInstantaneas(this, cadaPalabras, cadaMillis, suscriptor)) {
+            WordTokenizer tokenizador = new WordTokenizer();
+            char[] bloque = new char[TAMANO_BLOQUE];
+            int leidos;
+            while ((leidos = lector.read(bloque)) != -1) {
+                publicador.alimentar(tokenizador, bloque, leidos);
+            }
+            publicador.terminar(tokenizador);
+        } catch (IOException e) {
+            System.out.println("No se pudo leer el flujo: " + e.getMessage());
         }
     }
 
+    /**
+     * Lee y procesa un flujo de bytes codificado en UTF-8, publicando instantáneas
+     * periódicas de las estadísticas.
+     *
+     * @param entrada      el flujo de bytes a procesar
+     * @param cadaPalabras número de palabras entre instantáneas
+     * @param cadaMillis   milisegundos entre instantáneas
+     * @param suscriptor   destino de cada instantánea
+     * @see #procesarFlujo(Reader, int, long, Consumer)
+     */
+
+    public void procesarFlujo(InputStream entrada, int cadaPalabras, long cadaMillis, Consumer<WordCounter> suscriptor) {
+        procesarFlujo(new InputStreamReader(entrada, StandardCharsets.UTF_8), cadaPalabras, cadaMillis, suscriptor);
+    }
+
     /**
      * Registra una palabra en el análisis de frecuencia.
      * <p>
@@ -89,7 +571,7 @@ public class WordCounter {
      *   <li>Incrementa el contador total de palabras.</li>
      *   <li>Registra la primera palabra si aún no se ha establecido.</li>
      *   <li>Actualiza la última palabra procesada.</li>
-     *   <li>Actualiza la frecuencia de la palabra en la tabla de símbolos.</li>
+     *   <li>Incrementa la frecuencia de la palabra en la tabla de conteo.</li>
      *   <li>Incrementa el contador de la letra inicial correspondiente.</li>
      * </ul>
      * </p>
@@ -97,10 +579,45 @@ public class WordCounter {
      * @param palabra la palabra a registrar en el análisis
      */
 
-    private void agregarPalabra(String palabra) {
+    void agregarPalabra(String palabra) {
         if (palabra == null || palabra.isEmpty()) return;
 
+        tabla.increment(palabra);
+        registrar(palabra);
+    }
+
+    /**
+     * Registra una palabra dada como porción de un búfer de bytes.
+     * <p>
+     * Equivale a {@link #agregarPalabra(String)}, pero la palabra se busca en la
+     * tabla directamente a partir de los bytes (ver
+     * {@link WordCountHashST#incrementAscii(ByteBuffer, int, int)}) y las
+     * estadísticas se actualizan con la instancia de la clave ya guardada en la
+     * tabla, de modo que no se crea ninguna {@link String} nueva salvo la primera
+     * vez que aparece cada palabra.
+     * </p>
+     *
+     * @param texto    búfer que contiene la palabra (solo letras ASCII)
+     * @param desde    posición del primer byte de la palabra
+     * @param longitud número de bytes de la palabra
+     */
+
+    void agregarPalabra(ByteBuffer texto, int desde, int longitud) {
+        if (longitud == 0) return;
+
+        registrar(tabla.keyAt(tabla.incrementAscii(texto, desde, longitud)));
+    }
+
+    /**
+     * Actualiza el total, la primera y última palabra y el conteo por inicial
+     * con una palabra ya contada en la tabla.
+     *
+     * @param palabra la palabra registrada
+     */
+
+    private void registrar(String palabra) {
         totalPalabras++;
+        if (prefijos != null) prefijos.increment(palabra);
 
         if (primeraPalabra == null) {
             primeraPalabra = palabra;
@@ -108,14 +625,340 @@ public class WordCounter {
 
         ultimaPalabra = palabra;
 
-        tabla.put(palabra, tabla.get(palabra) == null ? 1 : tabla.get(palabra) + 1);
-
         char c = palabra.charAt(0);
         if (c >= 'a' && c <= 'z') {
             conteoIniciales[c - 'a']++;
         }
     }
 
+    /**
+     * Crea una copia independiente de este contador.
+     * <p>
+     * La copia tiene las mismas estadísticas en el momento de la llamada y no se ve
+     * afectada por las palabras que se agreguen después a este contador (ni al revés).
+     * Su costo es el de copiar los arreglos internos de la tabla de conteo, proporcional
+     * al número de palabras diferentes y no al total procesado.
+     * </p>
+     *
+     * @return una copia del contador
+     */
+
+    public WordCounter copiar() {
+        WordCounter copia = new WordCounter(new WordCountHashST(tabla));
+        System.arraycopy(conteoIniciales, 0, copia.conteoIniciales, 0, conteoIniciales.length);
+        copia.primeraPalabra = primeraPalabra;
+        copia.ultimaPalabra = ultimaPalabra;
+        copia.totalPalabras = totalPalabras;
+        return copia;
+    }
+
+    /**
+     * Devuelve el número total de palabras procesadas (incluyendo repeticiones).
+     *
+     * @return total de palabras
+     */
+
+    public int totalPalabras() {
+        return totalPalabras;
+    }
+
+    /**
+     * Devuelve el número de palabras diferentes procesadas.
+     *
+     * @return cantidad de palabras únicas
+     */
+
+    public int palabrasDiferentes() {
+        return tabla.size();
+    }
+
+    /**
+     * Devuelve cuántas palabras del texto (contando repeticiones) empiezan por
+     * {@code prefijo}.
+     * <p>
+     * El conteo por letra inicial es el caso particular de un prefijo de una letra,
+     * que se responde directamente. Para los demás prefijos se usa un
+     * {@link TernarySearchTrie} con el vocabulario, que se construye la primera vez
+     * que se necesita en O(palabras diferentes). A partir de ahí cada palabra
+     * agregada lo actualiza en O(|palabra|), junto con los agregados de cada nodo,
+     * y cada consulta cuesta O(|prefijo|).
+     * </p>
+     *
+     * @param prefijo prefijo buscado; se normaliza como el texto (ver {@link #normalizarPrefijo(String)})
+     * @return número de apariciones de palabras con ese prefijo
+     */
+
+    public int contarPrefijo(String prefijo) {
+        String p = normalizarPrefijo(prefijo);
+        if (p == null) return 0;
+        if (p.length() == 1 && p.charAt(0) >= 'a' && p.charAt(0) <= 'z') {
+            return conteoIniciales[p.charAt(0) - 'a'];
+        }
+        return (int) prefijos().countWithPrefix(p);
+    }
+
+    /**
+     * Devuelve cuántas palabras diferentes empiezan por {@code prefijo}.
+     *
+     * @param prefijo prefijo buscado; se normaliza como el texto (ver {@link #normalizarPrefijo(String)})
+     * @return número de palabras diferentes con ese prefijo
+     * @see #contarPrefijo(String)
+     */
+
+    public int palabrasConPrefijo(String prefijo) {
+        String p = normalizarPrefijo(prefijo);
+        return p == null ? 0 : prefijos().keysWithPrefixCount(p);
+    }
+
+    /**
+     * Normaliza un prefijo con el mismo plegado que se aplica al texto
+     * ({@link TextNormalizer#plegar(char)}): minúsculas, sin acentos y sin los
+     * caracteres que se eliminan, de modo que "Café" y "ü" se buscan como "cafe" y "u".
+     *
+     * @param prefijo prefijo tal como lo escribe el usuario
+     * @return el prefijo normalizado, o {@code null} si contiene un separador de
+     *         palabras y por lo tanto ninguna palabra puede empezar por él
+     */
+
+    private static String normalizarPrefijo(String prefijo) {
+        StringBuilder sb = new StringBuilder(prefijo.length());
+        for (int i = 0; i < prefijo.length(); i++) {
+            char c = TextNormalizer.plegar(prefijo.charAt(i));
+            if (c == TextNormalizer.SEPARADOR) return null;
+            if (c != TextNormalizer.ELIMINADO) sb.append(c);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Devuelve el trie del vocabulario, construyéndolo la primera vez. Las palabras
+     * se insertan en el orden de la tabla de conteo, que no es alfabético, y el trie
+     * queda equilibrado; después lo actualizan {@link #registrar(String)} y
+     * {@link #merge(WordCounter)}.
+     *
+     * @return el trie con el conteo de cada palabra diferente
+     */
+
+    private TernarySearchTrie prefijos() {
+        if (prefijos == null) {
+            TernarySearchTrie trie = new TernarySearchTrie(4 * tabla.size());
+            for (int i = 0; i < tabla.size(); i++) {
+                trie.add(tabla.keyAt(i), tabla.countAt(i));
+            }
+            prefijos = trie;
+        }
+        return prefijos;
+    }
+
+    /**
+     * Combina en este contador los resultados de otro.
+     * <p>
+     * Se asume que {@code otro} contiene el texto que sigue inmediatamente al ya
+     * procesado por este contador: la primera palabra se conserva (salvo que este
+     * contador esté vacío) y la última pasa a ser la de {@code otro}. Las frecuencias,
+     * el total y el conteo por inicial se suman.
+     * </p>
+     * <p>
+     * Permite, por ejemplo, obtener las estadísticas de un corpus completo a partir
+     * de los contadores de cada libro, combinándolos en el orden de los libros.
+     * </p>
+     * <p>
+     * La operación es asociativa y un contador vacío es su elemento neutro, así que
+     * los resultados parciales de porciones contiguas pueden combinarse en cualquier
+     * agrupación (por hilos, por procesos o en árbol), siempre que se respete el
+     * orden del texto.
+     * </p>
+     *
+     * @param otro contador con los resultados del texto siguiente
+     */
+
+    public void merge(WordCounter otro) {
+        if (otro.totalPalabras == 0) return;
+
+        if (primeraPalabra == null) {
+            primeraPalabra = otro.primeraPalabra;
+        }
+        ultimaPalabra = otro.ultimaPalabra;
+        totalPalabras += otro.totalPalabras;
+
+        for (int i = 0; i < conteoIniciales.length; i++) {
+            conteoIniciales[i] += otro.conteoIniciales[i];
+        }
+
+        for (int i = 0; i < otro.tabla.size(); i++) {
+            tabla.add(otro.tabla.keyAt(i), otro.tabla.countAt(i));
+            if (prefijos != null) prefijos.add(otro.tabla.keyAt(i), otro.tabla.countAt(i));
+        }
+    }
+
+    /**
+     * Escribe el estado completo del contador en formato binario compacto.
+     * <p>
+     * El formato es: total de palabras, número de palabras diferentes, primera y
+     * última palabra, los 26 conteos por inicial y, por último, cada palabra seguida
+     * de su frecuencia. Los enteros se codifican como varint (7 bits por byte) y las
+     * palabras como longitud más bytes UTF-8, de modo que una palabra corta con pocas
+     * apariciones ocupa solo unos pocos bytes.
+     * </p>
+     * <p>
+     * Es el formato con que se guardan los resultados en {@link CacheConteo} y con
+     * que se envían los resultados parciales entre procesos en
+     * {@link CoordinadorTrabajadores}.
+     * </p>
+     *
+     * @param salida destino de los datos
+     * @throws IOException si ocurre un error de escritura
+     * @see #leerBinario(ByteBuffer)
+     */
+
+    public void escribirBinario(DataOutput salida) throws IOException {
+        escribirVarint(salida, totalPalabras);
+        escribirVarint(salida, tabla.size());
+        escribirPalabra(salida, primeraPalabra);
+        escribirPalabra(salida, ultimaPalabra);
+        for (int conteo : conteoIniciales) {
+            escribirVarint(salida, conteo);
+        }
+        for (int i = 0; i < tabla.size(); i++) {
+            escribirPalabra(salida, tabla.keyAt(i));
+            escribirVarint(salida, tabla.countAt(i));
+        }
+    }
+
+    /**
+     * Reconstruye un contador a partir de datos escritos con
+     * {@link #escribirBinario(DataOutput)}.
+     * <p>
+     * La tabla de conteo se crea con la capacidad exacta, por lo que la carga no
+     * redimensiona ningún arreglo.
+     * </p>
+     *
+     * @param entrada búfer posicionado al inicio de los datos; al terminar queda
+     *                posicionado justo después de ellos
+     * @return el contador reconstruido
+     * @throws IllegalArgumentException si los datos no tienen el formato esperado
+     */
+
+    public static WordCounter leerBinario(ByteBuffer entrada) {
+        try {
+            int total = leerVarint(entrada);
+            int diferentes = leerVarint(entrada);
+            if (diferentes < 0 || diferentes > entrada.remaining()) throw new BufferUnderflowException();
+            WordCounter contador = new WordCounter(new WordCountHashST(diferentes));
+            contador.totalPalabras = total;
+            contador.primeraPalabra = leerPalabra(entrada);
+            contador.ultimaPalabra = leerPalabra(entrada);
+            for (int i = 0; i < contador.conteoIniciales.length; i++) {
+                contador.conteoIniciales[i] = leerVarint(entrada);
+            }
+            for (int i = 0; i < diferentes; i++) {
+                String palabra = leerPalabra(entrada);
+                contador.tabla.add(palabra, leerVarint(entrada));
+            }
+            return contador;
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Datos binarios truncados", e);
+        }
+    }
+
+    /**
+     * Escribe un entero no negativo como varint.
+     */
+    private static void escribirVarint(DataOutput salida, int valor) throws IOException {
+        while ((valor & ~0x7F) != 0) {
+            salida.writeByte((valor & 0x7F) | 0x80);
+            valor >>>= 7;
+        }
+        salida.writeByte(valor);
+    }
+
+    /**
+     * Lee un entero escrito con {@link #escribirVarint(DataOutput, int)}.
+     */
+    private static int leerVarint(ByteBuffer entrada) {
+        int valor = 0;
+        for (int desplazamiento = 0; desplazamiento < 32; desplazamiento += 7) {
+            byte b = entrada.get();
+            valor |= (b & 0x7F) << desplazamiento;
+            if (b >= 0) return valor;
+        }
+        throw new IllegalArgumentException("Varint demasiado largo");
+    }
+
+    /**
+     * Escribe una palabra (o {@code null}) como longitud más uno seguida de sus bytes UTF-8.
+     */
+    private static void escribirPalabra(DataOutput salida, String palabra) throws IOException {
+        if (palabra == null) {
+            escribirVarint(salida, 0);
+            return;
+        }
+        byte[] bytes = palabra.getBytes(StandardCharsets.UTF_8);
+        escribirVarint(salida, bytes.length + 1);
+        salida.write(bytes);
+    }
+
+    /**
+     * Lee una palabra escrita con {@link #escribirPalabra(DataOutput, String)}.
+     */
+    private static String leerPalabra(ByteBuffer entrada) {
+        int longitud = leerVarint(entrada) - 1;
+        if (longitud < 0) return null;
+        if (longitud > entrada.remaining()) throw new BufferUnderflowException();
+        byte[] bytes = new byte[longitud];
+        entrada.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Devuelve las {@code k} palabras más frecuentes, de mayor a menor frecuencia.
+     * <p>
+     * Recorre la tabla de conteo una sola vez, sin materializar ni ordenar el
+     * vocabulario, manteniendo los mejores candidatos en una {@link IndexMinPQ}
+     * de tamaño {@code k}: cada palabra se compara con el candidato más débil y solo
+     * lo reemplaza si lo supera. El costo es O(n log k) en tiempo y O(k) en memoria.
+     * </p>
+     * <p>
+     * A igual frecuencia se prefiere la palabra que va primero en orden alfabético.
+     * </p>
+     *
+     * @param k número de palabras a devolver
+     * @return una lista con hasta {@code k} frecuencias, de mayor a menor
+     * @throws IllegalArgumentException si {@code k} es negativo
+     */
+
+    public List<Frecuencia> topK(int k) {
+        if (k < 0) throw new IllegalArgumentException("k no puede ser negativo");
+
+        int capacidad = Math.min(k, tabla.size());
+        List<Frecuencia> resultado = new List<>();
+        if (capacidad == 0) return resultado;
+
+        IndexMinPQ<Frecuencia> candidatos = new IndexMinPQ<>(capacidad);
+        for (int i = 0; i < tabla.size(); i++) {
+            int f = tabla.countAt(i);
+            if (candidatos.size() < capacidad) {
+                candidatos.insert(candidatos.size(), new Frecuencia(tabla.keyAt(i), f));
+                continue;
+            }
+
+            Frecuencia peor = candidatos.minKey();
+            if (f > peor.veces() || (f == peor.veces() && tabla.keyAt(i).compareTo(peor.palabra()) < 0)) {
+                candidatos.changeKey(candidatos.minIndex(), new Frecuencia(tabla.keyAt(i), f));
+            }
+        }
+
+        Frecuencia[] ordenadas = new Frecuencia[candidatos.size()];
+        for (int i = ordenadas.length - 1; i >= 0; i--) {
+            ordenadas[i] = candidatos.minKey();
+            candidatos.delMin();
+        }
+        for (Frecuencia frecuencia : ordenadas) {
+            resultado.addLast(frecuencia);
+        }
+        return resultado;
+    }
+
     /**
      * Muestra en consola un resumen completo de las estadísticas del análisis.
      * <p>
@@ -138,18 +981,15 @@ public class WordCounter {
         System.out.println("Total de palabras: " + totalPalabras);
         System.out.println("Palabras diferentes: " + tabla.size());
 
-        int repetidas = 0, max = 0;
-        String masFrecuente = null;
-
-        for (String palabra : tabla.keys()) {
-            int f = tabla.get(palabra);
-            if (f > 1) repetidas++;
-            if (f > max) {
-                max = f;
-                masFrecuente = palabra;
-            }
+        int repetidas = 0;
+        for (int i = 0; i < tabla.size(); i++) {
+            if (tabla.countAt(i) > 1) repetidas++;
         }
 
+        List<Frecuencia> top = topK(1);
+        String masFrecuente = top.isEmpty() ? null : top.getFirst().palabra();
+        int max = top.isEmpty() ? 0 : top.getFirst().veces();
+
         System.out.println("Palabras repetidas: " + repetidas);
         System.out.println("Primera palabra: " + primeraPalabra);
         System.out.println("Ultima palabra: " + ultimaPalabra);
@@ -161,4 +1001,42 @@ public class WordCounter {
                 System.out.printf("%c: %d%n", (char) ('A' + i), conteoIniciales[i]);
             }
     }
+
+    /**
+     * Lote reutilizable donde se acumulan las palabras de un bloque antes de
+     * contarlas, para poder medir la tokenización y el conteo por separado.
+     */
+    private static final class LotePalabras implements Consumer<String> {
+
+        /**
+         * Palabras del lote; solo las primeras {@link #n} son válidas.
+         */
+        private String[] palabras = new String[1024];
+
+        /**
+         * Cantidad de palabras en el lote.
+         */
+        private int n;
+
+        @Override
+        public void accept(String palabra) {
+            if (n == palabras.length) palabras = Arrays.copyOf(palabras, n * 2);
+            palabras[n++] = palabra;
+        }
+
+        /**
+         * Registra todas las palabras del lote en un contador y vacía el lote.
+         *
+         * @param contador contador donde se registran
+         * @return cantidad de palabras registradas
+         */
+        int registrarEn(WordCounter contador) {
+            int registradas = n;
+            for (int i = 0; i < registradas; i++) {
+                contador.agregarPalabra(palabras[i]);
+            }
+            n = 0;
+            return registradas;
+        }
+    }
 }
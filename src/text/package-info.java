@@ -16,9 +16,12 @@
  *     <ul>
  *       <li>Conteo total de palabras en un archivo.</li>
  *       <li>Identificación de palabras únicas y repetidas.</li>
- *       <li>Detección de la palabra más frecuente.</li>
+ *       <li>Detección de la palabra más frecuente y de las K más frecuentes
+ *           ({@link text.WordCounter#topK(int)}).</li>
  *       <li>Seguimiento de la primera y última palabra del texto.</li>
  *       <li>Agrupación de palabras por letra inicial (A-Z).</li>
+ *       <li>Conteo de apariciones y de palabras diferentes por prefijo
+ *           ({@link text.WordCounter#contarPrefijo(String)}).</li>
  *       <li>Generación de estadísticas detalladas.</li>
  *     </ul>
  *   </li>
@@ -29,12 +32,49 @@
  * Las clases de este paquete están diseñadas para:
  * </p>
  * <ul>
- *   <li><strong>Procesar archivos grandes:</strong> Lectura eficiente línea por línea
- *       utilizando {@link java.io.BufferedReader}.</li>
+ *   <li><strong>Procesar archivos grandes:</strong> Lectura eficiente por bloques de
+ *       caracteres utilizando {@link java.io.BufferedReader} y {@link utils.WordTokenizer}.</li>
+ *   <li><strong>Conteo sin copias:</strong> Lectura del archivo mapeado en memoria, con
+ *       las palabras identificadas como porciones de bytes y sin crear cadenas para
+ *       las palabras ya conocidas, mediante
+ *       {@link text.WordCounter#procesarArchivoMapeado(java.nio.file.Path)}.</li>
+ *   <li><strong>Procesamiento paralelo:</strong> Mapeo del archivo en memoria y conteo
+ *       por fragmentos en un {@link java.util.concurrent.ForkJoinPool} mediante
+ *       {@link text.WordCounter#procesarArchivoParalelo(java.nio.file.Path)}, o en un
+ *       {@link datastructures.queue.WorkStealingScheduler} propio con menos costo por tarea.</li>
+ *   <li><strong>Conteo concurrente:</strong> Varios hilos alimentan un único
+ *       {@link text.ConcurrentWordCounter} sin bloqueo global, mediante
+ *       {@link text.WordCounter#procesarArchivoConcurrente(java.nio.file.Path, int)}.</li>
+ *   <li><strong>Conteo en etapas:</strong> Lectura, tokenización y agregación en hilos
+ *       separados, comunicados por colas acotadas con contrapresión, mediante
+ *       {@link text.WordCounter#procesarArchivoEnEtapas(java.nio.file.Path, int, text.MetricasEtapas)};
+ *       {@link text.MetricasEtapas} informa la utilización de cada etapa y la
+ *       profundidad de las colas.</li>
+ *   <li><strong>Conteo en varios procesos:</strong> Los contadores parciales se
+ *       serializan con {@link text.WordCounter#escribirBinario(java.io.DataOutput)} y
+ *       se combinan en orden con {@link text.WordCounter#merge(WordCounter)};
+ *       {@link text.CoordinadorTrabajadores} reparte una lista de archivos entre
+ *       procesos {@link text.TrabajadorConteo} conectados por la interfaz local.</li>
+ *   <li><strong>N-gramas:</strong> Conteo de bigramas y trigramas con claves
+ *       numéricas empaquetadas, mediante {@link text.NGramCounter}.</li>
+ *   <li><strong>Conteo aproximado:</strong> {@link text.ApproximateWordCounter} estima
+ *       frecuencias y palabras diferentes con memoria fija (Count-Min Sketch y
+ *       HyperLogLog), indicando la cota de error de cada valor.</li>
+ *   <li><strong>Flujos continuos:</strong> Conteo incremental de un {@link java.io.Reader}
+ *       o {@link java.io.InputStream} con publicación periódica de instantáneas
+ *       mediante {@link text.WordCounter#procesarFlujo(java.io.Reader, int, long, java.util.function.Consumer)}.</li>
+ *   <li><strong>Caché persistente:</strong> {@link text.CacheConteo} guarda los resultados
+ *       en disco, identificados por la huella del archivo, para no recontar libros
+ *       que no han cambiado.</li>
+ *   <li><strong>Instrumentación:</strong> Medición del tiempo de lectura, tokenización
+ *       y conteo, junto con bytes, líneas, palabras y redimensiones de la tabla,
+ *       mediante {@link text.MetricasConteo} y eventos de JDK Flight Recorder
+ *       ({@code text.ArchivoContado} y {@code text.BloqueContado}).</li>
  *   <li><strong>Análisis estadístico:</strong> Generación de métricas sobre el contenido
  *       textual procesado.</li>
- *   <li><strong>Integración con estructuras de datos:</strong> Uso de tablas de símbolos
- *       ordenadas ({@link datastructures.TableSymbolsOrder}) para búsquedas eficientes.</li>
+ *   <li><strong>Integración con estructuras de datos:</strong> Uso de una tabla hash de
+ *       conteo ({@link datastructures.hashtables.WordCountHashST}) con contadores
+ *       primitivos para actualizar cada frecuencia en O(1).</li>
  *   <li><strong>Normalización de texto:</strong> Integración con {@link utils.TextNormalizer}
  *       para preprocesamiento consistente.</li>
  * </ul>
@@ -76,13 +116,14 @@
  * Este paquete depende de:
  * </p>
  * <ul>
- *   <li>{@link datastructures.TableSymbolsOrder} - Para almacenamiento eficiente de frecuencias.</li>
- *   <li>{@link datastructures.list.List} - Para manejo de colecciones de palabras.</li>
+ *   <li>{@link datastructures.hashtables.WordCountHashST} - Para almacenamiento eficiente de frecuencias.</li>
+ *   <li>{@link utils.WordTokenizer} - Para separar y normalizar palabras en una sola pasada.</li>
+ *   <li>{@link utils.ByteTokenizer} - Para separar palabras directamente sobre bytes UTF-8.</li>
  *   <li>{@link utils.TextNormalizer} - Para normalización y limpieza de texto.</li>
  * </ul>
  *
  * @see text.WordCounter
- * @see datastructures.TableSymbolsOrder
+ * @see datastructures.hashtables.WordCountHashST
  * @see utils.TextNormalizer
  */
 package text;
\ No newline at end of file
@@ -0,0 +1,211 @@
+package utils;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Separador de palabras que trabaja directamente sobre bytes UTF-8.
+ * <p>
+ * Es el equivalente de {@link WordTokenizer} para texto que aún no se ha
+ * decodificado, por ejemplo un archivo mapeado en memoria. Cada palabra se
+ * entrega como una porción {@code (desde, longitud)} de un {@link ByteBuffer},
+ * sin crear ninguna {@link String}:
+ * <ul>
+ *     <li>Si la palabra está formada solo por letras ASCII contiguas (el caso
+ *     habitual en texto en inglés), la porción apunta directamente al búfer de
+ *     entrada, con sus mayúsculas originales; el consumidor debe tratarla sin
+ *     distinguir mayúsculas.</li>
+ *     <li>Si contiene caracteres no ASCII (letras acentuadas, apóstrofos
+ *     tipográficos, etc.), se normaliza con {@link TextNormalizer#plegar(char)}
+ *     en un búfer interno reutilizable y la porción apunta a ese búfer, ya en
+ *     minúsculas.</li>
+ * </ul>
+ * En ambos casos la porción contiene solo letras ASCII y el resultado coincide
+ * con el de {@link WordTokenizer} sobre el texto decodificado. Las secuencias
+ * UTF-8 inválidas se descartan como cualquier otro carácter no ASCII.
+ * </p>
+ * <p>
+ * El búfer interno se reutiliza, así que el consumidor no debe conservar la
+ * porción recibida después de retornar. Cada instancia mantiene estado y no debe
+ * compartirse entre hilos.
+ * </p>
+ */
+
+public final class ByteTokenizer {
+
+    /**
+     * Destino de las palabras encontradas por un {@link ByteTokenizer}.
+     */
+    @FunctionalInterface
+    public interface ConsumidorBytes {
+
+        /**
+         * Recibe una palabra formada solo por letras ASCII.
+         *
+         * @param texto    búfer que contiene la palabra
+         * @param desde    posición del primer byte de la palabra
+         * @param longitud número de bytes de la palabra
+         */
+        void aceptar(ByteBuffer texto, int desde, int longitud);
+    }
+
+    /**
+     * Clase de cada byte ASCII: la letra minúscula que representa, o
+     * {@link TextNormalizer#SEPARADOR}.
+     */
+    private static final byte[] ASCII = new byte[128];
+
+    static {
+        for (char c = 0; c < 128; c++) {
+            ASCII[c] = (byte) TextNormalizer.plegar(c);
+        }
+    }
+
+    /**
+     * Búfer donde se copian las palabras que no son contiguas en la entrada.
+     */
+    private byte[] copia = new byte[32];
+
+    /**
+     * Vista de {@link #copia} que se entrega al consumidor.
+     */
+    private ByteBuffer vistaCopia = ByteBuffer.wrap(copia);
+
+    /**
+     * Procesa los bytes entre la posición y el límite del búfer y entrega todas sus
+     * palabras. La posición del búfer no se modifica.
+     *
+     * @param texto      texto codificado en UTF-8
+     * @param consumidor destino de cada palabra
+     */
+
+    public void tokenizar(ByteBuffer texto, ConsumidorBytes consumidor) {
+        int fin = texto.limit();
+        int inicio = -1;
+        int longitud = 0;
+        boolean copiando = false;
+
+        int i = texto.position();
+        while (i < fin) {
+            int b = texto.get(i);
+            char c;
+            int siguiente;
+
+            if (b >= 0) {
+                c = (char) ASCII[b];
+                if (c != TextNormalizer.SEPARADOR) {
+                    if (inicio < 0) inicio = i;
+                    if (copiando) agregar(longitud, c);
+                    longitud++;
+                    i++;
+                    continue;
+                }
+                siguiente = i + 1;
+            } else {
+                siguiente = finSecuencia(texto, i, fin);
+                c = siguiente < 0 ? TextNormalizer.ELIMINADO : TextNormalizer.plegar(decodificar(texto, i));
+                if (siguiente < 0) siguiente = i + 1;
+            }
+
+            if (c == TextNormalizer.SEPARADOR) {
+                if (longitud > 0) {
+                    if (copiando) consumidor.aceptar(vistaCopia, 0, longitud);
+                    else consumidor.aceptar(texto, inicio, longitud);
+                }
+                inicio = -1;
+                longitud = 0;
+                copiando = false;
+            } else if (longitud > 0 || c != TextNormalizer.ELIMINADO) {
+                if (!copiando) {
+                    copiarPendiente(texto, inicio, longitud);
+                    copiando = true;
+                }
+                if (c != TextNormalizer.ELIMINADO) {
+                    agregar(longitud, c);
+                    longitud++;
+                }
+            }
+            i = siguiente;
+        }
+
+        if (longitud > 0) {
+            if (copiando) consumidor.aceptar(vistaCopia, 0, longitud);
+            else consumidor.aceptar(texto, inicio, longitud);
+        }
+    }
+
+    /**
+     * Copia en minúsculas la parte contigua de la palabra en curso al búfer interno.
+     *
+     * @param texto    búfer de entrada
+     * @param inicio   posición del primer byte de la palabra
+     * @param longitud número de bytes ya vistos
+     */
+
+    private void copiarPendiente(ByteBuffer texto, int inicio, int longitud) {
+        for (int k = 0; k < longitud; k++) {
+            agregar(k, (char) ASCII[texto.get(inicio + k)]);
+        }
+    }
+
+    /**
+     * Escribe una letra en el búfer interno, ampliándolo si hace falta.
+     *
+     * @param posicion posición donde escribir
+     * @param c        letra minúscula ASCII
+     */
+
+    private void agregar(int posicion, char c) {
+        if (posicion == copia.length) {
+            copia = Arrays.copyOf(copia, copia.length * 2);
+            vistaCopia = ByteBuffer.wrap(copia);
+        }
+        copia[posicion] = (byte) c;
+    }
+
+    /**
+     * Calcula dónde termina la secuencia UTF-8 que empieza en {@code i}.
+     *
+     * @param texto búfer de entrada
+     * @param i     posición del byte inicial (no ASCII)
+     * @param fin   límite del búfer
+     * @return la posición siguiente a la secuencia, o {@code -1} si es inválida
+     */
+
+    private static int finSecuencia(ByteBuffer texto, int i, int fin) {
+        int b = texto.get(i) & 0xFF;
+        int bytes;
+        if (b >= 0xC2 && b <= 0xDF) bytes = 2;
+        else if (b >= 0xE0 && b <= 0xEF) bytes = 3;
+        else if (b >= 0xF0 && b <= 0xF4) bytes = 4;
+        else return -1;
+
+        if (i + bytes > fin) return -1;
+        for (int k = 1; k < bytes; k++) {
+            if ((texto.get(i + k) & 0xC0) != 0x80) return -1;
+        }
+        return i + bytes;
+    }
+
+    /**
+     * Decodifica la secuencia UTF-8 válida que empieza en {@code i}.
+     * Los caracteres fuera del plano básico se devuelven como un sustituto
+     * aislado, que {@link TextNormalizer#plegar(char)} elimina igual que
+     * haría con el par completo.
+     *
+     * @param texto búfer de entrada
+     * @param i     posición del byte inicial
+     * @return el carácter decodificado
+     */
+
+    private static char decodificar(ByteBuffer texto, int i) {
+        int b = texto.get(i) & 0xFF;
+        if (b < 0xE0) {
+            return (char) (((b & 0x1F) << 6) | (texto.get(i + 1) & 0x3F));
+        }
+        if (b < 0xF0) {
+            return (char) (((b & 0x0F) << 12) | ((texto.get(i + 1) & 0x3F) << 6) | (texto.get(i + 2) & 0x3F));
+        }
+        return Character.MIN_HIGH_SURROGATE;
+    }
+}
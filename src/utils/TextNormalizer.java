@@ -12,6 +12,11 @@ import java.text.Normalizer;
  * de una línea de texto.
  * </p>
  * <p>
+ * La normalización se resuelve carácter a carácter mediante una tabla de
+ * consulta ({@link #plegar(char)}), de modo que el recorrido del texto se hace
+ * en una sola pasada y sin expresiones regulares (ver {@link WordTokenizer}).
+ * </p>
+ * <p>
  * Esta clase no puede ser instanciada ya que todos sus métodos son estáticos
  * y su constructor es privado.
  * </p>
@@ -19,6 +24,38 @@ import java.text.Normalizer;
 
 public final class TextNormalizer {
 
+    /**
+     * Resultado de {@link #plegar(char)} para caracteres que separan palabras.
+     */
+    public static final char SEPARADOR = ' ';
+
+    /**
+     * Resultado de {@link #plegar(char)} para caracteres que se eliminan sin
+     * separar palabras (marcas diacríticas y demás caracteres no ASCII).
+     */
+    public static final char ELIMINADO = '\u0001';
+
+    /**
+     * Marca de las entradas de {@link #TABLA} que aún no se han calculado.
+     */
+    private static final byte DESCONOCIDO = 0;
+
+    /**
+     * Tabla de consulta indexada por carácter con el resultado de {@link #plegar(char)}.
+     * <p>
+     * Los caracteres ASCII y Latin-1 se calculan al cargar la clase; el resto del
+     * plano básico se completa la primera vez que aparece cada carácter. Las
+     * escrituras concurrentes son inofensivas porque todas producen el mismo valor.
+     * </p>
+     */
+    private static final byte[] TABLA = new byte[Character.MAX_VALUE + 1];
+
+    static {
+        for (char c = 0; c <= 0xFF; c++) {
+            TABLA[c] = calcular(c);
+        }
+    }
+
     /**
      * Constructor privado para evitar la instanciación de esta clase utilitaria.
      */
@@ -32,11 +69,15 @@ public final class TextNormalizer {
      * Este método realiza los siguientes pasos:
      * <ol>
      *   <li>Verifica si la línea es nula o está vacía, retornando una lista vacía en ese caso.</li>
-     *   <li>Limpia el texto eliminando caracteres especiales y normalizando el formato.</li>
-     *   <li>Divide el texto limpio en palabras individuales usando espacios como delimitadores.</li>
+     *   <li>Recorre la línea con un {@link WordTokenizer}, que normaliza cada carácter
+     *       y separa las palabras en una sola pasada.</li>
      *   <li>Agrega cada palabra a una lista y la retorna.</li>
      * </ol>
      * </p>
+     * <p>
+     * En el camino crítico conviene usar directamente {@link WordTokenizer}, que
+     * entrega cada palabra a un consumidor sin construir la lista intermedia.
+     * </p>
      *
      * @param linea la línea de texto a procesar
      * @return una lista con las palabras normalizadas encontradas en la línea,
@@ -44,50 +85,65 @@ public final class TextNormalizer {
      */
 
     public static List<String> obtenerPalabras(String linea) {
-
-        if (linea == null || linea.isBlank()) {
-            return new List<>();
-        }
-
-        String limpio = limpiarTexto(linea);
-
-        if (limpio.isEmpty()) {
-            return new List<>();
-        }
-
-        String[] partes = limpio.split("\\s+");
         var resultado = new List<String>();
 
-        for (String palabra : partes) {
-            resultado.addLast(palabra);
+        if (linea == null || linea.isBlank()) {
+            return resultado;
         }
 
+        new WordTokenizer().tokenizar(linea, resultado::addLast);
         return resultado;
     }
 
     /**
-     * Limpia y normaliza una cadena de texto.
+     * Normaliza un único carácter.
      * <p>
-     * Este método realiza las siguientes transformaciones:
+     * Equivale a aplicar, carácter a carácter, las transformaciones históricas de
+     * esta clase:
      * <ul>
-     *   <li>Normaliza el texto a formato NFD (Normalization Form Canonical Decomposition).</li>
-     *   <li>Elimina todos los caracteres no ASCII (acentos, símbolos especiales, etc.).</li>
-     *   <li>Convierte todo el texto a minúsculas.</li>
-     *   <li>Reemplaza cualquier carácter que no sea una letra o espacio por un espacio.</li>
-     *   <li>Elimina espacios en blanco al inicio y final de la cadena.</li>
+     *   <li>Descomponer el carácter en formato NFD (Normalization Form Canonical Decomposition).</li>
+     *   <li>Eliminar todo lo que no sea ASCII (acentos, símbolos especiales, etc.).</li>
+     *   <li>Convertir a minúsculas.</li>
+     *   <li>Reemplazar cualquier carácter que no sea una letra por un espacio.</li>
      * </ul>
      * </p>
      *
-     * @param linea la cadena de texto a limpiar
-     * @return la cadena de texto limpia y normalizada, conteniendo solo letras minúsculas
-     *         y espacios simples entre palabras
+     * @param c el carácter a normalizar
+     * @return la letra minúscula ({@code 'a'}-{@code 'z'}) resultante, {@link #SEPARADOR}
+     *         si el carácter separa palabras, o {@link #ELIMINADO} si desaparece sin separar
+     */
+
+    public static char plegar(char c) {
+        byte r = TABLA[c];
+        if (r == DESCONOCIDO) {
+            r = calcular(c);
+            TABLA[c] = r;
+        }
+        return (char) r;
+    }
+
+    /**
+     * Calcula la entrada de la tabla de consulta para un carácter.
+     * <p>
+     * La descomposición canónica de un carácter produce como mucho un carácter
+     * ASCII, por lo que el resultado siempre cabe en una sola posición.
+     * </p>
+     *
+     * @param c el carácter a normalizar
+     * @return el valor a guardar en {@link #TABLA}
      */
 
-    private static String limpiarTexto(String linea) {
-        return Normalizer.normalize(linea, Normalizer.Form.NFD)
-                .replaceAll("[^\\p{ASCII}]", "")
-                .toLowerCase()
-                .replaceAll("[^a-zA-Z ]", " ")
-                .trim();
+    private static byte calcular(char c) {
+        String descompuesto = Normalizer.normalize(String.valueOf(c), Normalizer.Form.NFD);
+
+        for (int i = 0; i < descompuesto.length(); i++) {
+            char d = descompuesto.charAt(i);
+            if (d < 0x80) {
+                if (d >= 'A' && d <= 'Z') return (byte) (d + ('a' - 'A'));
+                if (d >= 'a' && d <= 'z') return (byte) d;
+                return SEPARADOR;
+            }
+        }
+        return ELIMINADO;
     }
 }
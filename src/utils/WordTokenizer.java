@@ -0,0 +1,132 @@
+package utils;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Separador de palabras de una sola pasada.
+ * <p>
+ * Recorre el texto carácter a carácter, normaliza cada uno mediante
+ * {@link TextNormalizer#plegar(char)} (minúsculas y sin acentos) y entrega cada
+ * palabra completa a un consumidor suministrado por quien llama. No usa
+ * expresiones regulares ni cadenas intermedias: la única asignación por palabra
+ * es la propia {@link String} que recibe el consumidor.
+ * </p>
+ * <p>
+ * El texto puede entregarse en varios trozos consecutivos con
+ * {@code alimentar(...)}; una palabra que quede partida entre dos trozos se
+ * conserva en un búfer interno hasta el siguiente trozo o hasta llamar a
+ * {@link #terminar(Consumer)}. Por eso cada instancia mantiene estado y no debe
+ * compartirse entre hilos.
+ * </p>
+ * <p>
+ * El resultado es idéntico al de la normalización clásica basada en
+ * {@link java.text.Normalizer} y expresiones regulares: una palabra es una
+ * secuencia máxima de letras {@code a-z} tras normalizar.
+ * </p>
+ */
+
+public final class WordTokenizer {
+
+    /**
+     * Búfer donde se acumulan los caracteres de la palabra en curso.
+     */
+    private char[] palabra = new char[32];
+
+    /**
+     * Cantidad de caracteres válidos en {@link #palabra}.
+     */
+    private int longitud;
+
+    /**
+     * Procesa un texto completo y entrega todas sus palabras.
+     * <p>
+     * Equivale a {@link #alimentar(CharSequence, int, int, Consumer)} sobre todo
+     * el texto seguido de {@link #terminar(Consumer)}.
+     * </p>
+     *
+     * @param texto      el texto a procesar
+     * @param consumidor destino de cada palabra encontrada
+     */
+
+    public void tokenizar(CharSequence texto, Consumer<String> consumidor) {
+        alimentar(texto, 0, texto.length(), consumidor);
+        terminar(consumidor);
+    }
+
+    /**
+     * Procesa un trozo de texto.
+     *
+     * @param texto      el texto que contiene el trozo
+     * @param desde      índice del primer carácter (inclusive)
+     * @param hasta      índice final (exclusivo)
+     * @param consumidor destino de cada palabra completada en este trozo
+     */
+
+    public void alimentar(CharSequence texto, int desde, int hasta, Consumer<String> consumidor) {
+        for (int i = desde; i < hasta; i++) {
+            char c = TextNormalizer.plegar(texto.charAt(i));
+            if (c == TextNormalizer.SEPARADOR) {
+                emitir(consumidor);
+            } else if (c != TextNormalizer.ELIMINADO) {
+                agregar(c);
+            }
+        }
+    }
+
+    /**
+     * Procesa un trozo de texto almacenado en un arreglo de caracteres.
+     *
+     * @param texto      el arreglo que contiene el trozo
+     * @param desde      índice del primer carácter (inclusive)
+     * @param hasta      índice final (exclusivo)
+     * @param consumidor destino de cada palabra completada en este trozo
+     */
+
+    public void alimentar(char[] texto, int desde, int hasta, Consumer<String> consumidor) {
+        for (int i = desde; i < hasta; i++) {
+            char c = TextNormalizer.plegar(texto[i]);
+            if (c == TextNormalizer.SEPARADOR) {
+                emitir(consumidor);
+            } else if (c != TextNormalizer.ELIMINADO) {
+                agregar(c);
+            }
+        }
+    }
+
+    /**
+     * Indica el final del texto y entrega la palabra pendiente, si la hay.
+     *
+     * @param consumidor destino de la última palabra
+     */
+
+    public void terminar(Consumer<String> consumidor) {
+        emitir(consumidor);
+    }
+
+    /**
+     * Agrega una letra normalizada a la palabra en curso.
+     *
+     * @param c la letra a agregar
+     */
+
+    private void agregar(char c) {
+        if (longitud == palabra.length) {
+            palabra = Arrays.copyOf(palabra, longitud * 2);
+        }
+        palabra[longitud++] = c;
+    }
+
+    /**
+     * Entrega la palabra en curso al consumidor (si no está vacía) y reinicia el búfer.
+     *
+     * @param consumidor destino de la palabra
+     */
+
+    private void emitir(Consumer<String> consumidor) {
+        if (longitud > 0) {
+            consumidor.accept(new String(palabra, 0, longitud));
+            longitud = 0;
+        }
+    }
+}
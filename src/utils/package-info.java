@@ -21,6 +21,22 @@
  *       <li>Limpiar espacios en blanco redundantes.</li>
  *     </ul>
  *   </li>
+ *   <li>
+ *     {@link utils.WordTokenizer}:
+ *     <p>
+ *     Separador de palabras de una sola pasada que normaliza cada carácter
+ *     mediante una tabla de consulta y entrega cada palabra a un consumidor,
+ *     sin expresiones regulares ni listas intermedias.
+ *     </p>
+ *   </li>
+ *   <li>
+ *     {@link utils.ByteTokenizer}:
+ *     <p>
+ *     Variante de {@link utils.WordTokenizer} que recorre directamente los bytes
+ *     UTF-8 de un {@link java.nio.ByteBuffer} y entrega cada palabra como una
+ *     porción del búfer, sin crear cadenas.
+ *     </p>
+ *   </li>
  * </ul>
  *
  * <h2>Características</h2>
@@ -28,7 +44,8 @@
  *   <li><strong>Métodos estáticos:</strong> Todas las utilidades son accesibles
  *       sin necesidad de instanciar objetos.</li>
  *   <li><strong>Normalización Unicode:</strong> Convierte caracteres acentuados
- *       a su forma base utilizando normalización NFD.</li>
+ *       a su forma base utilizando normalización NFD, precalculada por carácter
+ *       en una tabla de consulta.</li>
  *   <li><strong>Limpieza robusta:</strong> Elimina caracteres no alfabéticos
  *       y normaliza espacios en blanco.</li>
  *   <li><strong>Integración con estructuras de datos:</strong> Retorna resultados
@@ -59,6 +76,8 @@
  * }</pre>
  *
  * @see utils.TextNormalizer
+ * @see utils.WordTokenizer
+ * @see utils.ByteTokenizer
  * @see datastructures.list.List
  */
 package utils;
\ No newline at end of file